@@ -0,0 +1,186 @@
+package com.reliaquest.api.analytics;
+
+/**
+ * A mergeable histogram of non-negative ints with bounded relative error, in the style of HdrHistogram.
+ * <p>
+ * Values below 256 get a bucket each and are counted exactly. Larger values share log-linear buckets, 128 per power
+ * of two, so every value is represented within 0.4% of itself. The bucket array has a fixed size (3200 counts)
+ * whatever the number or range of values, which makes {@link #valueAtPercentile(double)} and the other queries
+ * independent of how many values were recorded. Unlike t-digest, values can also be removed, and two histograms
+ * can be merged by adding their counts.
+ * <p>
+ * Not thread safe. Used copy-on-write by {@code RosterStatistics}: a published instance is never modified.
+ */
+public final class ValueHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Integer.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] counts;
+    private long totalCount;
+    private long sum;
+
+    public ValueHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    private ValueHistogram(ValueHistogram source) {
+        this.counts = source.counts.clone();
+        this.totalCount = source.totalCount;
+        this.sum = source.sum;
+    }
+
+    public ValueHistogram copy() {
+        return new ValueHistogram(this);
+    }
+
+    /**
+     * Records a value; negative values are recorded as 0.
+     */
+    public void add(int value) {
+        int clamped = Math.max(0, value);
+        counts[bucketOf(clamped)]++;
+        totalCount++;
+        sum += clamped;
+    }
+
+    /**
+     * Removes one occurrence of a previously recorded value. Does nothing if its bucket is empty.
+     */
+    public void remove(int value) {
+        int clamped = Math.max(0, value);
+        int bucket = bucketOf(clamped);
+        if (counts[bucket] > 0) {
+            counts[bucket]--;
+            totalCount--;
+            sum -= clamped;
+        }
+    }
+
+    /**
+     * Adds all values recorded in {@code other} to this histogram.
+     */
+    public void merge(ValueHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the exact mean of the recorded values; 0 if there are none.
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * @return the smallest recorded value, within the bucket precision; 0 if there are none.
+     */
+    public int getMin() {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                return representativeOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the largest recorded value, within the bucket precision; 0 if there are none.
+     */
+    public int getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return representativeOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the value at or below which {@code percentile} percent of the recorded values lie, within the bucket
+     *         precision; 0 if there are none.
+     */
+    public int valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, Math.min(totalCount, (long) Math.ceil(percentile / 100 * totalCount)));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return representativeOf(i);
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @return how many recorded values lie in {@code [from, to)}, counting each bucket by its representative value.
+     */
+    public long countBetween(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        long count = 0;
+        for (int i = bucketOf(Math.max(0, from)); i < BUCKETS; i++) {
+            int value = representativeOf(i);
+            if (value >= to) {
+                break;
+            }
+            if (value >= from) {
+                count += counts[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes each non-empty bucket, in increasing value order, to {@code consumer}.
+     */
+    public void forEachValue(ValueCountConsumer consumer) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                consumer.accept(representativeOf(i), counts[i]);
+            }
+        }
+    }
+
+    static int bucketOf(int value) {
+        if (value < SUB_BUCKETS) {
+            return value;
+        }
+        int shift = (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int top = value >>> shift;
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (top - HALF_SUB_BUCKETS);
+    }
+
+    /**
+     * @return the middle of the range of values the bucket holds.
+     */
+    static int representativeOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int offset = bucket - SUB_BUCKETS;
+        int shift = offset / HALF_SUB_BUCKETS + 1;
+        long low = (long) (offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS) << shift;
+        long high = low + (1L << shift) - 1;
+        return (int) ((low + high) / 2);
+    }
+
+    @FunctionalInterface
+    public interface ValueCountConsumer {
+        void accept(int value, long count);
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, per-id cache of {@link EmployeeDTO} lookups.
+ * <p>
+ * Backed by Caffeine, whose W-TinyLFU eviction policy keeps the frequently requested (hot) ids resident
+ * while one-off lookups are admitted only if they are likely to be requested again. The cache is capped by
+ * entry count and entries expire a fixed time after they were written, so memory stays bounded regardless
+ * of the roster size and stale entries age out even if no write passes through this instance.
+ */
+@Slf4j
+@Component
+public class EmployeeCache {
+
+    private final Cache<String, EmployeeDTO> cache;
+
+    public EmployeeCache(
+            @Value("${employee.cache.max-size:10000}") long maxSize,
+            @Value("${employee.cache.expire-after-write:PT60S}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        log.info("Employee cache initialised with max size {} and expire-after-write {}", maxSize, expireAfterWrite);
+    }
+
+    /**
+     * Looks up a cached employee.
+     *
+     * @param id the employee's unique identifier
+     * @return the cached {@link EmployeeDTO}, or null if absent or expired.
+     */
+    public EmployeeDTO get(String id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Caches the given employee under its id. Employees without an id are ignored.
+     *
+     * @param employee the employee to cache
+     */
+    public void put(EmployeeDTO employee) {
+        if (employee != null && employee.getId() != null) {
+            cache.put(employee.getId(), employee);
+        }
+    }
+
+    /**
+     * Removes the employee with the given id, if cached.
+     *
+     * @param id the employee's unique identifier
+     */
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * @return an approximate number of cached entries.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return a snapshot of the hit, miss and eviction counters since start up.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link EmployeeCache} statistics at {@code /actuator/employeecache}.
+ */
+@Component
+@Endpoint(id = "employeecache")
+@RequiredArgsConstructor
+public class EmployeeCacheEndpoint {
+
+    private final EmployeeCache employeeCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = employeeCache.stats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("size", employeeCache.size());
+        body.put("hitCount", stats.hitCount());
+        body.put("missCount", stats.missCount());
+        body.put("hitRatio", stats.hitRate());
+        body.put("evictionCount", stats.evictionCount());
+        body.put("evictionWeight", stats.evictionWeight());
+        return body;
+    }
+}
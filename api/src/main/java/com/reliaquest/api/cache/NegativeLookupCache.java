@@ -0,0 +1,125 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers ids the external API recently reported as unknown, so repeated lookups for them
+ * (scanners, stale links) are answered locally instead of costing an upstream round trip each.
+ * <p>
+ * Two sources of "known missing" are consulted:
+ * <ul>
+ *     <li>a short-TTL cache of ids for which the external API returned 404 or no data;</li>
+ *     <li>optionally, a Bloom filter of every id in the most recently fetched roster. An id the filter has
+ *     definitely not seen is treated as missing. Because employees created through other clients are unknown
+ *     to the filter until the next roster fetch, it is only trusted while younger than its configured max age.</li>
+ * </ul>
+ * Ids created through this API are never reported missing by the filter while it is trusted: they are remembered
+ * for the filter's max age and added to every filter built meanwhile, as the roster it is built from may have been
+ * fetched before they were created.
+ */
+@Slf4j
+@Component
+public class NegativeLookupCache {
+
+    private static final double BLOOM_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final Cache<String, Boolean> missingIds;
+    private final Cache<String, Boolean> recentlyPresentIds;
+    private final boolean bloomFilterEnabled;
+    private final Duration bloomFilterMaxAge;
+
+    private volatile KnownIds knownIds;
+
+    public NegativeLookupCache(
+            @Value("${employee.negative-cache.max-size:10000}") long maxSize,
+            @Value("${employee.negative-cache.expire-after-write:PT5S}") Duration expireAfterWrite,
+            @Value("${employee.negative-cache.bloom-filter.enabled:false}") boolean bloomFilterEnabled,
+            @Value("${employee.negative-cache.bloom-filter.max-age:PT30S}") Duration bloomFilterMaxAge) {
+        this.missingIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        // not size bounded: evicting an id still younger than the filter's max age could make it look missing
+        this.recentlyPresentIds =
+                Caffeine.newBuilder().expireAfterWrite(bloomFilterMaxAge).build();
+        this.bloomFilterEnabled = bloomFilterEnabled;
+        this.bloomFilterMaxAge = bloomFilterMaxAge;
+    }
+
+    /**
+     * @param id the employee's unique identifier
+     * @return true if the id is known not to exist and the external API need not be asked.
+     */
+    public boolean isKnownMissing(String id) {
+        if (missingIds.getIfPresent(id) != null) {
+            return true;
+        }
+        KnownIds current = knownIds;
+        if (current == null || Instant.now().isAfter(current.builtAt().plus(bloomFilterMaxAge))) {
+            return false;
+        }
+        if (recentlyPresentIds.getIfPresent(id) != null) {
+            return false;
+        }
+        return !current.filter().mightContain(id);
+    }
+
+    /**
+     * Records that the external API does not know the given id.
+     *
+     * @param id the employee's unique identifier
+     */
+    public void recordMissing(String id) {
+        missingIds.put(id, Boolean.TRUE);
+    }
+
+    /**
+     * Records that the given employee now exists, e.g. after it was created through this API.
+     *
+     * @param employee the newly known employee
+     */
+    public void recordPresent(EmployeeDTO employee) {
+        if (employee == null || employee.getId() == null) {
+            return;
+        }
+        missingIds.invalidate(employee.getId());
+        if (!bloomFilterEnabled) {
+            return;
+        }
+        recentlyPresentIds.put(employee.getId(), Boolean.TRUE);
+        KnownIds current = knownIds;
+        if (current != null) {
+            current.filter().add(employee.getId());
+        }
+    }
+
+    /**
+     * Rebuilds the Bloom filter of known ids from a complete roster. No-op unless the filter is enabled.
+     *
+     * @param roster the full list of employees as just returned by the external API
+     */
+    public void rebuild(List<EmployeeDTO> roster) {
+        if (!bloomFilterEnabled) {
+            return;
+        }
+        BloomFilter filter = new BloomFilter(Math.max(1024, roster.size() * 2), BLOOM_FALSE_POSITIVE_PROBABILITY);
+        for (EmployeeDTO employee : roster) {
+            if (employee.getId() != null) {
+                filter.add(employee.getId());
+            }
+        }
+        recentlyPresentIds.asMap().keySet().forEach(filter::add);
+        knownIds = new KnownIds(filter, Instant.now());
+        log.debug("Rebuilt known-id Bloom filter from {} employees", roster.size());
+    }
+
+    private record KnownIds(BloomFilter filter, Instant builtAt) {}
+}
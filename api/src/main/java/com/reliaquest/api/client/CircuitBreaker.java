@@ -0,0 +1,211 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * A count-based circuit breaker.
+ * <p>
+ * While {@link State#CLOSED} the outcomes of the last {@code windowSize} calls are recorded. Once at least
+ * {@code minimumCalls} are recorded and either the failure rate or the slow-call rate reaches its threshold, the
+ * circuit opens and rejects every call for {@code openDuration}. It then turns {@link State#HALF_OPEN} and lets
+ * {@code halfOpenCalls} probes through: if all of them succeed in time the circuit closes again with a fresh
+ * window, and the first failing or slow probe opens it again.
+ * <p>
+ * Every permission is stamped with the generation of the state it was given in, which changes with each state
+ * transition. An outcome is only recorded while its generation is current: a call permitted while closed that
+ * completes once the circuit is half-open does not count as a probe, and probes of an earlier half-open phase do not
+ * count towards a later one.
+ * <p>
+ * Rejecting a call while open is a single volatile read, so failing fast costs no round trip.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Returned by {@link #tryAcquirePermission()} when the call must fail fast.
+     */
+    public static final long REJECTED = -1;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // guarded by this
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    private volatile State state = State.CLOSED;
+    private volatile long generation;
+    private volatile long openUntilNanos;
+
+    /**
+     * @param windowSize number of most recent calls the rates are computed over
+     * @param minimumCalls calls that must be recorded before the circuit may open
+     * @param failureRatePercent failure rate, in percent of the window, at which the circuit opens
+     * @param slowCallRatePercent slow-call rate, in percent of the window, at which the circuit opens
+     * @param slowCallDuration calls taking at least this long count as slow
+     * @param openDuration how long the circuit stays open before probing
+     * @param halfOpenCalls number of probes that must succeed to close the circuit again
+     */
+    public CircuitBreaker(
+            int windowSize,
+            int minimumCalls,
+            double failureRatePercent,
+            double slowCallRatePercent,
+            Duration slowCallDuration,
+            Duration openDuration,
+            int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRatePercent / 100;
+        this.slowCallRateThreshold = slowCallRatePercent / 100;
+        this.slowCallDurationNanos = slowCallDuration.toNanos();
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+
+    /**
+     * @return the permission for the call to go ahead, or {@link #REJECTED} to fail fast. A permitted call must be
+     *         followed by exactly one {@link #onSuccess(long, long)} or {@link #onFailure(long, long)} with it.
+     */
+    public long tryAcquirePermission() {
+        long permission = generation;
+        State current = state;
+        if (current == State.CLOSED) {
+            return permission;
+        }
+        if (current == State.OPEN && System.nanoTime() - openUntilNanos < 0) {
+            return REJECTED;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openUntilNanos < 0) {
+                    return REJECTED;
+                }
+                halfOpenStarted = 0;
+                halfOpenSucceeded = 0;
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenStarted >= halfOpenCalls) {
+                    return REJECTED;
+                }
+                halfOpenStarted++;
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * Records a call that reached the upstream and got an answer, even an error answer that says nothing about
+     * upstream health (e.g. 404). It still counts as slow if it took too long.
+     *
+     * @param permission as returned by {@link #tryAcquirePermission()} for the call
+     */
+    public void onSuccess(long permission, long durationNanos) {
+        record(permission, false, durationNanos >= slowCallDurationNanos);
+    }
+
+    /**
+     * Records a call that failed because the upstream is unhealthy: unreachable, erroring, rate limiting or not
+     * answering in time.
+     *
+     * @param permission as returned by {@link #tryAcquirePermission()} for the call
+     */
+    public void onFailure(long permission, long durationNanos) {
+        record(permission, true, durationNanos >= slowCallDurationNanos);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return how long until an open circuit lets probes through; zero if it is not open.
+     */
+    public Duration getRemainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openUntilNanos - System.nanoTime()));
+    }
+
+    private synchronized void record(long permission, boolean failure, boolean slowCall) {
+        if (permission != generation) {
+            // permitted in an earlier state; its outcome says nothing about the current one
+            return;
+        }
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure || slowCall) {
+                    open();
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                if (recorded == windowSize) {
+                    failures -= failed[next] ? 1 : 0;
+                    slowCalls -= slow[next] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                failed[next] = failure;
+                slow[next] = slowCall;
+                failures += failure ? 1 : 0;
+                slowCalls += slowCall ? 1 : 0;
+                next = (next + 1) % windowSize;
+                if (recorded >= minimumCalls
+                        && ((double) failures / recorded >= failureRateThreshold
+                                || (double) slowCalls / recorded >= slowCallRateThreshold)) {
+                    open();
+                }
+            }
+            default -> {
+                // no call is permitted while open
+            }
+        }
+    }
+
+    private void open() {
+        openUntilNanos = System.nanoTime() + openDurationNanos;
+        transitionTo(State.OPEN);
+    }
+
+    private void close() {
+        Arrays.fill(failed, false);
+        Arrays.fill(slow, false);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        transitionTo(State.CLOSED);
+    }
+
+    /**
+     * Bumps the generation before publishing the new state, so that a caller seeing the new state without the lock
+     * also sees a generation at least as new.
+     */
+    private void transitionTo(State newState) {
+        generation++;
+        state = newState;
+    }
+}
@@ -0,0 +1,183 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.VersionedRosterDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Guards every {@link ExternalApiClient} call with a {@link CircuitBreaker}.
+ * <p>
+ * Connection failures, 5xx and 429 responses count as failures, as do calls slower than
+ * {@code employee.circuit-breaker.slow-call-duration} towards the slow-call rate; both surface as
+ * {@link UpstreamUnavailableException}. Other 4xx responses mean the upstream is healthy and are rethrown as is,
+ * and a timeout cut short by the request's deadline still counts as a failure but surfaces as
+ * {@link DeadlineExceededException}. An {@link Error} thrown by the call counts as a failure too.
+ * While the circuit is open calls are rejected immediately with {@link UpstreamUnavailableException#circuitOpen},
+ * so callers can serve the last known good roster instead.
+ * <p>
+ * Each instance of the external API gets its own circuit, so {@link ShardedExternalApiClient} can tell which one
+ * is unhealthy. The state is published as the {@code upstream.circuit.state} gauge (0 closed, 1 half-open, 2 open),
+ * tagged with the instance's base URL as {@code upstream}.
+ */
+@Slf4j
+public class CircuitBreakingExternalApiClient implements IExternalApiClient {
+
+    private final ExternalApiClient delegate;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakingExternalApiClient(
+            ExternalApiClient delegate, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        Gauge.builder("upstream.circuit.state", circuitBreaker, breaker -> switch (breaker.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .description("State of the external API circuit breaker: 0 closed, 1 half-open, 2 open")
+                .tag("upstream", delegate.getBaseUrl())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<EmployeeDTO> getAllEmployees() {
+        return call("getAllEmployees", delegate::getAllEmployees);
+    }
+
+    @Override
+    public List<EmployeeDTO> getAllEmployees(String fields) {
+        return call("getAllEmployees", () -> delegate.getAllEmployees(fields));
+    }
+
+    @Override
+    public VersionedRosterDTO getVersionedRoster() {
+        return call("getVersionedRoster", delegate::getVersionedRoster);
+    }
+
+    /**
+     * Only the time to the first employee counts towards the slow-call rate, as the rest of the transfer is paced
+     * by the consumer.
+     */
+    @Override
+    public int streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        long[] firstEmployeeNanos = {0};
+        return call(
+                "streamAllEmployees",
+                () -> delegate.streamAllEmployees(employee -> {
+                    if (firstEmployeeNanos[0] == 0) {
+                        firstEmployeeNanos[0] = System.nanoTime();
+                    }
+                    consumer.accept(employee);
+                }),
+                start -> (firstEmployeeNanos[0] != 0 ? firstEmployeeNanos[0] : System.nanoTime()) - start);
+    }
+
+    @Override
+    public List<EmployeeDTO> searchEmployeesByName(String nameContains) {
+        return call("searchEmployeesByName", () -> delegate.searchEmployeesByName(nameContains));
+    }
+
+    @Override
+    public List<EmployeeDTO> getTopEmployeesBySalary(int limit, String fields) {
+        return call("getTopEmployeesBySalary", () -> delegate.getTopEmployeesBySalary(limit, fields));
+    }
+
+    @Override
+    public Integer getHighestSalary() {
+        return call("getHighestSalary", delegate::getHighestSalary);
+    }
+
+    @Override
+    public EmployeeDTO getEmployeeById(String id) {
+        return call("getEmployeeById", () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public List<EmployeeDTO> getEmployeesByIds(Set<String> ids) {
+        return call("getEmployeesByIds", () -> delegate.getEmployeesByIds(ids));
+    }
+
+    @Override
+    public EmployeeDTO createEmployee(CreateEmployeeInput input) {
+        return call("createEmployee", () -> delegate.createEmployee(input));
+    }
+
+    @Override
+    public void deleteEmployeeByName(String name) {
+        call("deleteEmployeeByName", () -> {
+            delegate.deleteEmployeeByName(name);
+            return null;
+        });
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    public String getBaseUrl() {
+        return delegate.getBaseUrl();
+    }
+
+    private <T> T call(String operation, Supplier<T> call) {
+        return call(operation, call, start -> System.nanoTime() - start);
+    }
+
+    /**
+     * @param elapsedSince the duration of the call, given its start in {@link System#nanoTime()}
+     */
+    private <T> T call(String operation, Supplier<T> call, LongUnaryOperator elapsedSince) {
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.REJECTED) {
+            throw UpstreamUnavailableException.circuitOpen(circuitBreaker.getRemainingOpenDuration());
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess(permission, elapsedSince.applyAsLong(start));
+            return result;
+        } catch (ResourceAccessException ex) {
+            Deadline deadline = Deadline.current();
+            if (deadline != null && deadline.isExpired()) {
+                // the upstream did not answer within the time left; that is a failure whoever set the timeout
+                circuitBreaker.onFailure(permission, elapsedSince.applyAsLong(start));
+                throw new DeadlineExceededException(operation);
+            }
+            throw failed(operation, permission, elapsedSince.applyAsLong(start), ex);
+        } catch (HttpClientErrorException.TooManyRequests | HttpServerErrorException ex) {
+            throw failed(operation, permission, elapsedSince.applyAsLong(start), ex);
+        } catch (RuntimeException ex) {
+            circuitBreaker.onSuccess(permission, elapsedSince.applyAsLong(start));
+            throw ex;
+        } catch (Throwable ex) {
+            // an Error must still release the permission, or a half-open circuit would wait for its probe forever
+            circuitBreaker.onFailure(permission, elapsedSince.applyAsLong(start));
+            throw ex;
+        }
+    }
+
+    private UpstreamUnavailableException failed(
+            String operation, long permission, long elapsedNanos, RuntimeException ex) {
+        circuitBreaker.onFailure(permission, elapsedNanos);
+        log.warn(
+                "External API call {} to {} failed, circuit is {}: {}",
+                operation,
+                delegate.getBaseUrl(),
+                circuitBreaker.getState(),
+                ex.getMessage());
+        return new UpstreamUnavailableException("External API call " + operation + " failed: " + ex.getMessage(), ex);
+    }
+}
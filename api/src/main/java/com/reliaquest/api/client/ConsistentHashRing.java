@@ -0,0 +1,51 @@
+package com.reliaquest.api.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Assigns keys to shards by consistent hashing.
+ * <p>
+ * Every shard owns {@code virtualNodes} points on a 64-bit ring, and a key belongs to the shard owning the first
+ * point at or after the key's hash, wrapping around. Many points per shard spread keys evenly, and adding or
+ * removing a shard only moves the keys next to its points.
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash64("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    /**
+     * @return the index of the shard owning {@code key}
+     */
+    public int shardFor(String key) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash64(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes followed by a murmur3 finaliser to spread the bits.
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.constants.ApiConstants;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.EmployeeEventDTO;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the external API's Server-Sent Events stream of roster changes.
+ * <p>
+ * Uses the JDK {@link HttpClient} rather than the shared {@code RestTemplate}, since the stream stays open
+ * indefinitely and must not be subject to per-request read timeouts.
+ */
+@Slf4j
+@Component
+public class EmployeeEventStreamClient {
+
+    private final HttpClient httpClient =
+            HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${mock.base.url}")
+    private String BASE_URL;
+
+    public EmployeeEventStreamClient(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Connects to the event stream and delivers each event to {@code consumer} until the stream ends.
+     * Blocks the calling thread for the lifetime of the stream.
+     *
+     * @param lastEventId the last event id already applied, to resume from; null to only receive new events
+     * @param onOpen invoked once the server has accepted the subscription, before any event is delivered
+     * @param consumer receives the events in stream order
+     * @throws IOException if the connection fails, is rejected or breaks
+     * @throws InterruptedException if the calling thread is interrupted while connecting
+     */
+    public void stream(Long lastEventId, Runnable onOpen, Consumer<EmployeeEventDTO> consumer)
+            throws IOException, InterruptedException {
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API + ApiConstants.EVENTS_ENDPOINT;
+        log.info("GET {} from event id {}", url, lastEventId);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                .GET();
+        if (lastEventId != null) {
+            request.header(ApiConstants.LAST_EVENT_ID_HEADER, lastEventId.toString());
+        }
+
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Event stream rejected with status " + response.statusCode());
+            }
+            onOpen.run();
+            readEvents(lines.iterator(), consumer);
+        }
+        log.info("Event stream from {} ended", url);
+    }
+
+    /**
+     * Minimal SSE parser: accumulates {@code id}, {@code event} and {@code data} fields until a blank line.
+     */
+    void readEvents(Iterator<String> lines, Consumer<EmployeeEventDTO> consumer) throws IOException {
+        Long id = null;
+        String type = null;
+        StringBuilder data = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (type != null) {
+                    EmployeeDTO employee = data.length() == 0 || EmployeeEventDTO.RESET.equals(type)
+                            ? null
+                            : objectMapper.readValue(data.toString(), EmployeeDTO.class);
+                    consumer.accept(new EmployeeEventDTO(id, type, employee));
+                }
+                id = null;
+                type = null;
+                data.setLength(0);
+            } else if (line.startsWith("id:")) {
+                id = Long.valueOf(fieldValue(line, 3));
+            } else if (line.startsWith("event:")) {
+                type = fieldValue(line, 6);
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(fieldValue(line, 5));
+            }
+            // comment lines (":") and unknown fields are ignored
+        }
+    }
+
+    private static String fieldValue(String line, int prefixLength) {
+        String value = line.substring(prefixLength);
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+}
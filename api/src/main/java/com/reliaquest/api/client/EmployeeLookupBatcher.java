@@ -0,0 +1,205 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent {@link IExternalApiClient#getEmployeeById(String)} calls into one multi-get request.
+ * <p>
+ * The first caller to arrive opens a batch and becomes its leader: it waits up to the batching window (or until
+ * the batch is full) for other callers to join, then resolves the whole batch with a single
+ * {@link IExternalApiClient#getEmployeesByIds(java.util.Set)} call on its own thread. Every caller therefore waits
+ * at most one window plus one round trip, and no background threads are needed. A batch holding a single id is
+ * resolved with the plain single lookup, so isolated requests cost the same upstream call as before.
+ * <p>
+ * If the external API offers no multi-get endpoint, each caller falls back to its own single lookup.
+ * <p>
+ * Ids are batched in the lower-case form the external API reports them in, see {@link #normalizeId(String)}, so an
+ * id asked for in upper or mixed case is matched with the employee returned for it.
+ * <p>
+ * The batch call runs under the latest {@link Deadline} of its callers, so one caller in a hurry cannot fail the
+ * others; each caller still stops waiting once its own deadline has passed.
+ */
+@Slf4j
+@Component
+public class EmployeeLookupBatcher {
+
+    private static final Pattern UUID_FORMAT =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    // completes the futures of a batch whose multi-get was unavailable; callers then look up on their own
+    private static final RuntimeException BATCH_UNAVAILABLE = new BatchUnavailableException();
+
+    private final IExternalApiClient externalApiClient;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private Batch current;
+
+    public EmployeeLookupBatcher(
+            IExternalApiClient externalApiClient,
+            @Value("${employee.batching.enabled:true}") boolean enabled,
+            @Value("${employee.batching.window:PT0.002S}") Duration window,
+            @Value("${employee.batching.max-batch-size:100}") int maxBatchSize) {
+        this.externalApiClient = externalApiClient;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * @return the canonical, lower-case form of an id in UUID format, as the external API reports it; any other id
+     *     unchanged
+     */
+    public static String normalizeId(String id) {
+        return id != null && UUID_FORMAT.matcher(id).matches() ? id.toLowerCase(Locale.ROOT) : id;
+    }
+
+    /**
+     * Looks up an employee by id, batching the upstream call with concurrent lookups.
+     *
+     * @param id the unique identifier of the employee to fetch.
+     * @return the {@link EmployeeDTO} if found, or null if not found.
+     */
+    public EmployeeDTO getEmployeeById(String id) {
+        // ids the multi-get cannot carry keep the single lookup path and its error behaviour
+        if (!enabled || id == null || !UUID_FORMAT.matcher(id).matches()) {
+            return externalApiClient.getEmployeeById(id);
+        }
+        String key = normalizeId(id);
+
+        Deadline deadline = Deadline.current();
+        Batch batch;
+        CompletableFuture<EmployeeDTO> future;
+        boolean leader = false;
+        synchronized (lock) {
+            if (current == null) {
+                current = new Batch(deadline);
+                leader = true;
+            } else {
+                current.deadline = Deadline.latest(current.deadline, deadline);
+            }
+            batch = current;
+            future = batch.requests.computeIfAbsent(key, ignored -> new CompletableFuture<>());
+            if (batch.requests.size() >= maxBatchSize) {
+                current = null;
+                lock.notifyAll();
+            }
+        }
+
+        if (leader) {
+            awaitWindow(batch);
+            Deadline.callWith(batch.deadline, () -> {
+                dispatch(batch.requests);
+                return null;
+            });
+        }
+        return await(key, future, deadline);
+    }
+
+    /**
+     * Blocks the leader until the window elapses or the batch is closed because it filled up, then closes it.
+     */
+    private void awaitWindow(Batch batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        synchronized (lock) {
+            long remaining;
+            while (current == batch && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (current == batch) {
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Resolves every request of a closed batch. The map is no longer mutated once its batch is closed.
+     */
+    private void dispatch(Map<String, CompletableFuture<EmployeeDTO>> requests) {
+        try {
+            if (requests.size() == 1) {
+                Map.Entry<String, CompletableFuture<EmployeeDTO>> only =
+                        requests.entrySet().iterator().next();
+                only.getValue().complete(externalApiClient.getEmployeeById(only.getKey()));
+                return;
+            }
+
+            log.debug("Resolving {} batched employee lookups with one multi-get", requests.size());
+            List<EmployeeDTO> found = externalApiClient.getEmployeesByIds(requests.keySet());
+            if (found == null) {
+                requests.values().forEach(future -> future.completeExceptionally(BATCH_UNAVAILABLE));
+                return;
+            }
+            Map<String, EmployeeDTO> foundById = new HashMap<>();
+            for (EmployeeDTO employee : found) {
+                if (employee.getId() != null) {
+                    foundById.put(normalizeId(employee.getId()), employee);
+                }
+            }
+            requests.forEach((id, future) -> future.complete(foundById.get(id)));
+        } catch (RuntimeException ex) {
+            requests.values().forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+
+    private EmployeeDTO await(String id, CompletableFuture<EmployeeDTO> future, Deadline deadline) {
+        try {
+            return deadline == null
+                    ? future.get()
+                    : future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new DeadlineExceededException("employee lookup " + id);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() == BATCH_UNAVAILABLE) {
+                return externalApiClient.getEmployeeById(id);
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for employee lookup " + id, ex);
+        }
+    }
+
+    private static class Batch {
+        private final Map<String, CompletableFuture<EmployeeDTO>> requests = new LinkedHashMap<>();
+
+        // guarded by the batcher's lock until the batch is closed
+        private Deadline deadline;
+
+        Batch(Deadline deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    private static class BatchUnavailableException extends RuntimeException {
+        BatchUnavailableException() {
+            super("Batch lookup unavailable", null, false, false);
+        }
+    }
+}
@@ -1,32 +1,82 @@
 package com.reliaquest.api.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.constants.ApiConstants;
+import com.reliaquest.api.deadline.Deadline;
 import com.reliaquest.api.model.*;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.stereotype.Component;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-@Component
+/**
+ * Calls one instance of the external API. Several instances are combined by {@link ShardedExternalApiClient}.
+ */
 @Slf4j
 public class ExternalApiClient implements IExternalApiClient {
+    // older servers lack the aggregate and lookup endpoints; after one fails, stop asking for a while
+    private static final long OPTIONAL_ENDPOINT_RETRY_INTERVAL_MILLIS = 10 * 60 * 1000L;
+
     private final RestTemplate restTemplate;
 
-    @Value("${mock.base.url}")
-    private String BASE_URL;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+
+    private final String BASE_URL;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    // a retry is only worth starting if at least this much of the deadline is left after the backoff
+    private final Duration minAttemptBudget;
+
+    private volatile long maxSalaryAggregateRetryAtMillis = 0L;
+
+    private volatile long lookupRetryAtMillis = 0L;
 
-    @Autowired
-    public ExternalApiClient(RestTemplate restTemplate) {
+    /**
+     * @param baseUrl the base URL of the external API instance, ending with a slash
+     * @param maxAttempts how often an idempotent read is attempted at most
+     * @param retryBackoff the backoff before the first retry, doubled for each further one
+     * @param minAttemptBudget how much of the deadline a retry needs left after its backoff
+     */
+    public ExternalApiClient(
+            String baseUrl,
+            RestTemplate restTemplate,
+            HedgedRequestExecutor hedgedRequestExecutor,
+            int maxAttempts,
+            Duration retryBackoff,
+            Duration minAttemptBudget) {
+        this.BASE_URL = baseUrl;
         this.restTemplate = restTemplate;
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.minAttemptBudget = minAttemptBudget;
+    }
+
+    public String getBaseUrl() {
+        return BASE_URL;
     }
 
     /**
@@ -40,8 +90,9 @@ public class ExternalApiClient implements IExternalApiClient {
      */
     public List<EmployeeDTO> getAllEmployees() {
         String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API;
-        log.info("GET {}", url);
-        ResponseWrapperDTO response = restTemplate.getForObject(url, ResponseWrapperDTO.class);
+        log.debug("GET {}", url);
+        ResponseWrapperDTO response =
+                read("getAllEmployees", () -> restTemplate.getForObject(url, ResponseWrapperDTO.class));
 
         if (response == null || response.getData() == null) {
             log.warn("No data returned from server for getAllEmployees(). Returning empty list.");
@@ -51,6 +102,187 @@ public class ExternalApiClient implements IExternalApiClient {
         return response.getData();
     }
 
+    /**
+     * Retrieves all employee records, asking the external API to include only the given fields.
+     * <p>
+     * Fields that are not requested are left null in the returned {@link EmployeeDTO}s. Older servers ignore the
+     * projection and return every field.
+     *
+     * @param fields comma separated field names, e.g. {@code name,salary}
+     * @return a list of {@link EmployeeDTO} objects; never null, but may be empty.
+     */
+    public List<EmployeeDTO> getAllEmployees(String fields) {
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API + ApiConstants.PROJECTION_QUERY;
+        log.debug("GET {} with fields {}", url, fields);
+        ResponseWrapperDTO response =
+                read("getAllEmployees", () -> restTemplate.getForObject(url, ResponseWrapperDTO.class, fields));
+
+        if (response == null || response.getData() == null) {
+            log.warn("No data returned from server for getAllEmployees({}). Returning empty list.", fields);
+            return Collections.emptyList();
+        }
+
+        return response.getData();
+    }
+
+    /**
+     * Streams all employee records to {@code consumer} as they are parsed from the response, so the roster is
+     * never held in memory. The response is read as fast as the consumer takes the employees, so a slow consumer
+     * slows down the transfer rather than the roster piling up.
+     * <p>
+     * Neither hedged nor retried, as employees already passed on cannot be taken back.
+     *
+     * @return the number of employees passed to {@code consumer}
+     */
+    public int streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        Deadline.checkCurrent("streamAllEmployees");
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API;
+        log.debug("GET {} streaming", url);
+        Integer streamed = restTemplate.execute(
+                url,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    ObjectMapper mapper = objectMapperFor(response.getHeaders().getContentType());
+                    try (JsonParser parser = mapper.createParser(response.getBody())) {
+                        return streamData(parser, consumer);
+                    }
+                });
+        return streamed != null ? streamed : 0;
+    }
+
+    /**
+     * @return the mapper of the converter {@code RestTemplate} would read the response with, e.g. the Smile one
+     */
+    private ObjectMapper objectMapperFor(MediaType contentType) {
+        for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jackson
+                    && jackson.canRead(ResponseWrapperDTO.class, contentType)) {
+                return jackson.getObjectMapper();
+            }
+        }
+        throw new RestClientException("No Jackson converter can read a roster of type " + contentType);
+    }
+
+    /**
+     * Reads the elements of the {@code data} array of a {@link ResponseWrapperDTO} one at a time.
+     */
+    private static int streamData(JsonParser parser, Consumer<EmployeeDTO> consumer) throws IOException {
+        int streamed = 0;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return streamed;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "data".equals(field)) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    consumer.accept(parser.readValueAs(EmployeeDTO.class));
+                    streamed++;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return streamed;
+    }
+
+    /**
+     * Retrieves all employee records together with the roster version reported by the external API.
+     * <p>
+     * The version is the id of the last roster event reflected in the data, to resume the event stream from.
+     * It is null when the server does not report one.
+     *
+     * @return the {@link VersionedRosterDTO}; its employee list is never null, but may be empty.
+     */
+    public VersionedRosterDTO getVersionedRoster() {
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API;
+        log.debug("GET {} with version", url);
+        ResponseEntity<ResponseWrapperDTO> response = restTemplate.getForEntity(url, ResponseWrapperDTO.class);
+
+        List<EmployeeDTO> employees =
+                response.getBody() == null || response.getBody().getData() == null
+                        ? Collections.emptyList()
+                        : response.getBody().getData();
+        String version = response.getHeaders().getFirst(ApiConstants.ROSTER_VERSION_HEADER);
+        return new VersionedRosterDTO(employees, version == null ? null : Long.valueOf(version));
+    }
+
+    /**
+     * Asks the external API to filter employees by name server side.
+     * <p>
+     * Older servers ignore the {@code nameContains} parameter and return the full roster, so callers must still
+     * apply the filter to the result; against newer servers that is a no-op over an O(result) payload.
+     *
+     * @param nameContains the case-sensitive name fragment to filter by
+     * @return the employees returned by the external API; never null, but may be empty.
+     */
+    public List<EmployeeDTO> searchEmployeesByName(String nameContains) {
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API + ApiConstants.NAME_CONTAINS_QUERY;
+        log.debug("GET {} with nameContains {}", url, nameContains);
+        ResponseWrapperDTO response = read(
+                "searchEmployeesByName", () -> restTemplate.getForObject(url, ResponseWrapperDTO.class, nameContains));
+
+        if (response == null || response.getData() == null) {
+            log.warn("No data returned from server for searchEmployeesByName(). Returning empty list.");
+            return Collections.emptyList();
+        }
+
+        return response.getData();
+    }
+
+    /**
+     * Asks the external API for the highest earning employees, sorted by salary, limited and projected server side.
+     * <p>
+     * Older servers ignore the {@code sort}, {@code limit} and {@code fields} parameters and return the full
+     * roster, so callers must still sort and limit the result.
+     *
+     * @param limit the maximum number of employees to return
+     * @param fields comma separated field names to include, e.g. {@code name,salary}
+     * @return the employees returned by the external API; never null, but may be empty.
+     */
+    public List<EmployeeDTO> getTopEmployeesBySalary(int limit, String fields) {
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API + ApiConstants.TOP_BY_SALARY_QUERY;
+        log.debug("GET {} with limit {} and fields {}", url, limit, fields);
+        ResponseWrapperDTO response = read(
+                "getTopEmployeesBySalary",
+                () -> restTemplate.getForObject(url, ResponseWrapperDTO.class, limit, fields));
+
+        if (response == null || response.getData() == null) {
+            log.warn("No data returned from server for getTopEmployeesBySalary(). Returning empty list.");
+            return Collections.emptyList();
+        }
+
+        return response.getData();
+    }
+
+    /**
+     * Retrieves the highest salary from the external API's aggregate endpoint.
+     * <p>
+     * Returns null if the server does not offer the aggregate (older servers answer with an error status) or
+     * returns no data, in which case callers should compute the maximum from the full roster. Once the endpoint
+     * fails it is not asked again for a while. Rate limiting is propagated rather than treated as missing.
+     *
+     * @return the highest salary, or null if the aggregate is unavailable.
+     */
+    public Integer getHighestSalary() {
+        if (System.currentTimeMillis() < maxSalaryAggregateRetryAtMillis) {
+            return null;
+        }
+        Deadline.checkCurrent("getHighestSalary");
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API + ApiConstants.MAX_SALARY_AGGREGATE_ENDPOINT;
+        log.debug("GET {}", url);
+        try {
+            IntegerResponseDTO response = restTemplate.getForObject(url, IntegerResponseDTO.class);
+            return response == null ? null : response.getData();
+        } catch (HttpClientErrorException.TooManyRequests ex) {
+            throw ex;
+        } catch (HttpStatusCodeException ex) {
+            maxSalaryAggregateRetryAtMillis = System.currentTimeMillis() + OPTIONAL_ENDPOINT_RETRY_INTERVAL_MILLIS;
+            log.debug("Max salary aggregate unavailable ({}), falling back to full roster", ex.getStatusCode());
+            return null;
+        }
+    }
+
     /**
      * Retrieves a single employee by ID from the external mock API.
      * <p>
@@ -62,9 +294,10 @@ public class ExternalApiClient implements IExternalApiClient {
      */
     public EmployeeDTO getEmployeeById(String id) {
         String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API + ApiConstants.PATH_SEPARATOR + id;
-        log.info("GET {}", url);
+        log.debug("GET {}", url);
         try {
-            SingleEmployeeResponseDTO response = restTemplate.getForObject(url, SingleEmployeeResponseDTO.class);
+            SingleEmployeeResponseDTO response =
+                    read("getEmployeeById", () -> restTemplate.getForObject(url, SingleEmployeeResponseDTO.class));
             if (response == null || response.getData() == null) {
                 log.warn("No data returned from server for getEmployeeById({}). Returning null.", id);
                 return null;
@@ -72,7 +305,38 @@ public class ExternalApiClient implements IExternalApiClient {
             return response.getData();
         } catch (HttpClientErrorException.NotFound ex) {
             // handles RestTemplate's 404
-            log.warn("Employee not found on external API for id: {}", id);
+            log.debug("Employee not found on external API for id: {}", id);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves several employees in one round trip using the external API's multi-get endpoint.
+     * <p>
+     * Ids unknown to the external API are simply absent from the result. Returns null if the server does not
+     * offer the endpoint (older servers answer with an error status) or returns no data, in which case callers
+     * should fall back to {@link #getEmployeeById(String)}; after a failure the endpoint is not asked again for
+     * a while. Rate limiting is propagated rather than treated as missing.
+     *
+     * @param ids the unique identifiers of the employees to fetch.
+     * @return the {@link EmployeeDTO}s found, or null if the multi-get endpoint is unavailable.
+     */
+    public List<EmployeeDTO> getEmployeesByIds(Set<String> ids) {
+        if (System.currentTimeMillis() < lookupRetryAtMillis) {
+            return null;
+        }
+        Deadline.checkCurrent("getEmployeesByIds");
+        String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API + ApiConstants.LOOKUP_ENDPOINT;
+        log.debug("POST {} with {} ids", url, ids.size());
+        try {
+            ResponseWrapperDTO response =
+                    restTemplate.postForObject(url, new LookupEmployeesRequestDTO(ids), ResponseWrapperDTO.class);
+            return response == null ? null : response.getData();
+        } catch (HttpClientErrorException.TooManyRequests ex) {
+            throw ex;
+        } catch (HttpStatusCodeException ex) {
+            lookupRetryAtMillis = System.currentTimeMillis() + OPTIONAL_ENDPOINT_RETRY_INTERVAL_MILLIS;
+            log.debug("Multi-get lookup unavailable ({}), falling back to single lookups", ex.getStatusCode());
             return null;
         }
     }
@@ -89,8 +353,9 @@ public class ExternalApiClient implements IExternalApiClient {
      * @return the {@link EmployeeDTO} returned by the external API after creation
      */
     public EmployeeDTO createEmployee(CreateEmployeeInput input) {
+        Deadline.checkCurrent("createEmployee");
         String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API;
-        log.info("POST {}", url);
+        log.debug("POST {}", url);
 
         SingleEmployeeResponseDTO response = restTemplate.postForObject(url, input, SingleEmployeeResponseDTO.class);
 
@@ -108,12 +373,48 @@ public class ExternalApiClient implements IExternalApiClient {
      * @param name the name of the employee to delete.
      */
     public void deleteEmployeeByName(String name) {
+        Deadline.checkCurrent("deleteEmployeeByName");
         String url = BASE_URL + ApiConstants.EMPLOYEE_BASE_API;
-        log.info("DELETE {} with name {}", url, name);
+        log.debug("DELETE {} with name {}", url, name);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<DeleteEmployeeRequestDTO> request = new HttpEntity<>(new DeleteEmployeeRequestDTO(name), headers);
         restTemplate.exchange(url, HttpMethod.DELETE, request, Void.class);
     }
+
+    /**
+     * Runs an idempotent read, hedged when slow, and retries it with exponential backoff if the external API was
+     * unreachable or failed with 5xx. A retry is only started while the deadline of the current request leaves
+     * room for the backoff plus a useful attempt; work is abandoned once the deadline has passed.
+     */
+    private <T> T read(String operation, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            Deadline.checkCurrent(operation);
+            try {
+                return hedgedRequestExecutor.execute(BASE_URL, operation, call);
+            } catch (ResourceAccessException | HttpServerErrorException ex) {
+                long backoffMillis = retryBackoff.toMillis() << (attempt - 1);
+                backoffMillis += ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+                Deadline deadline = Deadline.current();
+                if (attempt >= maxAttempts
+                        || (deadline != null
+                                && deadline.remaining().toMillis() < backoffMillis + minAttemptBudget.toMillis())) {
+                    throw ex;
+                }
+                log.debug(
+                        "{} attempt {} failed ({}), retrying in {} ms",
+                        operation,
+                        attempt,
+                        ex.getMessage(),
+                        backoffMillis);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
 }
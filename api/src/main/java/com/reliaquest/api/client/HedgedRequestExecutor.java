@@ -0,0 +1,359 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.UpstreamCancellation;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Issues hedged requests for idempotent upstream reads to cut tail latency.
+ * <p>
+ * The first attempt runs on the caller's thread. If it has not completed after the hedge delay, a second, identical
+ * attempt is started on a dedicated pool and whichever succeeds first wins; the other one's request is aborted
+ * through its {@link UpstreamCancellation}. The delay is the configured percentile of the recent latencies of the
+ * same operation, so only the slowest few percent of calls are hedged.
+ * <p>
+ * Hedges are paid for from a global token budget: each call earns a fraction of a token and each hedge spends a
+ * whole one, so hedges can never exceed the configured share of upstream traffic. After the upstream answers
+ * with 429 Too Many Requests, hedging is suspended for a cool-down period so it cannot deepen a rate limit.
+ * Latency history, budget and cool-down are kept per upstream, so a slow or rate limiting upstream does not change
+ * how calls to the others are hedged.
+ * <p>
+ * The hedge pool has no queue: a hedge that finds every thread busy is not sent, and its token is refunded, so
+ * hedging stops rather than queueing when the pool is saturated. Hedges run with the caller's {@link Deadline} and
+ * logging context.
+ * <p>
+ * Disabled by default; enable with {@code employee.hedging.enabled}.
+ */
+@Slf4j
+@Component
+public class HedgedRequestExecutor implements DisposableBean {
+
+    private static final long MILLI_TOKENS_PER_HEDGE = 1000;
+    private static final int LATENCY_WINDOW_SIZE = 1024;
+    private static final int PERCENTILE_REFRESH_INTERVAL = 64;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long milliTokensPerCall;
+    private final long maxMilliTokens;
+    private final long rateLimitCooldownNanos;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService executor;
+
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+    private final AtomicLong hedgesIssued = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private final AtomicLong hedgesRejected = new AtomicLong();
+
+    public HedgedRequestExecutor(
+            @Value("${employee.hedging.enabled:false}") boolean enabled,
+            @Value("${employee.hedging.percentile:95}") double percentile,
+            @Value("${employee.hedging.min-delay:PT0.02S}") Duration minDelay,
+            @Value("${employee.hedging.max-delay:PT1S}") Duration maxDelay,
+            @Value("${employee.hedging.budget-percent:5}") double budgetPercent,
+            @Value("${employee.hedging.max-burst:10}") int maxBurst,
+            @Value("${employee.hedging.rate-limit-cooldown:PT60S}") Duration rateLimitCooldown,
+            @Value("${employee.hedging.pool-size:32}") int poolSize) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.milliTokensPerCall = Math.round(budgetPercent * MILLI_TOKENS_PER_HEDGE / 100);
+        this.maxMilliTokens = maxBurst * MILLI_TOKENS_PER_HEDGE;
+        this.rateLimitCooldownNanos = rateLimitCooldown.toNanos();
+        this.timer = enabled ? newTimer() : null;
+        this.executor = enabled ? newExecutor(poolSize) : null;
+    }
+
+    /**
+     * Runs an idempotent upstream read, hedging it if it is slow.
+     *
+     * @param upstream identifies the upstream called, e.g. its base URL
+     * @param operation names the operation whose latency history determines the hedge delay
+     * @param call the upstream read; may be invoked twice concurrently
+     * @return the result of the first attempt to succeed
+     */
+    public <T> T execute(String upstream, String operation, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Upstream state = upstreams.computeIfAbsent(upstream, ignored -> new Upstream());
+        LatencyWindow window = state.latencies.computeIfAbsent(operation, ignored -> new LatencyWindow());
+        state.earnBudget();
+
+        Deadline deadline = Deadline.current();
+        long hedgeDelayNanos = window.hedgeDelayNanos();
+        if (deadline != null && deadline.remaining().toNanos() <= hedgeDelayNanos) {
+            // no time left for a hedge to help
+            return attempt(state, window, call);
+        }
+        HedgedCall<T> hedged = new HedgedCall<>();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        ScheduledFuture<?> hedgeTimer = timer.schedule(
+                () -> hedge(hedged, state, window, deadline, mdc, upstream, operation, call),
+                hedgeDelayNanos,
+                TimeUnit.NANOSECONDS);
+        T result;
+        try {
+            result = UpstreamCancellation.callWith(hedged.primary, () -> attempt(state, window, call));
+        } catch (RuntimeException ex) {
+            hedgeTimer.cancel(false);
+            CompletableFuture<T> hedge = hedged.primaryDone();
+            if (hedge == null) {
+                throw ex;
+            }
+            // the primary failed, or was aborted because the hedge succeeded: the hedge's outcome is the answer
+            T hedgeResult = await(operation, hedge, deadline);
+            hedgesWon.incrementAndGet();
+            return hedgeResult;
+        }
+        hedgeTimer.cancel(false);
+        CompletableFuture<T> hedge = hedged.primaryDone();
+        if (hedge != null && !hedge.isDone()) {
+            hedged.hedgeCancellation.cancel();
+        }
+        return result;
+    }
+
+    public long getHedgesIssued() {
+        return hedgesIssued.get();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    /**
+     * @return how many hedges were not sent because the hedge pool was busy
+     */
+    public long getHedgesRejected() {
+        return hedgesRejected.get();
+    }
+
+    /**
+     * Runs one attempt on the current thread, recording its latency or a rate limit of the upstream.
+     */
+    private <T> T attempt(Upstream upstream, LatencyWindow window, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            window.record(System.nanoTime() - start);
+            return result;
+        } catch (HttpClientErrorException.TooManyRequests ex) {
+            upstream.hedgingSuspendedUntilNanos = System.nanoTime() + rateLimitCooldownNanos;
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts the hedge of a call whose primary attempt is still running after the hedge delay, budget and pool
+     * permitting. Runs on the timer thread.
+     */
+    private <T> void hedge(
+            HedgedCall<T> hedged,
+            Upstream state,
+            LatencyWindow window,
+            Deadline deadline,
+            Map<String, String> mdc,
+            String upstream,
+            String operation,
+            Supplier<T> call) {
+        synchronized (hedged) {
+            if (hedged.primaryDone || !state.tryHedge()) {
+                return;
+            }
+            CompletableFuture<T> hedge = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    if (mdc != null) {
+                        MDC.setContextMap(mdc);
+                    }
+                    try {
+                        hedge.complete(Deadline.callWith(
+                                deadline,
+                                () -> UpstreamCancellation.callWith(
+                                        hedged.hedgeCancellation, () -> attempt(state, window, call))));
+                    } catch (RuntimeException ex) {
+                        hedge.completeExceptionally(ex);
+                    } finally {
+                        MDC.clear();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                state.refundHedge();
+                hedgesRejected.incrementAndGet();
+                log.debug("Not hedging slow {} call to {}, hedge pool busy", operation, upstream);
+                return;
+            }
+            hedgesIssued.incrementAndGet();
+            log.debug("Hedging slow {} call to {}", operation, upstream);
+            hedge.thenRun(hedged.primary::cancel);
+            hedged.hedge = hedge;
+        }
+    }
+
+    /**
+     * Waits for the hedge until the deadline, if any, cancelling it if the caller gives up.
+     */
+    private static <T> T await(String operation, CompletableFuture<T> hedge, Deadline deadline) {
+        try {
+            return deadline == null
+                    ? hedge.get()
+                    : hedge.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            hedge.cancel(true);
+            throw new DeadlineExceededException(operation);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            hedge.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for " + operation, ex);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private static ScheduledExecutorService newTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "upstream-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // most calls finish before their hedge is due
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static ExecutorService newExecutor(int poolSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "upstream-hedge-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            timer.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * One hedged call: the cancellations of its two attempts and, once started, the hedge.
+     */
+    private static class HedgedCall<T> {
+        private final UpstreamCancellation primary = new UpstreamCancellation();
+        private final UpstreamCancellation hedgeCancellation = new UpstreamCancellation();
+
+        // guarded by this
+        private boolean primaryDone;
+        private CompletableFuture<T> hedge;
+
+        /**
+         * Marks the primary attempt as done, so no hedge is started any more.
+         *
+         * @return the hedge, or null if none was started
+         */
+        synchronized CompletableFuture<T> primaryDone() {
+            primaryDone = true;
+            return hedge;
+        }
+    }
+
+    /**
+     * Hedging state of one upstream: its latency history per operation, hedge budget and rate-limit cool-down.
+     */
+    private class Upstream {
+        private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+        private final AtomicLong milliTokens = new AtomicLong();
+        private volatile long hedgingSuspendedUntilNanos = System.nanoTime();
+
+        void earnBudget() {
+            milliTokens.getAndUpdate(current -> Math.min(maxMilliTokens, current + milliTokensPerCall));
+        }
+
+        boolean tryHedge() {
+            if (System.nanoTime() - hedgingSuspendedUntilNanos < 0) {
+                return false;
+            }
+            long current;
+            do {
+                current = milliTokens.get();
+                if (current < MILLI_TOKENS_PER_HEDGE) {
+                    return false;
+                }
+            } while (!milliTokens.compareAndSet(current, current - MILLI_TOKENS_PER_HEDGE));
+            return true;
+        }
+
+        void refundHedge() {
+            milliTokens.getAndUpdate(current -> Math.min(maxMilliTokens, current + MILLI_TOKENS_PER_HEDGE));
+        }
+    }
+
+    /**
+     * Ring buffer of recent latencies for one operation, with a periodically refreshed percentile.
+     */
+    private class LatencyWindow {
+        private final long[] samples = new long[LATENCY_WINDOW_SIZE];
+        private int count;
+        private int next;
+        private volatile long hedgeDelayNanos = maxDelayNanos;
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (next % PERCENTILE_REFRESH_INTERVAL == 0) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1);
+                hedgeDelayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, sorted[Math.max(0, index)]));
+            }
+        }
+
+        long hedgeDelayNanos() {
+            return hedgeDelayNanos;
+        }
+    }
+}
@@ -2,13 +2,35 @@ package com.reliaquest.api.client;
 
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.VersionedRosterDTO;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface IExternalApiClient {
     List<EmployeeDTO> getAllEmployees();
 
+    List<EmployeeDTO> getAllEmployees(String fields);
+
+    VersionedRosterDTO getVersionedRoster();
+
+    /**
+     * Passes every employee to {@code consumer} as it is read, without holding the roster in memory.
+     *
+     * @return the number of employees passed on
+     */
+    int streamAllEmployees(Consumer<EmployeeDTO> consumer);
+
+    List<EmployeeDTO> searchEmployeesByName(String nameContains);
+
+    List<EmployeeDTO> getTopEmployeesBySalary(int limit, String fields);
+
+    Integer getHighestSalary();
+
     EmployeeDTO getEmployeeById(String id);
 
+    List<EmployeeDTO> getEmployeesByIds(Set<String> ids);
+
     EmployeeDTO createEmployee(CreateEmployeeInput input);
 
     void deleteEmployeeByName(String name);
@@ -0,0 +1,308 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.UpstreamCancellation;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.VersionedRosterDTO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Spreads the roster over several instances (shards) of the external API, each behind its own
+ * {@link CircuitBreakingExternalApiClient}, so every shard has its own health, retry and hedging state.
+ * <p>
+ * Creates are routed to the shard owning the employee's name on a {@link ConsistentHashRing}. Deletes go to the
+ * owning shard too, unless another shard holds the name, which is looked up first since the external API assigns
+ * ids and may hold employees it was seeded with. Reads are scattered to every shard in parallel and gathered:
+ * lists are concatenated, top earners are merged to the overall top K and the highest salary is the maximum of the
+ * shards' maxima. A read fails if any shard fails, since a partial roster would be silently wrong; a lookup by id
+ * only fails if no shard has the employee and one of them could not be asked.
+ * <p>
+ * The first shard is called on the caller's thread and only the others on the scatter pool, so a scatter takes
+ * one pool thread less and each shard call runs its retries and hedging as it would unsharded. Once a scatter has
+ * its answer, or has failed, the requests still in flight to other shards are aborted.
+ * <p>
+ * With a single shard every call goes straight to it. Roster versions are per instance, so with several shards
+ * {@link #getVersionedRoster()} reports none.
+ */
+@Slf4j
+public class ShardedExternalApiClient implements IExternalApiClient, DisposableBean {
+
+    private final List<CircuitBreakingExternalApiClient> shards;
+    private final ConsistentHashRing ring;
+    private final ExecutorService executor;
+
+    /**
+     * @param shards one client per instance of the external API
+     * @param virtualNodes points per shard on the hash ring
+     * @param poolSize threads for calling shards in parallel; unused with a single shard
+     */
+    public ShardedExternalApiClient(List<CircuitBreakingExternalApiClient> shards, int virtualNodes, int poolSize) {
+        this.shards = List.copyOf(shards);
+        this.ring = new ConsistentHashRing(shards.size(), virtualNodes);
+        this.executor = shards.size() > 1 ? newExecutor(poolSize) : null;
+        log.info(
+                "External API sharded over {}",
+                shards.stream()
+                        .map(CircuitBreakingExternalApiClient::getBaseUrl)
+                        .toList());
+    }
+
+    @Override
+    public List<EmployeeDTO> getAllEmployees() {
+        return concat(scatter("getAllEmployees", IExternalApiClient::getAllEmployees));
+    }
+
+    @Override
+    public List<EmployeeDTO> getAllEmployees(String fields) {
+        return concat(scatter("getAllEmployees", shard -> shard.getAllEmployees(fields)));
+    }
+
+    @Override
+    public VersionedRosterDTO getVersionedRoster() {
+        if (shards.size() == 1) {
+            return shards.get(0).getVersionedRoster();
+        }
+        List<VersionedRosterDTO> rosters = scatter("getVersionedRoster", IExternalApiClient::getVersionedRoster);
+        return new VersionedRosterDTO(
+                concat(rosters.stream().map(VersionedRosterDTO::getEmployees).toList()), null);
+    }
+
+    /**
+     * Streams one shard after the other, so that only one response is open at a time and none is buffered. A shard
+     * that fails fails the whole stream, after the employees of the shards before it were passed on.
+     */
+    @Override
+    public int streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        int streamed = 0;
+        for (CircuitBreakingExternalApiClient shard : shards) {
+            streamed += shard.streamAllEmployees(consumer);
+        }
+        return streamed;
+    }
+
+    @Override
+    public List<EmployeeDTO> searchEmployeesByName(String nameContains) {
+        return concat(scatter("searchEmployeesByName", shard -> shard.searchEmployeesByName(nameContains)));
+    }
+
+    /**
+     * Asks every shard for its top {@code limit} earners and keeps the overall top {@code limit}; employees
+     * without a salary are dropped when there are several shards.
+     */
+    @Override
+    public List<EmployeeDTO> getTopEmployeesBySalary(int limit, String fields) {
+        if (shards.size() == 1) {
+            return shards.get(0).getTopEmployeesBySalary(limit, fields);
+        }
+        return scatter("getTopEmployeesBySalary", shard -> shard.getTopEmployeesBySalary(limit, fields)).stream()
+                .flatMap(List::stream)
+                .filter(employee -> employee.getEmployeeSalary() != null)
+                .sorted(Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * @return the highest of the shards' highest salaries, or null if any shard lacks the aggregate.
+     */
+    @Override
+    public Integer getHighestSalary() {
+        List<Integer> maxima = scatter("getHighestSalary", IExternalApiClient::getHighestSalary);
+        if (maxima.contains(null)) {
+            return null;
+        }
+        return maxima.stream().max(Integer::compare).orElse(null);
+    }
+
+    @Override
+    public EmployeeDTO getEmployeeById(String id) {
+        if (shards.size() == 1) {
+            return shards.get(0).getEmployeeById(id);
+        }
+        Deadline deadline = Deadline.current();
+        List<CompletableFuture<EmployeeDTO>> lookups = submitAll(deadline, shard -> shard.getEmployeeById(id));
+        RuntimeException failure = null;
+        try {
+            for (CompletableFuture<EmployeeDTO> lookup : lookups) {
+                try {
+                    EmployeeDTO employee = await("getEmployeeById", lookup, deadline);
+                    if (employee != null) {
+                        return employee;
+                    }
+                } catch (DeadlineExceededException ex) {
+                    throw ex;
+                } catch (RuntimeException ex) {
+                    failure = ex;
+                }
+            }
+        } finally {
+            lookups.forEach(lookup -> lookup.cancel(true));
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+
+    /**
+     * @return the employees found on any shard, or null if any shard lacks the multi-get endpoint.
+     */
+    @Override
+    public List<EmployeeDTO> getEmployeesByIds(Set<String> ids) {
+        List<List<EmployeeDTO>> found = scatter("getEmployeesByIds", shard -> shard.getEmployeesByIds(ids));
+        return found.contains(null) ? null : concat(found);
+    }
+
+    @Override
+    public EmployeeDTO createEmployee(CreateEmployeeInput input) {
+        return shards.get(ownerOf(input.getName())).createEmployee(input);
+    }
+
+    @Override
+    public void deleteEmployeeByName(String name) {
+        int owner = ownerOf(name);
+        if (shards.size() > 1) {
+            List<List<EmployeeDTO>> matches =
+                    scatter("deleteEmployeeByName", shard -> shard.searchEmployeesByName(name));
+            if (!holdsName(matches.get(owner), name)) {
+                for (int shard = 0; shard < matches.size(); shard++) {
+                    if (holdsName(matches.get(shard), name)) {
+                        owner = shard;
+                        break;
+                    }
+                }
+            }
+        }
+        shards.get(owner).deleteEmployeeByName(name);
+    }
+
+    private int ownerOf(String name) {
+        // the external API matches names case-insensitively
+        return ring.shardFor(name == null ? "" : name.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean holdsName(List<EmployeeDTO> employees, String name) {
+        return employees.stream().anyMatch(employee -> name.equalsIgnoreCase(employee.getEmployeeName()));
+    }
+
+    private static <T> List<T> concat(List<List<T>> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        List<T> all = new ArrayList<>(lists.stream().mapToInt(List::size).sum());
+        lists.forEach(all::addAll);
+        return all;
+    }
+
+    /**
+     * Runs {@code call} against every shard in parallel and waits for all of them, within the current deadline.
+     *
+     * @return the results in shard order
+     */
+    private <T> List<T> scatter(String operation, Function<IExternalApiClient, T> call) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(call.apply(shards.get(0)));
+        }
+        Deadline deadline = Deadline.current();
+        List<CompletableFuture<T>> calls = submitAll(deadline, call);
+        try {
+            List<T> results = new ArrayList<>(calls.size());
+            for (CompletableFuture<T> shardCall : calls) {
+                results.add(await(operation, shardCall, deadline));
+            }
+            return results;
+        } finally {
+            calls.forEach(shardCall -> shardCall.cancel(true));
+        }
+    }
+
+    /**
+     * Starts {@code call} against every shard but the first on the pool, then runs it against the first one on the
+     * current thread. Cancelling a returned future aborts the shard's request if it is still in flight.
+     *
+     * @return the calls in shard order
+     */
+    private <T> List<CompletableFuture<T>> submitAll(Deadline deadline, Function<IExternalApiClient, T> call) {
+        List<CompletableFuture<T>> calls = new ArrayList<>(shards.size());
+        calls.add(null);
+        for (int shard = 1; shard < shards.size(); shard++) {
+            IExternalApiClient client = shards.get(shard);
+            UpstreamCancellation cancellation = new UpstreamCancellation();
+            CompletableFuture<T> shardCall = CompletableFuture.supplyAsync(
+                    () -> Deadline.callWith(
+                            deadline, () -> UpstreamCancellation.callWith(cancellation, () -> call.apply(client))),
+                    executor);
+            shardCall.whenComplete((ignored, ex) -> {
+                if (ex instanceof CancellationException) {
+                    cancellation.cancel();
+                }
+            });
+            calls.add(shardCall);
+        }
+        CompletableFuture<T> first = new CompletableFuture<>();
+        try {
+            first.complete(call.apply(shards.get(0)));
+        } catch (RuntimeException ex) {
+            first.completeExceptionally(ex);
+        }
+        calls.set(0, first);
+        return calls;
+    }
+
+    private static <T> T await(String operation, CompletableFuture<T> future, Deadline deadline) {
+        try {
+            return deadline == null
+                    ? future.get()
+                    : future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new DeadlineExceededException(operation);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + operation, ex);
+        }
+    }
+
+    private static ExecutorService newExecutor(int poolSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "upstream-scatter-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
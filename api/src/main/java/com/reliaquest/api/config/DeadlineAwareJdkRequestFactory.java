@@ -0,0 +1,46 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.UpstreamCancellation;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * Sends upstream requests with the JDK {@link HttpClient} over HTTP/2, falling back to HTTP/1.1 against servers
+ * that do not offer it. Over plain {@code http} the first request upgrades the connection to h2c, after which
+ * concurrent requests are multiplexed as streams over a few connections instead of each taking a connection of
+ * its own.
+ * <p>
+ * Like {@link DeadlineAwareRequestFactory}, every request's timeout is shortened to the time left before the
+ * {@link Deadline} of the current request, and a request whose deadline has already passed is not sent. Here the
+ * timeout bounds the whole response rather than each wait for data. A request sent under an
+ * {@link UpstreamCancellation} is aborted by interrupting the thread waiting for it.
+ */
+public class DeadlineAwareJdkRequestFactory implements ClientHttpRequestFactory {
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    public DeadlineAwareJdkRequestFactory(Duration connectTimeout, Duration readTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        // the JDK factory holds no state but the client and timeout, so one per request is cheap
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(DeadlineAwareRequestFactory.boundedByDeadline(readTimeout, httpMethod + " " + uri));
+        UpstreamCancellation.registerInterrupt();
+        return factory.createRequest(uri, httpMethod);
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.UpstreamCancellation;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Applies connect and read timeouts to every upstream request, shortened to the time left before the
+ * {@link Deadline} of the current request. A request whose deadline has already passed is not sent.
+ * <p>
+ * The read timeout bounds each wait for data rather than the whole response, which is close enough for the
+ * small, promptly streamed responses of the external API.
+ * <p>
+ * A request sent under an {@link UpstreamCancellation} is aborted by closing its connection.
+ */
+public class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+
+    public DeadlineAwareRequestFactory(Duration connectTimeout, Duration readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        String request = httpMethod + " " + connection.getURL();
+        connection.setConnectTimeout(
+                (int) boundedByDeadline(connectTimeout, request).toMillis());
+        connection.setReadTimeout((int) boundedByDeadline(readTimeout, request).toMillis());
+        UpstreamCancellation.register(connection::disconnect);
+    }
+
+    /**
+     * @param timeout the configured timeout
+     * @param request describes the upstream request, for the exception
+     * @return {@code timeout}, shortened to the whole milliseconds left before the current request's deadline
+     * @throws DeadlineExceededException if less than a millisecond is left
+     */
+    static Duration boundedByDeadline(Duration timeout, String request) {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return timeout;
+        }
+        long remaining = deadline.remaining().toMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(request);
+        }
+        return timeout.toMillis() <= remaining ? timeout : Duration.ofMillis(remaining);
+    }
+}
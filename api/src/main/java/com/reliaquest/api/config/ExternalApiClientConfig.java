@@ -0,0 +1,84 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.CircuitBreakingExternalApiClient;
+import com.reliaquest.api.client.ExternalApiClient;
+import com.reliaquest.api.client.HedgedRequestExecutor;
+import com.reliaquest.api.client.ShardedExternalApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class ExternalApiClientConfig {
+    /**
+     * Keeps the external API client eager under {@code spring.main.lazy-initialization}, as in the fast startup
+     * build: its circuit breaker gauges are then published from startup and the first request does not pay for it.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerExternalApiClient() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ShardedExternalApiClient.class);
+    }
+
+    /**
+     * Builds one {@link ExternalApiClient} per external API instance, each behind its own {@link CircuitBreaker},
+     * and combines them into a {@link ShardedExternalApiClient}.
+     * @param baseUrls comma separated base URLs of the external API instances; defaults to {@code mock.base.url}
+     * @param virtualNodes points per instance on the consistent hash ring routing writes
+     * @param scatterPoolSize threads for calling the instances in parallel
+     * @param eventsEnabled whether the roster snapshot is kept live by the event stream, which only follows a single
+     *                      instance and so cannot be combined with several
+     * @return ShardedExternalApiClient Bean
+     */
+    @Bean
+    public ShardedExternalApiClient externalApiClient(
+            RestTemplate restTemplate,
+            HedgedRequestExecutor hedgedRequestExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${mock.base.urls:${mock.base.url}}") List<String> baseUrls,
+            @Value("${employee.sharding.virtual-nodes:512}") int virtualNodes,
+            @Value("${employee.sharding.scatter-pool-size:32}") int scatterPoolSize,
+            @Value("${employee.snapshot.events.enabled:false}") boolean eventsEnabled,
+            @Value("${employee.upstream.max-attempts:2}") int maxAttempts,
+            @Value("${employee.upstream.retry-backoff:PT0.05S}") Duration retryBackoff,
+            @Value("${employee.upstream.min-attempt-budget:PT0.1S}") Duration minAttemptBudget,
+            @Value("${employee.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${employee.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${employee.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${employee.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+            @Value("${employee.circuit-breaker.slow-call-duration:PT2S}") Duration slowCallDuration,
+            @Value("${employee.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+            @Value("${employee.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        if (eventsEnabled && baseUrls.size() > 1) {
+            throw new IllegalArgumentException(
+                    "employee.snapshot.events.enabled follows a single external API instance and cannot be combined"
+                            + " with " + baseUrls.size() + " mock.base.urls");
+        }
+        List<CircuitBreakingExternalApiClient> shards = baseUrls.stream()
+                .map(String::trim)
+                .map(baseUrl -> new CircuitBreakingExternalApiClient(
+                        new ExternalApiClient(
+                                baseUrl,
+                                restTemplate,
+                                hedgedRequestExecutor,
+                                maxAttempts,
+                                retryBackoff,
+                                minAttemptBudget),
+                        new CircuitBreaker(
+                                windowSize,
+                                minimumCalls,
+                                failureRateThreshold,
+                                slowCallRateThreshold,
+                                slowCallDuration,
+                                openDuration,
+                                halfOpenCalls),
+                        meterRegistry))
+                .toList();
+        return new ShardedExternalApiClient(shards, virtualNodes, scatterPoolSize);
+    }
+}
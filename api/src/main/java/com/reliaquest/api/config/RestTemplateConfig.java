@@ -1,5 +1,8 @@
 package com.reliaquest.api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -8,10 +11,29 @@ import org.springframework.web.client.RestTemplate;
 public class RestTemplateConfig {
     /**
      * Configures Rest Template Centrally
+     * @param meterRegistry registry receiving the upstream payload size and read time metrics
+     * @param preferSmile whether to ask the external API for Smile rather than JSON responses
+     * @param connectTimeout upper bound for connecting to the external API, shortened by the request deadline
+     * @param readTimeout upper bound for waiting on response data, shortened by the request deadline
+     * @param http2 whether to multiplex requests over HTTP/2 (h2c) with the JDK client instead of opening an
+     *        HTTP/1.1 connection per concurrent request
      * @return RestTemplate Bean
      */
     @Bean
-    public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+    public RestTemplate getRestTemplate(
+            MeterRegistry meterRegistry,
+            @Value("${employee.wire-format.prefer-smile:true}") boolean preferSmile,
+            @Value("${employee.upstream.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${employee.upstream.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${employee.upstream.http2:false}") boolean http2) {
+        RestTemplate restTemplate = new RestTemplate(
+                http2
+                        ? new DeadlineAwareJdkRequestFactory(connectTimeout, readTimeout)
+                        : new DeadlineAwareRequestFactory(connectTimeout, readTimeout));
+        restTemplate.getInterceptors().add(new UpstreamMetricsInterceptor(meterRegistry));
+        if (preferSmile) {
+            restTemplate.getInterceptors().add(new WireFormatNegotiationInterceptor());
+        }
+        return restTemplate;
     }
 }
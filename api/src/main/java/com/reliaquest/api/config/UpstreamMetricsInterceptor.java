@@ -0,0 +1,185 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.profiling.UpstreamCallEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Records, per upstream endpoint and field projection, how many response body bytes were read and how long it
+ * took from the response headers arriving until the response was closed. The latter is dominated by reading and
+ * parsing the body, since the message converters stream the JSON straight from the socket.
+ * <p>
+ * Published as {@code upstream.response.bytes} and {@code upstream.response.read} with {@code uri}, {@code fields}
+ * and {@code format} (the response content subtype) tags, so the effect of projections and wire formats can be
+ * compared at {@code /actuator/metrics}.
+ * <p>
+ * While a flight recording is running, every call is also recorded as an {@link UpstreamCallEvent}, which spans
+ * the whole call including failed ones, so a single slow call can be told apart from slow parsing.
+ */
+@RequiredArgsConstructor
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern FIELDS_PARAM = Pattern.compile("(?:^|&)fields=([^&]*)");
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        UpstreamCallEvent event = UpstreamCallEvent.beginIfEnabled();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException ex) {
+            if (event != null) {
+                URI uri = request.getURI();
+                event.complete(request.getMethod().name(), uriTag(uri), fieldsTag(uri), 0, "none", 0, 0);
+            }
+            throw ex;
+        }
+        return new MeteredResponse(response, request.getMethod().name(), request.getURI(), System.nanoTime(), event);
+    }
+
+    private static String uriTag(URI uri) {
+        return UUID_SEGMENT.matcher(uri.getPath()).replaceAll("/{id}");
+    }
+
+    private static String fieldsTag(URI uri) {
+        if (uri.getRawQuery() == null) {
+            return "all";
+        }
+        Matcher matcher = FIELDS_PARAM.matcher(uri.getRawQuery());
+        return matcher.find() ? matcher.group(1) : "all";
+    }
+
+    private static String formatTag(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType == null ? "none" : contentType.getSubtype();
+    }
+
+    private class MeteredResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final String method;
+        private final URI uri;
+        private final long headersReceivedNanos;
+        private final UpstreamCallEvent event;
+        private CountingInputStream body;
+
+        MeteredResponse(
+                ClientHttpResponse delegate,
+                String method,
+                URI uri,
+                long headersReceivedNanos,
+                UpstreamCallEvent event) {
+            this.delegate = delegate;
+            this.method = method;
+            this.uri = uri;
+            this.headersReceivedNanos = headersReceivedNanos;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - headersReceivedNanos;
+            long bytes = body == null ? 0 : body.count;
+            String uriTag = uriTag(uri);
+            String fieldsTag = fieldsTag(uri);
+            String formatTag = formatTag(delegate.getHeaders());
+            DistributionSummary.builder("upstream.response.bytes")
+                    .baseUnit("bytes")
+                    .tags("method", method, "uri", uriTag, "fields", fieldsTag, "format", formatTag)
+                    .register(meterRegistry)
+                    .record(bytes);
+            Timer.builder("upstream.response.read")
+                    .tags("method", method, "uri", uriTag, "fields", fieldsTag, "format", formatTag)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (event != null) {
+                event.complete(method, uriTag, fieldsTag, status(), formatTag, bytes, elapsed);
+            }
+            delegate.close();
+        }
+
+        private int status() {
+            try {
+                return delegate.getStatusCode().value();
+            } catch (IOException ex) {
+                return 0;
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.api.config;
+
+import java.io.IOException;
+import java.util.List;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Asks the external API for binary Smile instead of JSON text, which is smaller and much cheaper to parse for
+ * large rosters.
+ * <p>
+ * Any request that accepts JSON is sent with {@code Accept: application/x-jackson-smile, application/json;q=0.9}.
+ * Servers that support Smile answer in it and the {@link MappingJackson2SmileHttpMessageConverter} that
+ * {@code RestTemplate} registers by default reads it; servers that do not simply answer with JSON. Request bodies
+ * are still sent as JSON, so writes work against any server.
+ */
+public class WireFormatNegotiationInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> PREFER_SMILE =
+            List.of(SMILE, MediaType.parseMediaType("application/json;q=0.9"));
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (acceptsJson(request.getHeaders().getAccept())) {
+            request.getHeaders().setAccept(PREFER_SMILE);
+        }
+        return execution.execute(request, body);
+    }
+
+    private static boolean acceptsJson(List<MediaType> accept) {
+        for (MediaType mediaType : accept) {
+            if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) && !mediaType.isWildcardType()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
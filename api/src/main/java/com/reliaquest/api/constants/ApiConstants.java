@@ -8,4 +8,24 @@ public interface ApiConstants {
     String HIGHEST_SALARY_ENDPOINT = "/highestSalary";
     String TOP_EARNING_SALARY_EMPLOYEES_ENDPOINT = "/topTenHighestEarningEmployeeNames";
     int TOP_EARNERS_COUNT = 10;
+
+    // Pushdown query parameters and endpoints supported by newer mock servers; older ones ignore or reject them.
+    String NAME_CONTAINS_QUERY = "?nameContains={nameContains}";
+    String TOP_BY_SALARY_QUERY = "?sort=salary&limit={limit}&fields={fields}";
+    String PROJECTION_QUERY = "?fields={fields}";
+    String MAX_SALARY_AGGREGATE_ENDPOINT = "/aggregate/maxSalary";
+    String LOOKUP_ENDPOINT = "/lookup";
+    String EVENTS_ENDPOINT = "/events";
+    String ROSTER_VERSION_HEADER = "X-Roster-Version";
+    String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    // Set on responses served from the last known good roster while the external API is unavailable.
+    String ROSTER_STALENESS_HEADER = "X-Roster-Staleness-Seconds";
+
+    // Lets clients shorten (or, up to a cap, extend) the deadline of a request, in milliseconds.
+    String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Millis";
+
+    // Field projections requested by the service; older servers ignore them and send every field.
+    String TOP_EARNER_FIELDS = "name,salary";
+    String SALARY_FIELDS = "salary";
 }
@@ -0,0 +1,101 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.AgeDistributionDTO;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.HistogramBinDTO;
+import com.reliaquest.api.model.SalaryRankDTO;
+import com.reliaquest.api.model.SalaryStatisticsDTO;
+import com.reliaquest.api.service.IAnalyticsService;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/analytics")
+@AllArgsConstructor
+public class AnalyticsController {
+
+    private static final int MAX_HISTOGRAM_BINS = 100;
+    private static final int MAX_TOP_EARNERS = 1000;
+
+    private final IAnalyticsService analyticsService;
+
+    /**
+     * Returns salary percentiles (p50, p90, p99) together with count, mean, minimum and maximum.
+     *
+     * @return a {@link ResponseEntity} with the {@link SalaryStatisticsDTO}; all zero if there are no salaries.
+     */
+    @GetMapping("/salary")
+    public ResponseEntity<SalaryStatisticsDTO> getSalaryStatistics() {
+        return ResponseEntity.ok(analyticsService.getSalaryStatistics());
+    }
+
+    /**
+     * Returns a histogram of salaries with equally wide bins spanning the lowest to the highest salary.
+     *
+     * @param bins the number of bins, between 1 and 100
+     * @return a {@link ResponseEntity} with the bins, or HTTP 400 if {@code bins} is out of range.
+     */
+    @GetMapping("/salary/histogram")
+    public ResponseEntity<List<HistogramBinDTO>> getSalaryHistogram(@RequestParam(defaultValue = "10") int bins) {
+        if (bins < 1 || bins > MAX_HISTOGRAM_BINS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsService.getSalaryHistogram(bins));
+    }
+
+    /**
+     * Returns the number of employees of each age together with age percentiles.
+     *
+     * @return a {@link ResponseEntity} with the {@link AgeDistributionDTO}.
+     */
+    @GetMapping("/age")
+    public ResponseEntity<AgeDistributionDTO> getAgeDistribution() {
+        return ResponseEntity.ok(analyticsService.getAgeDistribution());
+    }
+
+    /**
+     * Returns the employees whose salary is between {@code min} and {@code max}, both inclusive.
+     *
+     * @return a {@link ResponseEntity} with the employees, highest salary first, or HTTP 400 if {@code min} is
+     *         greater than {@code max}.
+     */
+    @GetMapping("/salary/range")
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesBySalaryRange(@RequestParam int min, @RequestParam int max) {
+        if (min > max) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsService.findEmployeesBySalaryRange(min, max));
+    }
+
+    /**
+     * Returns the {@code count} highest earning employees.
+     *
+     * @param count the number of employees, between 1 and 1000
+     * @return a {@link ResponseEntity} with the employees, highest salary first, or HTTP 400 if {@code count} is
+     *         out of range.
+     */
+    @GetMapping("/salary/top")
+    public ResponseEntity<List<EmployeeDTO>> getTopEarners(@RequestParam(defaultValue = "10") int count) {
+        if (count < 1 || count > MAX_TOP_EARNERS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsService.findTopEarners(count));
+    }
+
+    /**
+     * Returns where the salary of the employee with the given id ranks in the roster.
+     *
+     * @return a {@link ResponseEntity} with the {@link SalaryRankDTO}, or HTTP 404 if the employee is unknown or
+     *         has no salary.
+     */
+    @GetMapping("/salary/rank/{id}")
+    public ResponseEntity<SalaryRankDTO> getSalaryRank(@PathVariable String id) {
+        return ResponseEntity.ok(analyticsService.getSalaryRank(id));
+    }
+}
@@ -34,7 +34,6 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
      */
     @Override
     public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        log.info("Received request to get all employees");
         List<EmployeeDTO> employees = employeeService.findAllEmployees();
         log.debug("Returning {} employees to the client", employees.size());
         return ResponseEntity.ok(employees);
@@ -52,7 +51,6 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
      */
     @Override
     public ResponseEntity<List<EmployeeDTO>> getEmployeesByNameSearch(String searchString) {
-        log.info("Received request to search employees by name: {}", searchString);
         List<EmployeeDTO> filteredEmployees = employeeService.findEmployeesByName(searchString);
         log.debug("Found {} employees matching search string '{}'", filteredEmployees.size(), searchString);
         return ResponseEntity.ok(filteredEmployees);
@@ -68,7 +66,6 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
      */
     @Override
     public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable String id) {
-        log.info("Received request to get employee by id: {}", id);
         EmployeeDTO employee = employeeService.findEmployeeById(id);
         return ResponseEntity.ok(employee);
     }
@@ -84,7 +81,6 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
      */
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        log.info("Received request to get highest salary of employees");
         int highestSalary = employeeService.findHighestSalary();
         log.debug("Highest salary found: {}", highestSalary);
         return ResponseEntity.ok(highestSalary);
@@ -103,7 +99,6 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
      */
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        log.info("Received request to get top 10 highest earning employee names");
         List<String> topEarners =
                 employeeService.findTopTenHighestEarningNames(ApiConstants.TOP_EARNERS_COUNT); // default set to 10
         log.debug("Returning {} top earning employee names", topEarners.size());
@@ -122,7 +117,6 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
      */
     @Override
     public ResponseEntity<EmployeeDTO> createEmployee(@RequestBody @Valid CreateEmployeeInput employeeInput) {
-        log.info("Received request to create employee: {}", employeeInput.getName());
         EmployeeDTO createdEmployee = employeeService.createEmployee(employeeInput);
         log.debug("Employee created: {}", createdEmployee.getId());
         return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
@@ -1,10 +1,13 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.exception.DeadlineExceededException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,16 +20,50 @@ public class EmployeeControllerAdvice {
 
     /**
      * Handles {@link EmployeeNotFoundException} by returning a 404 Not Found response.
+     * Unknown ids are an expected client outcome rather than a server fault, so this is logged at DEBUG.
      *
      * @param ex the thrown exception
      * @return a {@link ResponseEntity} with HTTP 404 and error message.
      */
     @ExceptionHandler(EmployeeNotFoundException.class)
     public ResponseEntity<String> handleEmployeeNotFoundException(EmployeeNotFoundException ex) {
-        log.error("Error handling Employee Not Found.", ex);
+        log.debug("Employee not found: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    /**
+     * Handles {@link UpstreamUnavailableException} by returning a 503 Service Unavailable response, with a
+     * {@code Retry-After} header when the circuit breaker knows when it will probe the external API again.
+     * Reached only when there is no last known good roster to answer from, or for writes.
+     *
+     * @param ex the thrown exception
+     * @return a {@link ResponseEntity} with HTTP 503 and error message.
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<String> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        log.warn("External API unavailable: {}", ex.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (!ex.getRetryAfter().isZero()) {
+            response.header(
+                    HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())));
+        }
+        return response.body(ex.getMessage());
+    }
+
+    /**
+     * Handles {@link DeadlineExceededException} by returning a 504 Gateway Timeout response. The work for the
+     * request was abandoned because its deadline passed.
+     *
+     * @param ex the thrown exception
+     * @return a {@link ResponseEntity} with HTTP 504 and error message.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<String> handleDeadlineExceededException(DeadlineExceededException ex) {
+        log.warn(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ex.getMessage());
+    }
+
     /**
      * Handles validation exceptions triggered by {@code @Valid} annotation during request body validation.
      * <p>
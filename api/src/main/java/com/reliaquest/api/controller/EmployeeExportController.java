@@ -0,0 +1,227 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.service.IEmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams the whole roster as CSV or NDJSON for bulk consumers such as analytics jobs.
+ * <p>
+ * Employees are written one at a time as the service passes them on, from the live roster snapshot or parsed from
+ * the external API as it arrives, through buffers of {@code BUFFER_SIZE} bytes that are flushed every
+ * {@code FLUSH_EVERY} employees; so heap use does not grow with the roster. Writes block while the client is slow
+ * to read, which in turn pauses reading from the external API. The body is written on an MVC async thread, outside
+ * the request's deadline and concurrency limit; at most {@code employee.export.max-concurrent} exports run at once
+ * and further ones get a 429.
+ * <p>
+ * An export that fails, e.g. because the external API or one of its shards fails part way through the roster, gets
+ * the usual error response as long as nothing was sent yet. Once part of the body was sent its status can no longer
+ * change, so the connection is aborted instead, without ending the body: a client sees a truncated or unterminated
+ * chunked response and an I/O error, never an export that looks complete but lacks employees.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/employees/export")
+public class EmployeeExportController {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int FLUSH_EVERY = 1000;
+    private static final String CSV_HEADER =
+            "id,employee_name,employee_salary,employee_age,employee_title,employee_email\r\n";
+
+    private final IEmployeeService employeeService;
+
+    private final ObjectWriter employeeWriter;
+
+    private final Semaphore exports;
+
+    public EmployeeExportController(
+            IEmployeeService employeeService,
+            ObjectMapper objectMapper,
+            @Value("${employee.export.max-concurrent:2}") int maxConcurrent) {
+        this.employeeService = employeeService;
+        // flushed every FLUSH_EVERY employees rather than after each
+        this.employeeWriter =
+                objectMapper.writerFor(EmployeeDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.exports = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @param format {@value #FORMAT_NDJSON} (default), one JSON employee per line as in {@code GET /v1/employees},
+     *     or {@value #FORMAT_CSV}, with a header row
+     * @param response the response being streamed, to tell whether a failure can still be answered with an error
+     * @return a {@link ResponseEntity} streaming the employees as an attachment; 400 for an unknown format, 429 if
+     *     too many exports are running
+     */
+    @GetMapping()
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = FORMAT_NDJSON) String format, HttpServletResponse response) {
+        boolean csv = FORMAT_CSV.equals(format.toLowerCase(Locale.ROOT));
+        if (!csv && !FORMAT_NDJSON.equals(format.toLowerCase(Locale.ROOT))) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!exports.tryAcquire()) {
+            log.debug("Rejecting export, too many running");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                long start = System.nanoTime();
+                int exported = csv ? writeCsv(out) : writeNdjson(out);
+                log.debug(
+                        "Exported {} employees as {} in {} ms",
+                        exported,
+                        format,
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (UncheckedIOException ex) {
+                // the client went away
+                throw ex.getCause();
+            } catch (RuntimeException ex) {
+                if (response.isCommitted()) {
+                    log.warn("Aborting export after part of it was sent: {}", ex.getMessage());
+                    throw new ExportAbortedException();
+                }
+                throw ex;
+            } finally {
+                exports.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename("employees." + (csv ? FORMAT_CSV : FORMAT_NDJSON))
+                                .build()
+                                .toString())
+                .body(body);
+    }
+
+    /**
+     * Rethrows the failure of an export whose response is committed, which Spring then leaves to the container
+     * rather than writing an error body after the employees sent: the container closes the connection at once.
+     */
+    @ExceptionHandler
+    public void handleExportAborted(ExportAbortedException ex) {
+        throw ex;
+    }
+
+    // neither closes the response stream, which is left to Spring
+    private int writeNdjson(OutputStream out) throws IOException {
+        JsonGenerator generator = employeeWriter.createGenerator(out);
+        // one employee per line instead of the default space between root values
+        generator.setRootValueSeparator(null);
+        int[] lines = {0};
+        int exported = employeeService.exportEmployees(employee -> {
+            try {
+                employeeWriter.writeValue(generator, employee);
+                generator.writeRaw('\n');
+                flushEvery(++lines[0], generator::flush);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        generator.flush();
+        return exported;
+    }
+
+    private int writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        int[] rows = {0};
+        int exported = employeeService.exportEmployees(employee -> {
+            try {
+                writeCsvRow(writer, employee);
+                flushEvery(++rows[0], writer::flush);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.flush();
+        return exported;
+    }
+
+    private static void writeCsvRow(Writer writer, EmployeeDTO employee) throws IOException {
+        writeCsvField(writer, employee.getId());
+        writer.write(',');
+        writeCsvField(writer, employee.getEmployeeName());
+        writer.write(',');
+        writeCsvField(writer, employee.getEmployeeSalary());
+        writer.write(',');
+        writeCsvField(writer, employee.getEmployeeAge());
+        writer.write(',');
+        writeCsvField(writer, employee.getEmployeeTitle());
+        writer.write(',');
+        writeCsvField(writer, employee.getEmployeeEmail());
+        writer.write("\r\n");
+    }
+
+    /**
+     * Writes a field as RFC 4180 has it: quoted if it contains a comma, quote or line break, with quotes doubled;
+     * null as an empty field.
+     */
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Carries neither the failure nor its message, which Spring would take for a client gone away if it mentions a
+     * connection reset, as an upstream one does, and then end the response normally.
+     */
+    static class ExportAbortedException extends RuntimeException {
+        ExportAbortedException() {
+            super("Export failed after part of it was sent");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Flush {
+        void flush() throws IOException;
+    }
+
+    private static void flushEvery(int written, Flush flush) throws IOException {
+        if (written % FLUSH_EVERY == 0) {
+            flush.flush();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.constants.ApiConstants;
+import com.reliaquest.api.roster.RosterStaleness;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@value ApiConstants#ROSTER_STALENESS_HEADER} header, the age in seconds of the roster snapshot, to
+ * responses that were served from a last known good snapshot while the external API was unavailable.
+ */
+@ControllerAdvice
+public class StaleRosterResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        Instant loadedAt = RosterStaleness.servedFromSnapshotLoadedAt();
+        if (loadedAt != null) {
+            long ageSeconds =
+                    Math.max(0, Duration.between(loadedAt, Instant.now()).toSeconds());
+            response.getHeaders().set(ApiConstants.ROSTER_STALENESS_HEADER, Long.toString(ageSeconds));
+        }
+        return body;
+    }
+}
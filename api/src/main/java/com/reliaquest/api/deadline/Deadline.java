@@ -0,0 +1,93 @@
+package com.reliaquest.api.deadline;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The point in time by which the current inbound request must be answered.
+ * <p>
+ * The deadline of the request being handled is bound to its thread by the {@code DeadlineFilter}; code that hands
+ * work to other threads passes it along with {@link #callWith(Deadline, Supplier)}. Upstream calls size their
+ * timeouts, retries and backoff from {@link #remaining()}, and work whose deadline has passed is abandoned with a
+ * {@link DeadlineExceededException}. Threads without a bound deadline, e.g. background jobs, are not limited.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @return the deadline bound to the current thread, or null if there is none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a deadline to the current thread.
+     *
+     * @param deadline the deadline to bind; null to unbind
+     * @return the previously bound deadline, to restore with another call to this method
+     */
+    public static Deadline bind(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+
+    /**
+     * Runs {@code call} with {@code deadline} bound to the current thread, restoring the previous binding after.
+     */
+    public static <T> T callWith(Deadline deadline, Supplier<T> call) {
+        Deadline previous = bind(deadline);
+        try {
+            return call.get();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    /**
+     * Throws if the deadline bound to the current thread, if any, has passed.
+     *
+     * @param operation the work about to start, for the exception message
+     */
+    public static void checkCurrent(String operation) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    /**
+     * @return the later of two deadlines, where null (no deadline) is later than any.
+     */
+    public static Deadline latest(Deadline first, Deadline second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        return first.expiresAtNanos - second.expiresAtNanos >= 0 ? first : second;
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
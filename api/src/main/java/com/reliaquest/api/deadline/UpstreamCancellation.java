@@ -0,0 +1,107 @@
+package com.reliaquest.api.deadline;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Lets one thread abort the upstream request another thread has in flight, e.g. the losing attempt of a hedged read.
+ * <p>
+ * Work run with {@link #callWith(UpstreamCancellation, Supplier)} has the cancellation bound to its thread, and the
+ * request factories {@link #register(Runnable) register} how to abort each request they send: closing its
+ * connection, or interrupting the thread waiting for it. {@link #cancel()} runs that action, or makes requests sent
+ * afterwards fail straight away. Once the work has returned, cancelling it no longer affects its thread.
+ * <p>
+ * Cancellations nest: work bound to a cancellation inside work bound to another is cancelled with the outer work,
+ * e.g. the attempt of a hedged read inside the call to one shard of a scatter.
+ */
+public final class UpstreamCancellation {
+
+    private static final ThreadLocal<UpstreamCancellation> CURRENT = new ThreadLocal<>();
+
+    private Runnable abort;
+    private boolean cancelled;
+    private boolean interrupted;
+    private boolean finished;
+
+    /**
+     * Runs {@code call} with {@code cancellation} bound to the current thread. An interrupt raised by cancelling it
+     * is cleared before returning, so it cannot leak into unrelated work on a pooled thread.
+     *
+     * @throws CancellationException if the enclosing work was already cancelled
+     */
+    public static <T> T callWith(UpstreamCancellation cancellation, Supplier<T> call) {
+        UpstreamCancellation previous = CURRENT.get();
+        if (previous != null) {
+            previous.onCancel(cancellation::cancel);
+        }
+        CURRENT.set(cancellation);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.set(previous);
+            if (cancellation.finish()) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Registers how to abort the upstream request the current thread is about to send, replacing the action of
+     * its previous one. No-op on threads without a bound cancellation.
+     *
+     * @throws CancellationException if the work was already cancelled, so the request is not sent
+     */
+    public static void register(Runnable abort) {
+        UpstreamCancellation current = CURRENT.get();
+        if (current != null) {
+            current.onCancel(abort);
+        }
+    }
+
+    /**
+     * Registers interrupting the current thread as the abort action, for clients that stop waiting on interrupt.
+     */
+    public static void registerInterrupt() {
+        UpstreamCancellation current = CURRENT.get();
+        if (current != null) {
+            Thread thread = Thread.currentThread();
+            current.onCancel(() -> {
+                current.interrupted = true;
+                thread.interrupt();
+            });
+        }
+    }
+
+    public synchronized void cancel() {
+        if (cancelled || finished) {
+            return;
+        }
+        cancelled = true;
+        if (abort != null) {
+            abort.run();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private synchronized void onCancel(Runnable action) {
+        if (finished) {
+            return;
+        }
+        if (cancelled) {
+            throw new CancellationException("Upstream request cancelled");
+        }
+        abort = action;
+    }
+
+    /**
+     * @return whether the bound thread was interrupted to cancel the work
+     */
+    private synchronized boolean finish() {
+        finished = true;
+        abort = null;
+        return interrupted;
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Thrown when the deadline of the current request passes before its work is done, so the work is abandoned.
+ * Created without a stack trace: it is an expected outcome under load and the operation name says where.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String operation) {
+        super("Deadline exceeded before " + operation + " completed", null, false, false);
+    }
+}
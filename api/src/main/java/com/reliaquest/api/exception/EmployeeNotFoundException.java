@@ -1,7 +1,11 @@
 package com.reliaquest.api.exception;
 
+/**
+ * Thrown when an employee id is unknown. This is an expected, frequent outcome (stale links, scanners),
+ * so the exception is created without a stack trace and without suppression to keep the not-found path cheap.
+ */
 public class EmployeeNotFoundException extends RuntimeException {
     public EmployeeNotFoundException(String id) {
-        super("Employee not found for ID: " + id);
+        super("Employee not found for ID: " + id, null, false, false);
     }
 }
@@ -0,0 +1,32 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Thrown when the external API cannot be used: it failed (unreachable, 5xx, rate limited), or the circuit
+ * breaker is open and the call was not attempted. The fail-fast variant has no stack trace, since it is thrown
+ * for every call while the circuit is open.
+ */
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+
+    /**
+     * When the caller may retry; zero if unknown.
+     */
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = Duration.ZERO;
+    }
+
+    private UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public static UpstreamUnavailableException circuitOpen(Duration retryAfter) {
+        return new UpstreamUnavailableException("External API circuit is open", retryAfter);
+    }
+}
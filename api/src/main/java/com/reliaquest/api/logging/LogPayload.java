@@ -0,0 +1,60 @@
+package com.reliaquest.api.logging;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Wraps payloads passed to log calls so that at most {@value #MAX_CHARS} characters of them are logged.
+ * <p>
+ * The payload is only rendered if the line is actually logged, and collections are rendered element by element
+ * until the cap is reached, so a large roster is never turned into one large string just to be cut.
+ */
+public final class LogPayload {
+
+    public static final int MAX_CHARS = 256;
+
+    private LogPayload() {}
+
+    /**
+     * @return an argument for a parameterised log call that renders {@code payload} cut to {@value #MAX_CHARS}
+     *         characters.
+     */
+    public static Object capped(Object payload) {
+        return new Capped(payload);
+    }
+
+    private record Capped(Object payload) {
+
+        @Override
+        public String toString() {
+            if (payload instanceof Collection<?> collection) {
+                return render(collection);
+            }
+            String rendered = String.valueOf(payload);
+            return rendered.length() <= MAX_CHARS
+                    ? rendered
+                    : rendered.substring(0, MAX_CHARS) + "... (" + rendered.length() + " chars)";
+        }
+
+        private static String render(Collection<?> collection) {
+            StringBuilder rendered = new StringBuilder("[");
+            Iterator<?> elements = collection.iterator();
+            int shown = 0;
+            while (elements.hasNext() && rendered.length() < MAX_CHARS) {
+                if (shown > 0) {
+                    rendered.append(", ");
+                }
+                rendered.append(elements.next());
+                shown++;
+            }
+            if (rendered.length() > MAX_CHARS) {
+                rendered.setLength(MAX_CHARS);
+                rendered.append("...");
+            }
+            if (shown < collection.size()) {
+                rendered.append(", ... ").append(collection.size() - shown).append(" more");
+            }
+            return rendered.append(']').toString();
+        }
+    }
+}
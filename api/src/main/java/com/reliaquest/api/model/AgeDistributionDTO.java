@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import java.time.Instant;
+import java.util.SortedMap;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Age distribution of the roster. Ages are counted exactly.
+ */
+@Builder
+@AllArgsConstructor
+@Getter
+public class AgeDistributionDTO {
+    private long count;
+    private double mean;
+    private int p50;
+    private int p90;
+    private int p99;
+    private SortedMap<Integer, Long> countsByAge;
+
+    // when the roster these figures describe was fetched, and whether it has been kept current since
+    private Instant asOf;
+    private boolean live;
+}
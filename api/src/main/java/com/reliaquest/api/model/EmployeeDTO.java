@@ -1,15 +1,37 @@
 package com.reliaquest.api.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * An employee as exchanged with the external API and this API's clients.
+ * <p>
+ * Read and written by the hand-written {@link Serializer} and {@link Deserializer} rather than Jackson's
+ * reflection-based bean (de)serializers, as every roster response carries many of them. They produce the same JSON
+ * as the {@link JsonProperty} names below, which stay as the reference representation.
+ */
 @AllArgsConstructor
 @Getter
 @Setter
 @Builder
+@JsonSerialize(using = EmployeeDTO.Serializer.class)
+@JsonDeserialize(using = EmployeeDTO.Deserializer.class)
 public class EmployeeDTO {
     @JsonProperty("id")
     private String id;
@@ -28,4 +50,120 @@ public class EmployeeDTO {
 
     @JsonProperty("employee_email")
     private String employeeEmail;
+
+    /**
+     * Writes the properties in declaration order, nulls included, as the bean serializer does.
+     */
+    static class Serializer extends StdSerializer<EmployeeDTO> {
+
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString NAME = new SerializedString("employee_name");
+        private static final SerializableString SALARY = new SerializedString("employee_salary");
+        private static final SerializableString AGE = new SerializedString("employee_age");
+        private static final SerializableString TITLE = new SerializedString("employee_title");
+        private static final SerializableString EMAIL = new SerializedString("employee_email");
+
+        Serializer() {
+            super(EmployeeDTO.class);
+        }
+
+        @Override
+        public void serialize(EmployeeDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            writeString(gen, value.getId());
+            gen.writeFieldName(NAME);
+            writeString(gen, value.getEmployeeName());
+            gen.writeFieldName(SALARY);
+            writeInteger(gen, value.getEmployeeSalary());
+            gen.writeFieldName(AGE);
+            writeInteger(gen, value.getEmployeeAge());
+            gen.writeFieldName(TITLE);
+            writeString(gen, value.getEmployeeTitle());
+            gen.writeFieldName(EMAIL);
+            writeString(gen, value.getEmployeeEmail());
+            gen.writeEndObject();
+        }
+
+        private static void writeString(JsonGenerator gen, String value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value);
+            }
+        }
+
+        private static void writeInteger(JsonGenerator gen, Integer value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.intValue());
+            }
+        }
+    }
+
+    /**
+     * Reads the properties in any order. Values of other token types are coerced by Jackson's standard scalar
+     * deserializers, and unknown properties are handled as configured on the mapper, so input is accepted exactly
+     * as by the bean deserializer, with one exception: an id sent as the 16 raw bytes Jackson writes UUIDs as in
+     * binary formats such as Smile is read as that UUID, where the bean deserializer would return the bytes in
+     * base64 and lookups by that id would then miss.
+     */
+    static class Deserializer extends StdDeserializer<EmployeeDTO> {
+
+        Deserializer() {
+            super(EmployeeDTO.class);
+        }
+
+        @Override
+        public EmployeeDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            }
+            EmployeeDTOBuilder employee = EmployeeDTO.builder();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "id" -> employee.id(readId(p, ctxt));
+                    case "employee_name" -> employee.employeeName(readString(p, ctxt));
+                    case "employee_salary" -> employee.employeeSalary(readInteger(p, ctxt));
+                    case "employee_age" -> employee.employeeAge(readInteger(p, ctxt));
+                    case "employee_title" -> employee.employeeTitle(readString(p, ctxt));
+                    case "employee_email" -> employee.employeeEmail(readString(p, ctxt));
+                    default -> ctxt.handleUnknownProperty(p, this, EmployeeDTO.class, name);
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                return (EmployeeDTO) ctxt.handleUnexpectedToken(EmployeeDTO.class, p);
+            }
+            return employee.build();
+        }
+
+        private static String readId(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT
+                    && p.getEmbeddedObject() instanceof byte[] bytes
+                    && bytes.length == 16) {
+                return ctxt.readValue(p, UUID.class).toString();
+            }
+            return readString(p, ctxt);
+        }
+
+        private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return switch (p.currentToken()) {
+                case VALUE_STRING -> p.getText();
+                case VALUE_NULL -> null;
+                default -> ctxt.readValue(p, String.class);
+            };
+        }
+
+        private static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return switch (p.currentToken()) {
+                case VALUE_NUMBER_INT -> p.getIntValue();
+                case VALUE_NULL -> null;
+                default -> ctxt.readValue(p, Integer.class);
+            };
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+/**
+ * A roster change received from the external API's event stream.
+ *
+ * @param id the event id, used to resume the stream; null for events without one (e.g. {@code reset})
+ * @param type the event name: {@code created}, {@code deleted} or {@code reset}
+ * @param employee the created or deleted employee; null for {@code reset}
+ */
+public record EmployeeEventDTO(Long id, String type, EmployeeDTO employee) {
+
+    public static final String CREATED = "created";
+    public static final String DELETED = "deleted";
+    public static final String RESET = "reset";
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class HistogramBinDTO {
+    // inclusive
+    private int from;
+
+    // exclusive
+    private int to;
+
+    private long count;
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@Getter
+@Setter
+@NoArgsConstructor
+public class IntegerResponseDTO {
+    private Integer data;
+    private String status;
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.model;
+
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LookupEmployeesRequestDTO {
+
+    private Set<String> ids;
+}
@@ -1,5 +1,6 @@
 package com.reliaquest.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.*;
 
@@ -8,7 +9,18 @@ import lombok.*;
 @Getter
 @Setter
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ResponseWrapperDTO {
+    public static final String STATUS_ERROR = "Failed to process request.";
+
     private List<EmployeeDTO> data;
     private String status;
+    private String error;
+
+    /**
+     * @return the body of an error response, in the same shape as the external API's error responses
+     */
+    public static ResponseWrapperDTO error(String error) {
+        return ResponseWrapperDTO.builder().status(STATUS_ERROR).error(error).build();
+    }
 }
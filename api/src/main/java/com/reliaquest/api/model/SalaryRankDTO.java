@@ -0,0 +1,21 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Where an employee's salary ranks in the roster. Employees with equal salaries share a rank, so rank 1 is every
+ * employee earning the highest salary.
+ */
+@Builder
+@AllArgsConstructor
+@Getter
+public class SalaryRankDTO {
+    private String id;
+    private int salary;
+    private int rank;
+
+    // number of employees with a salary, i.e. the lowest possible rank
+    private int outOf;
+}
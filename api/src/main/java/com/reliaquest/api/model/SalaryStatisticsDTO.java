@@ -0,0 +1,27 @@
+package com.reliaquest.api.model;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Salary summary of the roster. Percentiles, minimum and maximum are accurate to within 0.4%; count and mean are
+ * exact.
+ */
+@Builder
+@AllArgsConstructor
+@Getter
+public class SalaryStatisticsDTO {
+    private long count;
+    private int min;
+    private int max;
+    private double mean;
+    private int p50;
+    private int p90;
+    private int p99;
+
+    // when the roster these figures describe was fetched, and whether it has been kept current since
+    private Instant asOf;
+    private boolean live;
+}
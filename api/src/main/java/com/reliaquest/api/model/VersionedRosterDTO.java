@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VersionedRosterDTO {
+    private List<EmployeeDTO> employees;
+
+    // id of the last roster event reflected in the employees; null if the server does not report it
+    private Long version;
+}
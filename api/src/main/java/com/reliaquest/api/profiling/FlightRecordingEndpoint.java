@@ -0,0 +1,203 @@
+package com.reliaquest.api.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Takes bounded, on-demand JDK Flight Recorder recordings at {@code /actuator/flightrecording}, including the
+ * {@link UpstreamCallEvent}, {@link ServiceOperationEvent} and {@link RosterAggregationEvent} events.
+ * <p>
+ * A {@code POST} starts a recording with the given JFR settings ({@code profile} by default) for the given duration,
+ * capped at {@code employee.profiling.recording.max-duration}; only one runs at a time. It stops by itself, or early
+ * on a {@code DELETE}, and is then written to a temporary file that a {@code GET} of its id downloads. The last
+ * {@code employee.profiling.recording.kept} recordings are kept; older files are deleted, and all of them, with
+ * their directory, on shutdown.
+ * <p>
+ * Recordings expose thread dumps, system properties and environment variables, so the endpoint is not exposed over
+ * HTTP by default. Add it to {@code management.endpoints.web.exposure.include} only together with a
+ * {@code management.server.port} that is not reachable from outside.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint implements DisposableBean {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final int kept;
+    // recordings started here, oldest first
+    private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+    private Path directory;
+
+    public FlightRecordingEndpoint(
+            @Value("${employee.profiling.recording.default-duration:PT60S}") Duration defaultDuration,
+            @Value("${employee.profiling.recording.max-duration:PT5M}") Duration maxDuration,
+            @Value("${employee.profiling.recording.max-size:100MB}") DataSize maxSize,
+            @Value("${employee.profiling.recording.kept:3}") int kept) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.kept = Math.max(kept, 1);
+    }
+
+    @ReadOperation
+    public synchronized List<Map<String, Object>> recordings() {
+        List<Map<String, Object>> body = new ArrayList<>();
+        recordings.values().forEach(recording -> body.add(describe(recording)));
+        return body;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(
+            @Nullable Duration duration, @Nullable String settings) {
+        if (recordings.values().stream().anyMatch(FlightRecordingEndpoint::inProgress)) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "profile");
+        } catch (IOException | ParseException ex) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration length = duration != null && !duration.isNegative() && !duration.isZero() ? duration : defaultDuration;
+        if (length.compareTo(maxDuration) > 0) {
+            length = maxDuration;
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("employee-api-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDuration(length);
+        try {
+            recording.setDestination(directory().resolve(recording.getName() + ".jfr"));
+        } catch (IOException ex) {
+            recording.close();
+            throw new UncheckedIOException(ex);
+        }
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info(
+                "Started flight recording {} with '{}' settings for {}",
+                recording.getId(),
+                configuration.getName(),
+                length);
+        evictOldRecordings();
+        return new WebEndpointResponse<>(describe(recording));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (inProgress(recording)) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        Path file = recording.getDestination();
+        if (file == null || !Files.exists(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    /**
+     * Stops a running recording early, writing what it has recorded so far.
+     */
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (inProgress(recording)) {
+            recording.stop();
+            log.info("Stopped flight recording {}", id);
+        }
+        return new WebEndpointResponse<>(describe(recording));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        recordings.values().forEach(recording -> {
+            recording.close();
+            delete(recording.getDestination());
+        });
+        recordings.clear();
+        delete(directory);
+        directory = null;
+    }
+
+    private static boolean inProgress(Recording recording) {
+        RecordingState state = recording.getState();
+        return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+    }
+
+    private void evictOldRecordings() {
+        Iterator<Recording> oldest = recordings.values().iterator();
+        for (int excess = recordings.size() - kept; excess > 0 && oldest.hasNext(); excess--) {
+            Recording recording = oldest.next();
+            oldest.remove();
+            recording.close();
+            delete(recording.getDestination());
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            log.warn("Could not delete flight recording {}: {}", file, ex.toString());
+        }
+    }
+
+    private Path directory() throws IOException {
+        if (directory == null) {
+            directory = Files.createTempDirectory("flight-recordings");
+        }
+        return directory;
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", recording.getId());
+        body.put("state", recording.getState());
+        body.put("startTime", recording.getStartTime());
+        body.put("duration", recording.getDuration());
+        body.put("stopTime", recording.getStopTime());
+        body.put("size", recording.getSize());
+        return body;
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event for one aggregation over a local roster, sequential or in parallel.
+ */
+@Name("com.reliaquest.api.RosterAggregation")
+@Label("Roster Aggregation")
+@Category({"Employee API", "Service"})
+@Description("Highest salary, top earners or name search over a local roster")
+@StackTrace(false)
+public final class RosterAggregationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Roster Size")
+    int rosterSize;
+
+    @Label("Parallelism")
+    @Description("The threads the roster was split across; 1 if it was aggregated sequentially")
+    int parallelism;
+
+    public RosterAggregationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Ends the event and commits it, unless it is below the recording's threshold.
+     */
+    public void complete(int rosterSize, int parallelism) {
+        end();
+        if (shouldCommit()) {
+            this.rosterSize = rosterSize;
+            this.parallelism = parallelism;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event for one roster-wide operation of the employee service, including any upstream calls
+ * and aggregation it made, which are recorded as {@link UpstreamCallEvent}s and {@link RosterAggregationEvent}s on
+ * the same thread.
+ * <p>
+ * Created and begun at the start of an operation and completed where it returns. While no recording is running
+ * both are no-ops that the JIT can remove along with the allocation, so the operation pays next to nothing.
+ */
+@Name("com.reliaquest.api.ServiceOperation")
+@Label("Service Operation")
+@Category({"Employee API", "Service"})
+@Description("A roster-wide operation of the employee service")
+@StackTrace(false)
+public final class ServiceOperationEvent extends jdk.jfr.Event {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String UPSTREAM = "upstream";
+    public static final String LAST_KNOWN_GOOD = "lastKnownGood";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Source")
+    @Description("Where the roster came from: snapshot, upstream or lastKnownGood")
+    String source;
+
+    @Label("Roster Size")
+    @Description("The employees the operation went through")
+    int rosterSize;
+
+    @Label("Results")
+    int results;
+
+    public ServiceOperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Ends the event and commits it, unless it is below the recording's threshold.
+     */
+    public void complete(String source, int rosterSize, int results) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.rosterSize = rosterSize;
+            this.results = results;
+            commit();
+        }
+    }
+}
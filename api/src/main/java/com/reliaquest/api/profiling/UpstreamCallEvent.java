@@ -0,0 +1,80 @@
+package com.reliaquest.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event for one call to the external API, from sending the request until the response was
+ * closed. {@code bodyRead} is the part after the response headers arrived, i.e. reading and parsing the body.
+ */
+@Name("com.reliaquest.api.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Employee API", "Upstream"})
+@Description("A call to the external employee API, until its response was read and parsed")
+@StackTrace(false)
+public final class UpstreamCallEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(UpstreamCallEvent.class);
+
+    @Label("Method")
+    String method;
+
+    @Label("URI Template")
+    @Description("The request path with employee ids replaced by {id}")
+    String uriTemplate;
+
+    @Label("Fields")
+    String fields;
+
+    @Label("Status")
+    @Description("The response status, 0 if no response was received")
+    int status;
+
+    @Label("Format")
+    String format;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Body Read")
+    @Timespan
+    long bodyRead;
+
+    /**
+     * @return a begun event, or null if no recording is running that records it, so that calls cost nothing more
+     *         than this check when nobody is recording.
+     */
+    public static UpstreamCallEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it, unless it is below the recording's threshold.
+     */
+    public void complete(
+            String method, String uriTemplate, String fields, int status, String format, long bytes, long bodyRead) {
+        end();
+        if (shouldCommit()) {
+            this.method = method;
+            this.uriTemplate = uriTemplate;
+            this.fields = fields;
+            this.status = status;
+            this.format = format;
+            this.bytes = bytes;
+            this.bodyRead = bodyRead;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.profiling.RosterAggregationEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the roster-wide aggregations of the employee service (highest salary, top earners and name search) over
+ * local rosters, splitting large ones across the cores of a dedicated {@link ForkJoinPool}.
+ * <p>
+ * Rosters smaller than {@code employee.aggregation.parallel-threshold} are aggregated sequentially on the calling
+ * thread. Larger ones are split into contiguous segments that are aggregated in parallel and combined in roster
+ * order, so results are identical to the sequential ones: matches keep the roster order and top earners with
+ * equal salaries keep the order of a stable sort. The pool is not the common pool, so aggregations neither
+ * compete with nor are starved by other users of it, and its size is {@code employee.aggregation.parallelism}
+ * (all cores by default).
+ */
+@Slf4j
+@Component
+public class RosterAggregator implements DisposableBean {
+
+    // segments per worker, so that workers finishing early can steal the remaining ones
+    private static final int SEGMENTS_PER_WORKER = 4;
+    private static final int MIN_SEGMENT_SIZE = 1024;
+    // top counts up to this are selected by insertion rather than by sorting the segment
+    private static final int SELECTION_MAX_COUNT = 64;
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    /**
+     * @param parallelism worker threads; 0 for one per available processor, 1 to always aggregate sequentially
+     * @param parallelThreshold the roster size from which aggregations run in parallel
+     */
+    public RosterAggregator(
+            @Value("${employee.aggregation.parallelism:0}") int parallelism,
+            @Value("${employee.aggregation.parallel-threshold:100000}") int parallelThreshold) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = workers > 1 ? newPool(workers) : null;
+        this.parallelThreshold = Math.max(parallelThreshold, MIN_SEGMENT_SIZE);
+        if (pool != null) {
+            log.info("Aggregating rosters of {} or more employees on {} threads", this.parallelThreshold, workers);
+        }
+    }
+
+    /**
+     * @return the highest salary of the employees, or 0 if none has a salary.
+     */
+    public int highestSalary(List<EmployeeDTO> employees) {
+        Integer highest =
+                aggregate("highestSalary", employees, RosterAggregator::highestSalary, RosterAggregator::higher);
+        return highest != null ? highest : 0;
+    }
+
+    /**
+     * @return the employees matching {@code filter}, in roster order.
+     */
+    public List<EmployeeDTO> filter(List<EmployeeDTO> employees, Predicate<EmployeeDTO> filter) {
+        return aggregate(
+                "filter",
+                employees,
+                (roster, from, to) -> matching(roster, from, to, filter),
+                RosterAggregator::concat);
+    }
+
+    /**
+     * @return up to {@code count} employees with a salary, highest first; as by a stable sort, employees with
+     *         equal salaries keep their roster order.
+     */
+    public List<EmployeeDTO> topBySalary(List<EmployeeDTO> employees, int count) {
+        Comparator<EmployeeDTO> bySalaryDesc = (a, b) -> b.getEmployeeSalary().compareTo(a.getEmployeeSalary());
+        return aggregate(
+                "topBySalary",
+                employees,
+                (roster, from, to) -> top(roster, from, to, count, bySalaryDesc),
+                (left, right) -> merge(left, right, count, bySalaryDesc));
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SegmentFunction<R> {
+        R apply(List<EmployeeDTO> employees, int from, int to);
+    }
+
+    private <R> R aggregate(
+            String operation, List<EmployeeDTO> employees, SegmentFunction<R> segment, BinaryOperator<R> combine) {
+        RosterAggregationEvent event = new RosterAggregationEvent(operation);
+        event.begin();
+        int size = employees.size();
+        if (pool == null || size < parallelThreshold || !(employees instanceof RandomAccess)) {
+            R result = segment.apply(employees, 0, size);
+            event.complete(size, 1);
+            return result;
+        }
+        int segmentSize = Math.max(MIN_SEGMENT_SIZE, size / (pool.getParallelism() * SEGMENTS_PER_WORKER));
+        R result = pool.invoke(new Segment<>(employees, 0, size, segmentSize, segment, combine));
+        event.complete(size, pool.getParallelism());
+        return result;
+    }
+
+    /**
+     * Aggregates {@code employees[from, to)}, splitting it in halves down to {@code segmentSize}; the left half is
+     * always the left operand of {@code combine}.
+     */
+    private static final class Segment<R> extends RecursiveTask<R> {
+        private final List<EmployeeDTO> employees;
+        private final int from;
+        private final int to;
+        private final int segmentSize;
+        private final SegmentFunction<R> segment;
+        private final BinaryOperator<R> combine;
+
+        Segment(
+                List<EmployeeDTO> employees,
+                int from,
+                int to,
+                int segmentSize,
+                SegmentFunction<R> segment,
+                BinaryOperator<R> combine) {
+            this.employees = employees;
+            this.from = from;
+            this.to = to;
+            this.segmentSize = segmentSize;
+            this.segment = segment;
+            this.combine = combine;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= segmentSize) {
+                return segment.apply(employees, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Segment<R> left = new Segment<>(employees, from, middle, segmentSize, segment, combine);
+            left.fork();
+            R right = new Segment<>(employees, middle, to, segmentSize, segment, combine).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+
+    private static Integer highestSalary(List<EmployeeDTO> employees, int from, int to) {
+        Integer highest = null;
+        for (int i = from; i < to; i++) {
+            highest = higher(highest, employees.get(i).getEmployeeSalary());
+        }
+        return highest;
+    }
+
+    private static Integer higher(Integer a, Integer b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a >= b ? a : b;
+    }
+
+    private static List<EmployeeDTO> matching(
+            List<EmployeeDTO> employees, int from, int to, Predicate<EmployeeDTO> filter) {
+        List<EmployeeDTO> matches = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            EmployeeDTO employee = employees.get(i);
+            if (filter.test(employee)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    private static List<EmployeeDTO> concat(List<EmployeeDTO> left, List<EmployeeDTO> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    /**
+     * @return the top {@code count} employees with a salary of {@code employees[from, to)}, in {@code order} and
+     *         otherwise in roster order. Small counts are selected in one pass, keeping only the current top;
+     *         larger ones by a stable sort of the whole segment.
+     */
+    private static List<EmployeeDTO> top(
+            List<EmployeeDTO> employees, int from, int to, int count, Comparator<EmployeeDTO> order) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+        List<EmployeeDTO> top = new ArrayList<>(Math.min(count, to - from));
+        if (count > SELECTION_MAX_COUNT) {
+            for (int i = from; i < to; i++) {
+                EmployeeDTO employee = employees.get(i);
+                if (employee.getEmployeeSalary() != null) {
+                    top.add(employee);
+                }
+            }
+            // List.sort is stable
+            top.sort(order);
+            return top.size() > count ? new ArrayList<>(top.subList(0, count)) : top;
+        }
+        for (int i = from; i < to; i++) {
+            EmployeeDTO employee = employees.get(i);
+            if (employee.getEmployeeSalary() == null
+                    || (top.size() == count && order.compare(employee, top.get(count - 1)) >= 0)) {
+                continue;
+            }
+            // after any equal ones, which came first
+            int position = top.size();
+            while (position > 0 && order.compare(employee, top.get(position - 1)) < 0) {
+                position--;
+            }
+            top.add(position, employee);
+            if (top.size() > count) {
+                top.remove(count);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Merges two sorted top lists into the top {@code count}, taking from {@code left} on ties so that the result is
+     * what a stable sort of both segments in roster order would give.
+     */
+    private static List<EmployeeDTO> merge(
+            List<EmployeeDTO> left, List<EmployeeDTO> right, int count, Comparator<EmployeeDTO> order) {
+        int size = Math.min(count, left.size() + right.size());
+        List<EmployeeDTO> merged = new ArrayList<>(Math.max(size, 0));
+        int l = 0;
+        int r = 0;
+        while (merged.size() < size) {
+            if (r == right.size() || (l < left.size() && order.compare(left.get(l), right.get(r)) <= 0)) {
+                merged.add(left.get(l++));
+            } else {
+                merged.add(right.get(r++));
+            }
+        }
+        return merged;
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        return new ForkJoinPool(
+                parallelism,
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("roster-aggregation-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false);
+    }
+}
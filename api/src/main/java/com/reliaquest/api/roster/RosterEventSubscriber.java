@@ -0,0 +1,142 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.client.EmployeeEventStreamClient;
+import com.reliaquest.api.client.IExternalApiClient;
+import com.reliaquest.api.model.EmployeeEventDTO;
+import com.reliaquest.api.model.VersionedRosterDTO;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link RosterSnapshotHolder} in sync with the external API by subscribing to its roster event stream.
+ * <p>
+ * On start the roster is loaded once together with its version, then the event stream is followed from that
+ * version and every create and delete is applied to the snapshot. While the stream is connected the snapshot is
+ * marked live and reads are served locally. When the stream breaks the snapshot stops being live, and the
+ * subscriber reconnects with backoff, resuming from the last applied event; if the server can no longer replay
+ * that far it sends {@code reset} and the roster is reloaded.
+ * <p>
+ * A roster that comes back without a version, as from an older server, cannot be lined up with the stream: it is
+ * not applied and the load is retried with backoff, so the snapshot never goes live on a roster it cannot follow.
+ * <p>
+ * Disabled by default; enable with {@code employee.snapshot.events.enabled}.
+ */
+@Slf4j
+@Component
+public class RosterEventSubscriber implements SmartLifecycle {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final IExternalApiClient externalApiClient;
+    private final EmployeeEventStreamClient eventStreamClient;
+    private final RosterSnapshotHolder snapshotHolder;
+    private final boolean enabled;
+    private final Duration initialBackoff;
+
+    private volatile Thread worker;
+    private volatile Long lastEventId;
+    private volatile boolean loaded;
+
+    public RosterEventSubscriber(
+            IExternalApiClient externalApiClient,
+            EmployeeEventStreamClient eventStreamClient,
+            RosterSnapshotHolder snapshotHolder,
+            @Value("${employee.snapshot.events.enabled:false}") boolean enabled,
+            @Value("${employee.snapshot.events.reconnect-backoff:PT1S}") Duration initialBackoff) {
+        this.externalApiClient = externalApiClient;
+        this.eventStreamClient = eventStreamClient;
+        this.snapshotHolder = snapshotHolder;
+        this.enabled = enabled;
+        this.initialBackoff = initialBackoff;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "roster-event-subscriber");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        snapshotHolder.setLive(false);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void run() {
+        Duration backoff = initialBackoff;
+        while (worker == Thread.currentThread()) {
+            try {
+                if (!loaded) {
+                    reload();
+                }
+                eventStreamClient.stream(lastEventId, () -> snapshotHolder.setLive(true), this::apply);
+                backoff = initialBackoff;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.warn("Roster event stream failed, retrying in {}: {}", backoff, ex.getMessage());
+            } finally {
+                snapshotHolder.setLive(false);
+            }
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        }
+    }
+
+    private void reload() {
+        loaded = false;
+        VersionedRosterDTO roster = externalApiClient.getVersionedRoster();
+        if (roster.getVersion() == null) {
+            throw new IllegalStateException("External API did not report a roster version");
+        }
+        snapshotHolder.replace(RosterSnapshot.of(roster.getEmployees(), roster.getVersion()));
+        lastEventId = roster.getVersion();
+        loaded = true;
+        log.info(
+                "Loaded roster snapshot of {} employees at version {}",
+                roster.getEmployees().size(),
+                lastEventId);
+    }
+
+    private void apply(EmployeeEventDTO event) {
+        switch (event.type()) {
+            case EmployeeEventDTO.CREATED -> snapshotHolder.applyCreated(event.employee(), event.id());
+            case EmployeeEventDTO.DELETED -> snapshotHolder.applyDeleted(
+                    event.employee() == null ? null : event.employee().getId(), event.id());
+            case EmployeeEventDTO.RESET -> {
+                log.info("Event stream cannot resume from {}, reloading roster", lastEventId);
+                reload();
+                return;
+            }
+            default -> {
+                return;
+            }
+        }
+        if (event.id() != null) {
+            lastEventId = event.id();
+        }
+    }
+}
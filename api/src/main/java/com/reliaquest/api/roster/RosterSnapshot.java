@@ -0,0 +1,106 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the roster with an id index.
+ * <p>
+ * Changes produce a new snapshot (copy-on-write), so readers can use a snapshot without locking while events
+ * are being applied.
+ *
+ * @param employees every employee, in the order the external API returned them
+ * @param byId the same employees keyed by id; employees without an id are only in {@code employees}
+ * @param version the id of the last roster event reflected here; null if unknown
+ * @param loadedAt when the roster was last fetched in full from the external API
+ * @param statistics salary and age histograms of {@code employees}
+ * @param salaryIndex the employees of {@code employees} that have a salary, sorted by salary
+ */
+public record RosterSnapshot(
+        List<EmployeeDTO> employees,
+        Map<String, EmployeeDTO> byId,
+        Long version,
+        Instant loadedAt,
+        RosterStatistics statistics,
+        SalaryIndex salaryIndex) {
+
+    public static RosterSnapshot of(List<EmployeeDTO> employees, Long version) {
+        Map<String, EmployeeDTO> byId = new HashMap<>(Math.max(16, employees.size() * 4 / 3 + 1));
+        for (EmployeeDTO employee : employees) {
+            if (employee.getId() != null) {
+                byId.put(employee.getId(), employee);
+            }
+        }
+        return new RosterSnapshot(
+                Collections.unmodifiableList(new ArrayList<>(employees)),
+                Collections.unmodifiableMap(byId),
+                version,
+                Instant.now(),
+                RosterStatistics.of(employees),
+                SalaryIndex.of(employees));
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * @return a snapshot that contains the given employee, replacing any employee with the same id.
+     */
+    public RosterSnapshot withCreated(EmployeeDTO employee, Long newVersion) {
+        List<EmployeeDTO> nextEmployees = new ArrayList<>(employees.size() + 1);
+        for (EmployeeDTO existing : employees) {
+            if (existing.getId() == null || !existing.getId().equals(employee.getId())) {
+                nextEmployees.add(existing);
+            }
+        }
+        nextEmployees.add(employee);
+        Map<String, EmployeeDTO> nextById = new HashMap<>(byId);
+        EmployeeDTO replaced = nextById.put(employee.getId(), employee);
+        return new RosterSnapshot(
+                Collections.unmodifiableList(nextEmployees),
+                Collections.unmodifiableMap(nextById),
+                nextVersion(newVersion),
+                loadedAt,
+                statistics.replacing(replaced, employee),
+                salaryIndex.replacing(replaced, employee));
+    }
+
+    /**
+     * @return a snapshot without the employee with the given id; this snapshot if there is none.
+     */
+    public RosterSnapshot withDeleted(String id, Long newVersion) {
+        if (!byId.containsKey(id)) {
+            return newVersion == null
+                    ? this
+                    : new RosterSnapshot(employees, byId, nextVersion(newVersion), loadedAt, statistics, salaryIndex);
+        }
+        List<EmployeeDTO> nextEmployees = new ArrayList<>(employees.size());
+        for (EmployeeDTO existing : employees) {
+            if (!id.equals(existing.getId())) {
+                nextEmployees.add(existing);
+            }
+        }
+        Map<String, EmployeeDTO> nextById = new HashMap<>(byId);
+        EmployeeDTO removed = nextById.remove(id);
+        return new RosterSnapshot(
+                Collections.unmodifiableList(nextEmployees),
+                Collections.unmodifiableMap(nextById),
+                nextVersion(newVersion),
+                loadedAt,
+                statistics.replacing(removed, null),
+                salaryIndex.replacing(removed, null));
+    }
+
+    private Long nextVersion(Long newVersion) {
+        if (newVersion == null) {
+            return version;
+        }
+        return version == null ? newVersion : Math.max(version, newVersion);
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link RosterSnapshot} and whether it is live, i.e. kept up to date by the event stream.
+ * <p>
+ * Only a live snapshot may be used to answer reads locally; a snapshot that is not live is only a last known good
+ * fallback for when the external API is unavailable. Snapshots are swapped atomically, so readers always see a
+ * complete roster.
+ */
+@Component
+public class RosterSnapshotHolder {
+
+    private final AtomicReference<RosterSnapshot> snapshot = new AtomicReference<>();
+
+    private volatile boolean live;
+
+    /**
+     * @return the latest snapshot, live or not; null if the roster was never loaded.
+     */
+    public RosterSnapshot get() {
+        return snapshot.get();
+    }
+
+    /**
+     * @return the latest snapshot if it is being kept up to date; otherwise null.
+     */
+    public RosterSnapshot getLive() {
+        return live ? snapshot.get() : null;
+    }
+
+    public void setLive(boolean live) {
+        this.live = live;
+    }
+
+    public void replace(RosterSnapshot next) {
+        snapshot.set(next);
+    }
+
+    /**
+     * Keeps a roster just fetched in full from the external API as the last known good snapshot, to fall back on
+     * while the external API is unavailable. A live snapshot is already current and is left alone.
+     */
+    public void recordFetched(List<EmployeeDTO> employees) {
+        if (!live) {
+            snapshot.set(RosterSnapshot.of(employees, null));
+        }
+    }
+
+    /**
+     * Applies a creation to the current snapshot, if any.
+     *
+     * @param version the event id of the creation; null for changes made through this API
+     */
+    public void applyCreated(EmployeeDTO employee, Long version) {
+        if (employee != null && employee.getId() != null) {
+            snapshot.updateAndGet(current -> current == null ? null : current.withCreated(employee, version));
+        }
+    }
+
+    /**
+     * Applies a deletion to the current snapshot, if any.
+     *
+     * @param version the event id of the deletion; null for changes made through this API
+     */
+    public void applyDeleted(String id, Long version) {
+        if (id != null) {
+            snapshot.updateAndGet(current -> current == null ? null : current.withDeleted(id, version));
+        }
+    }
+}
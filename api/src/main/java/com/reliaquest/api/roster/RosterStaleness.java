@@ -0,0 +1,36 @@
+package com.reliaquest.api.roster;
+
+import java.time.Instant;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Remembers, for the current web request, that its answer came from a roster snapshot that may be out of date
+ * because the external API was unavailable, so the controller layer can tell the client.
+ */
+public final class RosterStaleness {
+
+    private static final String LOADED_AT_ATTRIBUTE = RosterStaleness.class.getName() + ".loadedAt";
+
+    private RosterStaleness() {}
+
+    /**
+     * Marks the current request as served from the given snapshot. Does nothing outside a web request.
+     */
+    public static void markServedFrom(RosterSnapshot snapshot) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(LOADED_AT_ATTRIBUTE, snapshot.loadedAt(), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * @return when the snapshot the current request was served from was loaded; null if it was served fresh.
+     */
+    public static Instant servedFromSnapshotLoadedAt() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null
+                ? null
+                : (Instant) attributes.getAttribute(LOADED_AT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
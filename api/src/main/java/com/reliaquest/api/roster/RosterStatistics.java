@@ -0,0 +1,57 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.analytics.ValueHistogram;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.Collection;
+
+/**
+ * Salary and age histograms of a roster, maintained alongside its {@link RosterSnapshot}.
+ * <p>
+ * Like the snapshot, an instance is never modified once built: {@link #replacing(EmployeeDTO, EmployeeDTO)}
+ * returns updated copies, at a cost independent of the roster size. Callers must not modify the histograms.
+ *
+ * @param salaries the salaries of all employees that have one
+ * @param ages the ages of all employees that have one
+ */
+public record RosterStatistics(ValueHistogram salaries, ValueHistogram ages) {
+
+    public static RosterStatistics of(Collection<EmployeeDTO> employees) {
+        ValueHistogram salaries = new ValueHistogram();
+        ValueHistogram ages = new ValueHistogram();
+        for (EmployeeDTO employee : employees) {
+            record(employee, salaries, ages);
+        }
+        return new RosterStatistics(salaries, ages);
+    }
+
+    /**
+     * @param removed an employee leaving the roster; null if none
+     * @param added an employee joining the roster; null if none
+     * @return statistics reflecting the change
+     */
+    public RosterStatistics replacing(EmployeeDTO removed, EmployeeDTO added) {
+        ValueHistogram nextSalaries = salaries.copy();
+        ValueHistogram nextAges = ages.copy();
+        if (removed != null) {
+            if (removed.getEmployeeSalary() != null) {
+                nextSalaries.remove(removed.getEmployeeSalary());
+            }
+            if (removed.getEmployeeAge() != null) {
+                nextAges.remove(removed.getEmployeeAge());
+            }
+        }
+        if (added != null) {
+            record(added, nextSalaries, nextAges);
+        }
+        return new RosterStatistics(nextSalaries, nextAges);
+    }
+
+    private static void record(EmployeeDTO employee, ValueHistogram salaries, ValueHistogram ages) {
+        if (employee.getEmployeeSalary() != null) {
+            salaries.add(employee.getEmployeeSalary());
+        }
+        if (employee.getEmployeeAge() != null) {
+            ages.add(employee.getEmployeeAge());
+        }
+    }
+}
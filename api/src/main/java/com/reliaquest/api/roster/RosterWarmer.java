@@ -0,0 +1,152 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.NegativeLookupCache;
+import com.reliaquest.api.client.IExternalApiClient;
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-warms the roster snapshot and the lookup caches right after startup, so the first wave of lookups by id after
+ * a restart is answered locally instead of stampeding the external API.
+ * <p>
+ * The roster is fetched once in the background and becomes the last known good {@link RosterSnapshot}, with its
+ * id, salary and statistics indexes built; every employee is put into the {@link EmployeeCache} and the
+ * {@link NegativeLookupCache} is rebuilt from it. Failed fetches, e.g. while the external API rate limits, are
+ * retried with backoff until the startup timeout. Past it the application gives up warming and serves cold.
+ * <p>
+ * Roster-wide reads (all employees, search, highest salary and top earners) are not made local by warming: they are
+ * answered from the snapshot only while the event stream keeps it live
+ * ({@code employee.snapshot.events.enabled}), and otherwise still go to the external API, with the warmed snapshot
+ * as their fallback while it is unavailable.
+ * <p>
+ * As a health indicator, included in the readiness group, this reports out of service while warming, so a
+ * readiness probe holds traffic back until the caches are warm or warming has given up.
+ * <p>
+ * Disabled by default; enable with {@code employee.warmup.enabled}.
+ */
+@Slf4j
+@Component
+public class RosterWarmer implements SmartLifecycle, HealthIndicator {
+
+    private enum State {
+        DISABLED,
+        WARMING,
+        WARM,
+        COLD
+    }
+
+    private final IExternalApiClient externalApiClient;
+    private final RosterSnapshotHolder snapshotHolder;
+    private final EmployeeCache employeeCache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final Duration retryBackoff;
+
+    private volatile Thread worker;
+    private volatile State state = State.DISABLED;
+    private volatile int warmedEmployees;
+    private volatile long tookMillis;
+
+    public RosterWarmer(
+            IExternalApiClient externalApiClient,
+            RosterSnapshotHolder snapshotHolder,
+            EmployeeCache employeeCache,
+            NegativeLookupCache negativeLookupCache,
+            @Value("${employee.warmup.enabled:false}") boolean enabled,
+            @Value("${employee.warmup.timeout:PT30S}") Duration timeout,
+            @Value("${employee.warmup.retry-backoff:PT0.5S}") Duration retryBackoff) {
+        this.externalApiClient = externalApiClient;
+        this.snapshotHolder = snapshotHolder;
+        this.employeeCache = employeeCache;
+        this.negativeLookupCache = negativeLookupCache;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        state = State.WARMING;
+        Thread thread = new Thread(this::warm, "roster-warmer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = state == State.WARMING ? Health.outOfService() : Health.up();
+        health.withDetail("state", state.name().toLowerCase(Locale.ROOT));
+        if (state == State.WARM) {
+            health.withDetail("employees", warmedEmployees).withDetail("tookMillis", tookMillis);
+        }
+        return health.build();
+    }
+
+    /**
+     * Fetches the roster and fills the snapshot and caches from it, retrying until the startup timeout; then
+     * reports warm, or cold if the roster could not be fetched in time. Runs on its own thread after start.
+     */
+    public void warm() {
+        state = State.WARMING;
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(timeout);
+        Duration backoff = retryBackoff;
+        while (true) {
+            try {
+                List<EmployeeDTO> employees = Deadline.callWith(deadline, externalApiClient::getAllEmployees);
+                snapshotHolder.recordFetched(employees);
+                negativeLookupCache.rebuild(employees);
+                employees.forEach(employeeCache::put);
+                warmedEmployees = employees.size();
+                tookMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                state = State.WARM;
+                log.info("Warmed roster snapshot and caches with {} employees in {} ms", warmedEmployees, tookMillis);
+                return;
+            } catch (RuntimeException ex) {
+                if (deadline.remaining().compareTo(backoff) <= 0) {
+                    state = State.COLD;
+                    log.warn("Could not warm the roster within {}, serving cold: {}", timeout, ex.getMessage());
+                    return;
+                }
+                log.debug("Roster warm-up failed, retrying in {}: {}", backoff, ex.getMessage());
+            }
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                state = State.COLD;
+                return;
+            }
+            backoff = backoff.multipliedBy(2);
+        }
+    }
+}
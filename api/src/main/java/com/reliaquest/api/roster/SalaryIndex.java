@@ -0,0 +1,139 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The employees of a roster that have a salary, sorted by salary, highest first (ties by id).
+ * <p>
+ * Salaries are kept in a primitive {@code int[]} next to the employees in the same order, so range bounds and
+ * ranks are found by binary search over the salaries in O(log n), and top-N and range results are slices of the
+ * sorted employees. Like the snapshot it belongs to, an index is never modified:
+ * {@link #replacing(EmployeeDTO, EmployeeDTO)} returns an updated copy.
+ */
+public final class SalaryIndex {
+
+    private static final Comparator<EmployeeDTO> BY_SALARY_DESC = Comparator.comparing(
+                    EmployeeDTO::getEmployeeSalary, Comparator.reverseOrder())
+            .thenComparing(EmployeeDTO::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final int[] salaries;
+    private final EmployeeDTO[] employees;
+
+    private SalaryIndex(int[] salaries, EmployeeDTO[] employees) {
+        this.salaries = salaries;
+        this.employees = employees;
+    }
+
+    public static SalaryIndex of(Collection<EmployeeDTO> roster) {
+        EmployeeDTO[] employees = roster.stream()
+                .filter(employee -> employee.getEmployeeSalary() != null)
+                .sorted(BY_SALARY_DESC)
+                .toArray(EmployeeDTO[]::new);
+        int[] salaries = new int[employees.length];
+        for (int i = 0; i < employees.length; i++) {
+            salaries[i] = employees[i].getEmployeeSalary();
+        }
+        return new SalaryIndex(salaries, employees);
+    }
+
+    public int size() {
+        return employees.length;
+    }
+
+    /**
+     * @return up to {@code count} employees with the highest salaries, highest first.
+     */
+    public List<EmployeeDTO> top(int count) {
+        return slice(0, Math.max(0, Math.min(count, employees.length)));
+    }
+
+    /**
+     * @return the employees earning between {@code min} and {@code max}, both inclusive, highest salary first.
+     */
+    public List<EmployeeDTO> between(int min, int max) {
+        if (min > max) {
+            return List.of();
+        }
+        return slice(firstEarningAtMost(max), firstEarningAtMost(min - 1L));
+    }
+
+    /**
+     * @return the rank of {@code salary}: one more than the number of employees earning more, so equal salaries share
+     *         a rank.
+     */
+    public int rankOf(int salary) {
+        return firstEarningAtMost(salary) + 1;
+    }
+
+    /**
+     * @param removed an employee leaving the roster; null if none
+     * @param added an employee joining the roster; null if none
+     * @return an index reflecting the change
+     */
+    public SalaryIndex replacing(EmployeeDTO removed, EmployeeDTO added) {
+        int[] nextSalaries = salaries;
+        EmployeeDTO[] nextEmployees = employees;
+        if (removed != null && removed.getEmployeeSalary() != null) {
+            int at = Arrays.binarySearch(nextEmployees, removed, BY_SALARY_DESC);
+            if (at >= 0) {
+                nextSalaries = without(nextSalaries, at);
+                nextEmployees = without(nextEmployees, at);
+            }
+        }
+        if (added != null && added.getEmployeeSalary() != null) {
+            int at = Arrays.binarySearch(nextEmployees, added, BY_SALARY_DESC);
+            at = at >= 0 ? at : -at - 1;
+            int[] grownSalaries = new int[nextSalaries.length + 1];
+            EmployeeDTO[] grownEmployees = new EmployeeDTO[nextEmployees.length + 1];
+            System.arraycopy(nextSalaries, 0, grownSalaries, 0, at);
+            System.arraycopy(nextEmployees, 0, grownEmployees, 0, at);
+            grownSalaries[at] = added.getEmployeeSalary();
+            grownEmployees[at] = added;
+            System.arraycopy(nextSalaries, at, grownSalaries, at + 1, nextSalaries.length - at);
+            System.arraycopy(nextEmployees, at, grownEmployees, at + 1, nextEmployees.length - at);
+            nextSalaries = grownSalaries;
+            nextEmployees = grownEmployees;
+        }
+        return nextEmployees == employees ? this : new SalaryIndex(nextSalaries, nextEmployees);
+    }
+
+    /**
+     * @return the position of the first employee earning {@code salary} or less; {@link #size()} if there is none.
+     */
+    private int firstEarningAtMost(long salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<EmployeeDTO> slice(int from, int to) {
+        return Collections.unmodifiableList(Arrays.asList(employees).subList(from, to));
+    }
+
+    private static int[] without(int[] values, int at) {
+        int[] next = new int[values.length - 1];
+        System.arraycopy(values, 0, next, 0, at);
+        System.arraycopy(values, at + 1, next, at, values.length - at - 1);
+        return next;
+    }
+
+    private static EmployeeDTO[] without(EmployeeDTO[] values, int at) {
+        EmployeeDTO[] next = new EmployeeDTO[values.length - 1];
+        System.arraycopy(values, 0, next, 0, at);
+        System.arraycopy(values, at + 1, next, at, values.length - at - 1);
+        return next;
+    }
+}
@@ -0,0 +1,178 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.analytics.ValueHistogram;
+import com.reliaquest.api.client.EmployeeLookupBatcher;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.AgeDistributionDTO;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.HistogramBinDTO;
+import com.reliaquest.api.model.SalaryRankDTO;
+import com.reliaquest.api.model.SalaryStatisticsDTO;
+import com.reliaquest.api.roster.RosterSnapshot;
+import com.reliaquest.api.roster.RosterSnapshotHolder;
+import com.reliaquest.api.roster.SalaryIndex;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Answers roster analytics from the salary and age histograms kept with the roster snapshot, so every query costs
+ * the same however large the roster is. Salary ranges, ranks and top earners come from the snapshot's
+ * {@link SalaryIndex} in O(log n) plus the size of the result.
+ * <p>
+ * A live snapshot is used as is. Otherwise the latest snapshot is used while it is younger than
+ * {@code employee.analytics.max-age}; an older one is refreshed with a full roster fetch first, which falls back
+ * to the last known good roster while the external API is unavailable.
+ */
+@Slf4j
+@Service
+public class AnalyticsService implements IAnalyticsService {
+
+    private final IEmployeeService employeeService;
+    private final RosterSnapshotHolder rosterSnapshotHolder;
+    private final Duration maxAge;
+
+    public AnalyticsService(
+            IEmployeeService employeeService,
+            RosterSnapshotHolder rosterSnapshotHolder,
+            @Value("${employee.analytics.max-age:PT30S}") Duration maxAge) {
+        this.employeeService = employeeService;
+        this.rosterSnapshotHolder = rosterSnapshotHolder;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Summarises the salaries of all employees that have one.
+     *
+     * @return count, mean, minimum, maximum and the 50th, 90th and 99th percentiles of the salaries
+     */
+    @Override
+    public SalaryStatisticsDTO getSalaryStatistics() {
+        RosterSnapshot snapshot = snapshot();
+        ValueHistogram salaries = snapshot.statistics().salaries();
+        return SalaryStatisticsDTO.builder()
+                .count(salaries.getCount())
+                .min(salaries.getMin())
+                .max(salaries.getMax())
+                .mean(salaries.getMean())
+                .p50(salaries.valueAtPercentile(50))
+                .p90(salaries.valueAtPercentile(90))
+                .p99(salaries.valueAtPercentile(99))
+                .asOf(snapshot.loadedAt())
+                .live(snapshot == rosterSnapshotHolder.getLive())
+                .build();
+    }
+
+    /**
+     * Splits the salary range into {@code bins} equally wide bins and counts the salaries in each.
+     *
+     * @param bins the number of bins
+     * @return the bins in increasing salary order; empty if no employee has a salary
+     */
+    @Override
+    public List<HistogramBinDTO> getSalaryHistogram(int bins) {
+        ValueHistogram salaries = snapshot().statistics().salaries();
+        if (salaries.getCount() == 0) {
+            return List.of();
+        }
+        int min = salaries.getMin();
+        long span = (long) salaries.getMax() - min + 1;
+        long width = Math.max(1, (span + bins - 1) / bins);
+        List<HistogramBinDTO> histogram = new ArrayList<>(bins);
+        for (int i = 0; i < bins; i++) {
+            int from = (int) Math.min(Integer.MAX_VALUE, min + i * width);
+            int to = (int) Math.min(Integer.MAX_VALUE, min + (i + 1) * width);
+            histogram.add(new HistogramBinDTO(from, to, salaries.countBetween(from, to)));
+        }
+        return histogram;
+    }
+
+    /**
+     * Describes the ages of all employees that have one.
+     *
+     * @return count, mean, percentiles and the number of employees of each age
+     */
+    @Override
+    public AgeDistributionDTO getAgeDistribution() {
+        RosterSnapshot snapshot = snapshot();
+        ValueHistogram ages = snapshot.statistics().ages();
+        SortedMap<Integer, Long> countsByAge = new TreeMap<>();
+        ages.forEachValue(countsByAge::put);
+        return AgeDistributionDTO.builder()
+                .count(ages.getCount())
+                .mean(ages.getMean())
+                .p50(ages.valueAtPercentile(50))
+                .p90(ages.valueAtPercentile(90))
+                .p99(ages.valueAtPercentile(99))
+                .countsByAge(countsByAge)
+                .asOf(snapshot.loadedAt())
+                .live(snapshot == rosterSnapshotHolder.getLive())
+                .build();
+    }
+
+    /**
+     * Finds the employees whose salary is between {@code min} and {@code max}, both inclusive.
+     *
+     * @return the employees, highest salary first; empty if {@code min} is greater than {@code max}
+     */
+    @Override
+    public List<EmployeeDTO> findEmployeesBySalaryRange(int min, int max) {
+        List<EmployeeDTO> employees = snapshot().salaryIndex().between(min, max);
+        log.debug("Found {} employees earning between {} and {}", employees.size(), min, max);
+        return employees;
+    }
+
+    /**
+     * Finds the {@code count} highest earning employees.
+     *
+     * @return up to {@code count} employees, highest salary first
+     */
+    @Override
+    public List<EmployeeDTO> findTopEarners(int count) {
+        return snapshot().salaryIndex().top(count);
+    }
+
+    /**
+     * Ranks an employee's salary against the rest of the roster.
+     *
+     * @param id the employee id, in any case
+     * @return the rank; employees with equal salaries share one
+     * @throws EmployeeNotFoundException if the roster has no employee with that id, or that employee has no salary
+     */
+    @Override
+    public SalaryRankDTO getSalaryRank(String id) {
+        RosterSnapshot snapshot = snapshot();
+        EmployeeDTO employee = snapshot.byId().get(EmployeeLookupBatcher.normalizeId(id));
+        if (employee == null || employee.getEmployeeSalary() == null) {
+            throw new EmployeeNotFoundException(id);
+        }
+        SalaryIndex salaryIndex = snapshot.salaryIndex();
+        return SalaryRankDTO.builder()
+                .id(employee.getId())
+                .salary(employee.getEmployeeSalary())
+                .rank(salaryIndex.rankOf(employee.getEmployeeSalary()))
+                .outOf(salaryIndex.size())
+                .build();
+    }
+
+    private RosterSnapshot snapshot() {
+        RosterSnapshot live = rosterSnapshotHolder.getLive();
+        if (live != null) {
+            return live;
+        }
+        RosterSnapshot latest = rosterSnapshotHolder.get();
+        if (latest != null && latest.loadedAt().plus(maxAge).isAfter(Instant.now())) {
+            return latest;
+        }
+        log.debug("Roster snapshot missing or older than {}, refreshing", maxAge);
+        employeeService.findAllEmployees();
+        latest = rosterSnapshotHolder.get();
+        return latest != null ? latest : RosterSnapshot.of(List.of(), null);
+    }
+}
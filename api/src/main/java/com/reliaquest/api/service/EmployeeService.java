@@ -1,15 +1,33 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.NegativeLookupCache;
+import com.reliaquest.api.client.EmployeeLookupBatcher;
 import com.reliaquest.api.client.IExternalApiClient;
+import com.reliaquest.api.constants.ApiConstants;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.logging.LogPayload;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.profiling.ServiceOperationEvent;
+import com.reliaquest.api.roster.RosterAggregator;
+import com.reliaquest.api.roster.RosterSnapshot;
+import com.reliaquest.api.roster.RosterSnapshotHolder;
+import com.reliaquest.api.roster.RosterStaleness;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+/**
+ * Serves the employee operations from the live roster snapshot, the caches or the external API.
+ * <p>
+ * Roster-wide operations are recorded as {@link ServiceOperationEvent}s while a flight recording is running.
+ */
 @Service
 @Slf4j
 @AllArgsConstructor
@@ -17,43 +35,124 @@ public class EmployeeService implements IEmployeeService {
 
     private IExternalApiClient externalApiClient;
 
+    private EmployeeCache employeeCache;
+
+    private NegativeLookupCache negativeLookupCache;
+
+    private EmployeeLookupBatcher employeeLookupBatcher;
+
+    private RosterSnapshotHolder rosterSnapshotHolder;
+
+    private RosterAggregator rosterAggregator;
+
     /**
-     * Retrieves a comprehensive list of all employees by invoking the external API client.
-     * The service layer does not itself apply filtering or caching for this operation. Its main
+     * Retrieves a comprehensive list of all employees by invoking the external API client, or from the
+     * live roster snapshot when the event stream keeps one up to date. Its main
      * role is to coordinate between the controller and the external client. If no data is
-     * returned by the external API, it gracefully returns an empty list.
+     * returned by the external API, it gracefully returns an empty list. While the external API is unavailable
+     * the last known good roster is returned instead.
      *
      * @return a list of {@link EmployeeDTO}, possibly empty if the external source returns none.
      */
     @Override
     public List<EmployeeDTO> findAllEmployees() {
-        log.info("Fetching all employees via ExternalEmployeeApiClient");
-        List<EmployeeDTO> employees = externalApiClient.getAllEmployees();
+        ServiceOperationEvent event = new ServiceOperationEvent("findAllEmployees");
+        event.begin();
+        RosterSnapshot snapshot = rosterSnapshotHolder.getLive();
+        if (snapshot != null) {
+            log.debug("Returning {} employees from live roster snapshot", snapshot.size());
+            event.complete(ServiceOperationEvent.SNAPSHOT, snapshot.size(), snapshot.size());
+            return snapshot.employees();
+        }
+        log.debug("Fetching all employees via ExternalEmployeeApiClient");
+        List<EmployeeDTO> employees;
+        String source = ServiceOperationEvent.UPSTREAM;
+        try {
+            employees = fetchRoster();
+        } catch (UpstreamUnavailableException ex) {
+            employees = lastKnownGoodRoster(ex).employees();
+            source = ServiceOperationEvent.LAST_KNOWN_GOOD;
+        }
         log.debug("Found {} employees from mock API", employees.size());
+        event.complete(source, employees.size(), employees.size());
         return employees;
     }
 
+    /**
+     * Passes every employee to {@code consumer}: from the live roster snapshot if there is one, and otherwise as
+     * they are parsed from the external API, so the roster is neither copied nor fetched into memory. Falls back
+     * to the last known good roster only if the external API fails before the first employee was passed on; a
+     * later failure, e.g. of a response cut off or of the second of several shards, is rethrown, as the employees
+     * passed on cannot be taken back and the consumer must treat what it got as incomplete.
+     */
+    @Override
+    public int exportEmployees(Consumer<EmployeeDTO> consumer) {
+        ServiceOperationEvent event = new ServiceOperationEvent("exportEmployees");
+        event.begin();
+        RosterSnapshot snapshot = rosterSnapshotHolder.getLive();
+        if (snapshot != null) {
+            snapshot.employees().forEach(consumer);
+            event.complete(ServiceOperationEvent.SNAPSHOT, snapshot.size(), snapshot.size());
+            return snapshot.size();
+        }
+        int[] exported = {0};
+        try {
+            externalApiClient.streamAllEmployees(employee -> {
+                consumer.accept(employee);
+                exported[0]++;
+            });
+        } catch (UpstreamUnavailableException ex) {
+            if (exported[0] > 0) {
+                throw ex;
+            }
+            List<EmployeeDTO> employees = lastKnownGoodRoster(ex).employees();
+            employees.forEach(consumer);
+            event.complete(ServiceOperationEvent.LAST_KNOWN_GOOD, employees.size(), employees.size());
+            return employees.size();
+        }
+        log.debug("Exported {} employees streamed from mock API", exported[0]);
+        event.complete(ServiceOperationEvent.UPSTREAM, exported[0], exported[0]);
+        return exported[0];
+    }
+
     /**
      * Retrieves and filters employees whose {@code employeeName} contains the given substring.
-     * This method delegates to the external API client to fetch all employees, then applies
-     * an in-memory filter. If no employees match, an empty list is returned.
+     * The filter is pushed down to the external API so only matching employees are transferred; it is
+     * re-applied in memory because older servers ignore it and return the full roster. With a live roster
+     * snapshot, or with the last known good roster while the external API is unavailable, the filter runs
+     * locally only. Large rosters are filtered in parallel by the {@link RosterAggregator}.
+     * If no employees match, an empty list is returned.
      *
      * @param searchString the substring to search for within employee names.
      * @return a filtered list of {@link EmployeeDTO}. May be empty if no matches found.
      */
     @Override
     public List<EmployeeDTO> findEmployeesByName(String searchString) {
-        log.info("Searching employees by name containing '{}'", searchString);
-        List<EmployeeDTO> allEmployees = externalApiClient.getAllEmployees();
-        List<EmployeeDTO> filtered = allEmployees.stream()
-                .filter(e -> e.getEmployeeName() != null && e.getEmployeeName().contains(searchString))
-                .collect(Collectors.toList());
+        log.debug("Searching employees by name containing '{}'", searchString);
+        ServiceOperationEvent event = new ServiceOperationEvent("findEmployeesByName");
+        event.begin();
+        RosterSnapshot snapshot = rosterSnapshotHolder.getLive();
+        List<EmployeeDTO> candidates;
+        String source = snapshot != null ? ServiceOperationEvent.SNAPSHOT : ServiceOperationEvent.UPSTREAM;
+        try {
+            candidates =
+                    snapshot != null ? snapshot.employees() : externalApiClient.searchEmployeesByName(searchString);
+        } catch (UpstreamUnavailableException ex) {
+            candidates = lastKnownGoodRoster(ex).employees();
+            source = ServiceOperationEvent.LAST_KNOWN_GOOD;
+        }
+        List<EmployeeDTO> filtered = rosterAggregator.filter(
+                candidates,
+                e -> e.getEmployeeName() != null && e.getEmployeeName().contains(searchString));
         log.debug("Filtered list size: {}", filtered.size());
+        event.complete(source, candidates.size(), filtered.size());
         return filtered;
     }
 
     /**
      * Finds an employee by their unique identifier.
+     * Lookups are served from the {@link EmployeeCache} when possible; on a miss the external API is
+     * called and the result is cached.
      * If the employee is not found, throws {@link EmployeeNotFoundException}.
      *
      * @param id the employee's unique identifier
@@ -61,8 +160,8 @@ public class EmployeeService implements IEmployeeService {
      */
     @Override
     public EmployeeDTO findEmployeeById(String id) {
-        log.info("Attempting to find employee with id: {}", id);
-        EmployeeDTO employee = externalApiClient.getEmployeeById(id);
+        log.debug("Attempting to find employee with id: {}", id);
+        EmployeeDTO employee = getEmployeeById(id);
         if (employee == null) {
             log.debug("Employee with id {} not found", id);
             throw new EmployeeNotFoundException(id);
@@ -73,52 +172,96 @@ public class EmployeeService implements IEmployeeService {
 
     /**
      * Finds the highest salary among all employees.
-     * Retrieves all employees from the external client and calculates the maximum salary.
+     * Uses the live roster snapshot if there is one, then the external API's max salary aggregate when
+     * available; otherwise retrieves the salaries of all employees (projected to the salary field only) and
+     * calculates the maximum salary locally, in parallel for large rosters. While the external API is unavailable
+     * the last known good roster is used.
      * If no employees or salaries are available, returns 0.
      *
      * @return the highest salary as an integer, or 0 if no employees exist.
      */
     @Override
     public int findHighestSalary() {
-        log.info("Fetching all employees to determine highest salary");
-        List<EmployeeDTO> employees = externalApiClient.getAllEmployees();
+        log.debug("Determining highest salary");
+        ServiceOperationEvent event = new ServiceOperationEvent("findHighestSalary");
+        event.begin();
+        RosterSnapshot snapshot = rosterSnapshotHolder.getLive();
+        List<EmployeeDTO> employees;
+        String source = snapshot != null ? ServiceOperationEvent.SNAPSHOT : ServiceOperationEvent.UPSTREAM;
+        if (snapshot != null) {
+            employees = snapshot.employees();
+        } else {
+            try {
+                Integer aggregated = externalApiClient.getHighestSalary();
+                if (aggregated != null) {
+                    log.debug("Highest salary from external aggregate: {}", aggregated);
+                    event.complete(source, 0, 1);
+                    return aggregated;
+                }
+                employees = externalApiClient.getAllEmployees(ApiConstants.SALARY_FIELDS);
+            } catch (UpstreamUnavailableException ex) {
+                employees = lastKnownGoodRoster(ex).employees();
+                source = ServiceOperationEvent.LAST_KNOWN_GOOD;
+            }
+        }
         if (employees.isEmpty()) {
             log.debug("No employees found. Returning 0 as highest salary.");
+            event.complete(source, 0, 0);
             return 0;
         }
-        int maxSalary = employees.stream()
-                .filter(e -> e.getEmployeeSalary() != null)
-                .mapToInt(EmployeeDTO::getEmployeeSalary)
-                .max()
-                .orElse(0);
+        int maxSalary = rosterAggregator.highestSalary(employees);
         log.debug("Highest salary determined as: {}", maxSalary);
+        event.complete(source, employees.size(), 1);
         return maxSalary;
     }
 
     /**
      * Finds the highest N earning employees by salary and returns their names.
      * <p>
-     * This method fetches all employees from the external source, filters out those without a valid salary,
-     * sorts the remaining employees by salary in descending order, and then returns the names of up to
-     * <code>countOfRecords</code> of these top earners. If there are fewer than <code>countOfRecords</code> employees
-     * available, it returns as many as it can. If no employees have a valid salary, it returns an empty list.
+     * With a live roster snapshot, or the last known good roster while the external API is unavailable, the names
+     * are the first <code>countOfRecords</code> entries of the snapshot's salary index, so nothing is sorted per
+     * request. Otherwise the sort and limit are pushed down to the external API so only the top earners are
+     * transferred, and only their name and salary fields. Because older servers ignore them and return the full
+     * roster, this method still filters out employees without a valid salary, sorts
+     * by salary in descending order and keeps up to <code>countOfRecords</code> names, in parallel for large rosters.
+     * If there are fewer than <code>countOfRecords</code> employees available, it returns as many as it can.
+     * If no employees have a valid salary, it returns an empty list.
      *
      * @param countOfRecords the number of top earners to retrieve
      * @return a list of up to <code>countOfRecords</code> employee names sorted by their salary in descending order
      */
     @Override
     public List<String> findTopTenHighestEarningNames(int countOfRecords) {
-        log.info("Fetching all employees to determine top {} highest earners", countOfRecords);
-        List<EmployeeDTO> employees = externalApiClient.getAllEmployees();
+        log.debug("Determining top {} highest earners", countOfRecords);
+        ServiceOperationEvent event = new ServiceOperationEvent("findTopTenHighestEarningNames");
+        event.begin();
+        RosterSnapshot snapshot = rosterSnapshotHolder.getLive();
+        Stream<EmployeeDTO> topEmployees;
+        String source;
+        int rosterSize;
+        if (snapshot != null) {
+            topEmployees = snapshot.salaryIndex().top(countOfRecords).stream();
+            source = ServiceOperationEvent.SNAPSHOT;
+            rosterSize = snapshot.salaryIndex().size();
+        } else {
+            try {
+                List<EmployeeDTO> candidates =
+                        externalApiClient.getTopEmployeesBySalary(countOfRecords, ApiConstants.TOP_EARNER_FIELDS);
+                topEmployees = rosterAggregator.topBySalary(candidates, countOfRecords).stream();
+                source = ServiceOperationEvent.UPSTREAM;
+                rosterSize = candidates.size();
+            } catch (UpstreamUnavailableException ex) {
+                RosterSnapshot lastKnownGood = lastKnownGoodRoster(ex);
+                topEmployees = lastKnownGood.salaryIndex().top(countOfRecords).stream();
+                source = ServiceOperationEvent.LAST_KNOWN_GOOD;
+                rosterSize = lastKnownGood.salaryIndex().size();
+            }
+        }
 
-        List<String> topEarners = employees.stream()
-                .filter(e -> e.getEmployeeSalary() != null)
-                .sorted((a, b) -> b.getEmployeeSalary().compareTo(a.getEmployeeSalary()))
-                .limit(countOfRecords)
-                .map(EmployeeDTO::getEmployeeName)
-                .collect(Collectors.toList());
+        List<String> topEarners = topEmployees.map(EmployeeDTO::getEmployeeName).collect(Collectors.toList());
 
-        log.debug("Top earners found: {}", topEarners);
+        log.debug("Top earners found: {}", LogPayload.capped(topEarners));
+        event.complete(source, rosterSize, topEarners.size());
         return topEarners;
     }
 
@@ -134,9 +277,12 @@ public class EmployeeService implements IEmployeeService {
      */
     @Override
     public EmployeeDTO createEmployee(CreateEmployeeInput input) {
-        log.info("Creating employee via external API: {}", input.getName());
+        log.debug("Creating employee via external API: {}", input.getName());
         EmployeeDTO created = externalApiClient.createEmployee(input);
-        log.debug("Created employee: {}", created);
+        employeeCache.put(created);
+        negativeLookupCache.recordPresent(created);
+        rosterSnapshotHolder.applyCreated(created, null);
+        log.debug("Created employee: {}", LogPayload.capped(created));
         return created;
     }
 
@@ -151,7 +297,7 @@ public class EmployeeService implements IEmployeeService {
     @Override
     public String deleteEmployeeById(String id) {
         // Fetch employee by ID
-        EmployeeDTO employee = externalApiClient.getEmployeeById(id);
+        EmployeeDTO employee = getEmployeeById(id);
 
         if (employee == null || employee.getEmployeeName() == null) {
             log.warn("Employee with ID {} not found or does not have a valid name for deletion.", id);
@@ -160,9 +306,86 @@ public class EmployeeService implements IEmployeeService {
 
         // Delete employee by name
         externalApiClient.deleteEmployeeByName(employee.getEmployeeName());
+        String key = EmployeeLookupBatcher.normalizeId(id);
+        employeeCache.invalidate(key);
+        rosterSnapshotHolder.applyDeleted(key, null);
         String successMessage =
                 "Employee with ID " + id + " and name " + employee.getEmployeeName() + " deleted successfully.";
-        log.info(successMessage);
+        log.debug("Deleted employee with id {}", id);
         return successMessage;
     }
+
+    /**
+     * Reads through the {@link EmployeeCache}, falling back to the external API on a miss. Concurrent misses are
+     * coalesced into one upstream multi-get by the {@link EmployeeLookupBatcher}.
+     * Ids the {@link NegativeLookupCache} knows to be missing are answered locally without an upstream call.
+     * A live roster snapshot answers every lookup locally, and the last known good roster answers them while the
+     * external API is unavailable. Ids in UUID format are looked up in the lower case the external API reports them
+     * in.
+     *
+     * @param requestedId the employee's unique identifier
+     * @return the {@link EmployeeDTO}, or null if the external API does not know the id.
+     */
+    private EmployeeDTO getEmployeeById(String requestedId) {
+        String id = EmployeeLookupBatcher.normalizeId(requestedId);
+        RosterSnapshot snapshot = rosterSnapshotHolder.getLive();
+        if (snapshot != null) {
+            return snapshot.byId().get(id);
+        }
+        EmployeeDTO cached = employeeCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (negativeLookupCache.isKnownMissing(id)) {
+            log.debug("Employee with id {} is known to be missing, skipping external API call", id);
+            return null;
+        }
+        EmployeeDTO employee;
+        try {
+            employee = employeeLookupBatcher.getEmployeeById(id);
+        } catch (UpstreamUnavailableException ex) {
+            // an id missing from a stale roster may well exist now, so that is not a 404
+            EmployeeDTO lastKnownGood = lastKnownGoodRoster(ex).byId().get(id);
+            if (lastKnownGood == null) {
+                throw ex;
+            }
+            return lastKnownGood;
+        }
+        if (employee == null) {
+            negativeLookupCache.recordMissing(id);
+        } else {
+            employeeCache.put(employee);
+        }
+        return employee;
+    }
+
+    /**
+     * Fetches the full roster from the external API, refreshes the known-id filter from it and keeps it as the
+     * last known good roster.
+     *
+     * @return the list of all employees, possibly empty.
+     */
+    private List<EmployeeDTO> fetchRoster() {
+        List<EmployeeDTO> employees = externalApiClient.getAllEmployees();
+        negativeLookupCache.rebuild(employees);
+        rosterSnapshotHolder.recordFetched(employees);
+        return employees;
+    }
+
+    /**
+     * Falls back to the most recent roster snapshot while the external API is unavailable, marking the response
+     * as stale.
+     *
+     * @param ex why the external API could not be used; rethrown if no roster was ever loaded
+     * @return the last known good roster snapshot
+     */
+    private RosterSnapshot lastKnownGoodRoster(UpstreamUnavailableException ex) {
+        RosterSnapshot snapshot = rosterSnapshotHolder.get();
+        if (snapshot == null) {
+            throw ex;
+        }
+        log.warn("External API unavailable ({}), serving roster loaded at {}", ex.getMessage(), snapshot.loadedAt());
+        RosterStaleness.markServedFrom(snapshot);
+        return snapshot;
+    }
 }
@@ -0,0 +1,23 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.AgeDistributionDTO;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.HistogramBinDTO;
+import com.reliaquest.api.model.SalaryRankDTO;
+import com.reliaquest.api.model.SalaryStatisticsDTO;
+import java.util.List;
+
+public interface IAnalyticsService {
+
+    SalaryStatisticsDTO getSalaryStatistics();
+
+    List<HistogramBinDTO> getSalaryHistogram(int bins);
+
+    AgeDistributionDTO getAgeDistribution();
+
+    List<EmployeeDTO> findEmployeesBySalaryRange(int min, int max);
+
+    List<EmployeeDTO> findTopEarners(int count);
+
+    SalaryRankDTO getSalaryRank(String id);
+}
@@ -3,11 +3,19 @@ package com.reliaquest.api.service;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.EmployeeDTO;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IEmployeeService {
 
     List<EmployeeDTO> findAllEmployees();
 
+    /**
+     * Passes every employee to {@code consumer} one at a time, without copying the roster.
+     *
+     * @return the number of employees passed on
+     */
+    int exportEmployees(Consumer<EmployeeDTO> consumer);
+
     List<EmployeeDTO> findEmployeesByName(String searchString);
 
     EmployeeDTO findEmployeeById(String id);
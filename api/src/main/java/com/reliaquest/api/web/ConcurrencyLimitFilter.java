@@ -0,0 +1,140 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds load on the employee endpoints once more requests are in flight than the service can handle.
+ * <p>
+ * The number of concurrent requests is capped by a {@link GradientConcurrencyLimit} that adapts to latency. A
+ * request over the cap is rejected at once with 503, {@code Retry-After} and a {@link ResponseWrapperDTO} error body
+ * instead of queueing in Tomcat, so the requests that are admitted keep their latency. Expensive requests (full
+ * roster reads, configured by {@code employee.concurrency-limit.expensive-paths}) may only use
+ * {@code expensive-share} of the limit, which leaves room for cheap, mostly cached ones like {@code /highestSalary}
+ * and lookups by id under overload.
+ * <p>
+ * The limit, in-flight count and rejections are published as {@code api.concurrency.limit},
+ * {@code api.concurrency.inflight} and {@code api.concurrency.rejected}.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_PATH_PREFIX = "/v1/";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final double expensiveShare;
+    private final List<String> expensivePaths;
+    private final GradientConcurrencyLimit limit;
+    private final Counter cheapRejected;
+    private final Counter expensiveRejected;
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${employee.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${employee.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${employee.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${employee.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${employee.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${employee.concurrency-limit.tolerance:1.2}") double tolerance,
+            @Value("${employee.concurrency-limit.long-window:600}") int longWindow,
+            @Value("${employee.concurrency-limit.expensive-share:0.7}") double expensiveShare,
+            @Value("${employee.concurrency-limit.expensive-paths:/v1/employees,/v1/employees/search/**}")
+                    List<String> expensivePaths) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.expensiveShare = expensiveShare;
+        this.expensivePaths = expensivePaths;
+        this.limit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, smoothing, tolerance, longWindow);
+        Gauge.builder("api.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.inflight", inflight, AtomicInteger::get).register(meterRegistry);
+        this.cheapRejected = Counter.builder("api.concurrency.rejected")
+                .tag("class", "cheap")
+                .register(meterRegistry);
+        this.expensiveRejected = Counter.builder("api.concurrency.rejected")
+                .tag("class", "expensive")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(LIMITED_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean expensive = isExpensive(request);
+        int allowed = expensive ? Math.max(1, (int) (limit.getLimit() * expensiveShare)) : limit.getLimit();
+        int current = tryAcquire(allowed);
+        if (current < 0) {
+            (expensive ? expensiveRejected : cheapRejected).increment();
+            log.debug("Shedding {} {}, {} in flight", request.getMethod(), request.getRequestURI(), allowed);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(
+                    response.getOutputStream(), ResponseWrapperDTO.error("Too many requests in flight, retry later"));
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inflight.decrementAndGet();
+            limit.onSample(System.nanoTime() - start, current);
+        }
+    }
+
+    /**
+     * @return the in-flight count including this request, or -1 if that would exceed {@code allowed}.
+     */
+    private int tryAcquire(int allowed) {
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private boolean isExpensive(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI();
+        for (String pattern : expensivePaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
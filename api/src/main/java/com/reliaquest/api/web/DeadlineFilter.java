@@ -0,0 +1,115 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.constants.ApiConstants;
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gives every request to the employee endpoints a {@link Deadline} and binds it to the handling thread.
+ * <p>
+ * The timeout is taken from the {@value ApiConstants#REQUEST_TIMEOUT_HEADER} header (milliseconds) when the client
+ * sends one, capped at {@code employee.deadline.max}. Otherwise the first of {@code employee.deadline.endpoints}
+ * ({@code pattern=duration} entries) matching the path applies, and {@code employee.deadline.default} if none does.
+ * The deadline starts when the request arrives; a request that arrives without any time left gets 504 at once, with
+ * a {@link ResponseWrapperDTO} error body.
+ */
+@Slf4j
+@Component
+// right inside the RequestLogFilter, which also logs requests rejected here
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_PATH_PREFIX = "/v1/";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final Map<String, Duration> endpointTimeouts = new LinkedHashMap<>();
+
+    public DeadlineFilter(
+            ObjectMapper objectMapper,
+            @Value("${employee.deadline.enabled:true}") boolean enabled,
+            @Value("${employee.deadline.default:PT5S}") Duration defaultTimeout,
+            @Value("${employee.deadline.max:PT30S}") Duration maxTimeout,
+            @Value("${employee.deadline.endpoints:}") List<String> endpointTimeouts) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        for (String entry : endpointTimeouts) {
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException(
+                        "Expected pattern=duration in employee.deadline.endpoints: " + entry);
+            }
+            this.endpointTimeouts.put(
+                    entry.substring(0, separator).trim(),
+                    DurationStyle.detectAndParse(entry.substring(separator + 1).trim()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(LIMITED_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration timeout = timeout(request);
+        if (timeout.isZero() || timeout.isNegative()) {
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(
+                    response.getOutputStream(), ResponseWrapperDTO.error("Request deadline passed before it arrived"));
+            return;
+        }
+        Deadline previous = Deadline.bind(Deadline.after(timeout));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.bind(previous);
+        }
+    }
+
+    private Duration timeout(HttpServletRequest request) {
+        String header = request.getHeader(ApiConstants.REQUEST_TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+                return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+            } catch (NumberFormatException ex) {
+                log.debug("Ignoring malformed {} header: {}", ApiConstants.REQUEST_TIMEOUT_HEADER, header);
+            }
+        }
+        String path = request.getRequestURI();
+        for (Map.Entry<String, Duration> entry : endpointTimeouts.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return defaultTimeout;
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.web;
+
+/**
+ * Estimates how many requests may be in flight at once from how latency responds to load, in the style of the
+ * gradient algorithm of Netflix' concurrency-limits.
+ * <p>
+ * A long-term exponential average of latency stands in for the latency without queueing. Each sample compares
+ * it with the current latency: while they agree the limit grows by roughly its square root, and as current
+ * latency rises above the tolerated multiple of the average (requests are queueing somewhere) the limit shrinks
+ * proportionally, by at most half per sample. Changes are smoothed and clamped to {@code [minLimit, maxLimit]}.
+ * The limit only grows when at least half of it is actually used, so an idle service does not inflate it.
+ */
+public class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double longWindowWeight;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    private volatile int limit;
+
+    /**
+     * @param initialLimit limit until enough samples are seen
+     * @param minLimit the limit never drops below this
+     * @param maxLimit the limit never grows above this
+     * @param smoothing weight, between 0 and 1, of each new estimate in the limit
+     * @param tolerance how much slower than the long-term average a request may be before the limit shrinks
+     * @param longWindow number of samples the long-term latency average spans
+     */
+    public GradientConcurrencyLimit(
+            int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindowWeight = 2.0 / (longWindow + 1);
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Records the latency of a completed request.
+     *
+     * @param rttNanos how long the request took; taken as at least 1, as coarse clocks can report 0
+     * @param inflight how many requests were in flight when it started, itself included
+     */
+    public synchronized void onSample(long rttNanos, int inflight) {
+        // a zero latency would make the gradient NaN and the limit collapse to 0 for good
+        rttNanos = Math.max(1, rttNanos);
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) * longWindowWeight;
+        if (longRttNanos / rttNanos > 2) {
+            // latency dropped sharply, e.g. after an upstream recovered; let the baseline catch up quickly
+            longRttNanos = rttNanos * 2;
+        }
+        if (inflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.constants.ApiConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Logs one structured line per request to the employee endpoints, in place of log lines spread over the
+ * controller, service and client.
+ * <p>
+ * The line is in {@code key=value} form: method, path (without the query, which may hold names), status, elapsed
+ * milliseconds, the roster staleness if a last known good roster was served, and why the line was logged. Only a
+ * {@code employee.request-log.sample-rate} share of requests is logged, except that failed (5xx and 429) and slow
+ * (at least {@code employee.request-log.slow-threshold}) requests always are.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private static final String LOGGED_PATH_PREFIX = "/v1/";
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLogFilter(
+            @Value("${employee.request-log.enabled:true}") boolean enabled,
+            @Value("${employee.request-log.sample-rate:0.01}") double sampleRate,
+            @Value("${employee.request-log.slow-threshold:PT1S}") Duration slowThreshold) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !log.isInfoEnabled() || !request.getRequestURI().startsWith(LOGGED_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            int status = failed ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus();
+            String reason = reason(status, elapsedNanos);
+            if (reason != null) {
+                log.info(
+                        "request method={} path={} status={} millis={} stale={} logged={}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        status,
+                        elapsedNanos / 1_000_000,
+                        response.getHeader(ApiConstants.ROSTER_STALENESS_HEADER) != null,
+                        reason);
+            }
+        }
+    }
+
+    /**
+     * @return why the request is logged, or null if it is not.
+     */
+    private String reason(int status, long elapsedNanos) {
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return "error";
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            return "slow";
+        }
+        if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return "sampled";
+        }
+        return null;
+    }
+}
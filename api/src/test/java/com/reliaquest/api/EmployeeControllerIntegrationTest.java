@@ -1,28 +1,60 @@
 package com.reliaquest.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.NegativeLookupCache;
+import com.reliaquest.api.client.IExternalApiClient;
 import com.reliaquest.api.constants.ApiConstants;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.IntegerResponseDTO;
 import com.reliaquest.api.model.ResponseWrapperDTO;
 import com.reliaquest.api.model.SingleEmployeeResponseDTO;
+import com.reliaquest.api.roster.RosterSnapshot;
+import com.reliaquest.api.roster.RosterSnapshotHolder;
+import com.reliaquest.api.roster.RosterWarmer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -38,9 +70,28 @@ public class EmployeeControllerIntegrationTest {
     @MockBean
     private RestTemplate restTemplate;
 
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RosterSnapshotHolder rosterSnapshotHolder;
+
+    @Autowired
+    private IExternalApiClient externalApiClient;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
     private final String MOCK_SERVER_URL = "http://localhost:8112/api/v1/employee";
     private final String APP_URL = "/v1/employees";
     private final String PATH_SEPARATOR = "/";
+    private final String SEARCH_URL = MOCK_SERVER_URL + ApiConstants.NAME_CONTAINS_QUERY;
+    private final String TOP_BY_SALARY_URL = MOCK_SERVER_URL + ApiConstants.TOP_BY_SALARY_QUERY;
+    private final String PROJECTION_URL = MOCK_SERVER_URL + ApiConstants.PROJECTION_QUERY;
+    private final String MAX_SALARY_URL = MOCK_SERVER_URL + ApiConstants.MAX_SALARY_AGGREGATE_ENDPOINT;
 
     @Test
     void getAllEmployees_returnListOfEmployees_shouldReturnListOfEmployees() throws Exception {
@@ -96,6 +147,240 @@ public class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void getAllEmployees_liveSnapshot_servedWithoutExternalCall() throws Exception {
+        EmployeeDTO emp = EmployeeDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName("Snap Shot")
+                .employeeSalary(42)
+                .build();
+        rosterSnapshotHolder.replace(RosterSnapshot.of(List.of(emp), 1L));
+        rosterSnapshotHolder.setLive(true);
+        try {
+            mockMvc.perform(get(APP_URL).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].employee_name").value("Snap Shot"));
+            mockMvc.perform(get(APP_URL + PATH_SEPARATOR + emp.getId()).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.employee_salary").value(42));
+        } finally {
+            rosterSnapshotHolder.setLive(false);
+            rosterSnapshotHolder.replace(null);
+        }
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void exportEmployees_liveSnapshot_streamsCsvAndNdjson() throws Exception {
+        EmployeeDTO emp = EmployeeDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName("Snap, \"Shot\"")
+                .employeeSalary(42)
+                .build();
+        rosterSnapshotHolder.replace(RosterSnapshot.of(List.of(emp), 1L));
+        rosterSnapshotHolder.setLive(true);
+        try {
+            MvcResult csv = mockMvc.perform(get(APP_URL + "/export?format=csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(content()
+                            .string("id,employee_name,employee_salary,employee_age,employee_title,employee_email\r\n"
+                                    + emp.getId() + ",\"Snap, \"\"Shot\"\"\",42,,,\r\n"));
+
+            MvcResult ndjson = mockMvc.perform(get(APP_URL + "/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            EmployeeDTO exported = objectMapper.readValue(body.strip(), EmployeeDTO.class);
+            assertEquals(emp.getId(), exported.getId());
+            assertEquals(emp.getEmployeeName(), exported.getEmployeeName());
+
+            mockMvc.perform(get(APP_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+        } finally {
+            rosterSnapshotHolder.setLive(false);
+            rosterSnapshotHolder.replace(null);
+        }
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void exportEmployees_externalApiUnavailable_streamsLastKnownGoodRoster() throws Exception {
+        EmployeeDTO emp = EmployeeDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName("Last Good")
+                .build();
+        rosterSnapshotHolder.recordFetched(List.of(emp));
+        given(restTemplate.execute(eq(MOCK_SERVER_URL), eq(HttpMethod.GET), any(), any()))
+                .willThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        try {
+            MvcResult export = mockMvc.perform(get(APP_URL + "/export?format=csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(export))
+                    .andExpect(status().isOk())
+                    .andExpect(content()
+                            .string("id,employee_name,employee_salary,employee_age,employee_title,employee_email\r\n"
+                                    + emp.getId() + ",Last Good,,,,\r\n"));
+        } finally {
+            rosterSnapshotHolder.replace(null);
+        }
+    }
+
+    @Test
+    void exportEmployees_externalApiStreamsRoster_sendsEveryEmployee() throws Exception {
+        given(restTemplate.getMessageConverters()).willReturn(new RestTemplate().getMessageConverters());
+        givenUpstreamRosterBody(upstreamRoster(5_000, false));
+
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(exportUri()).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(5_000, response.body().lines().count());
+    }
+
+    @Test
+    void exportEmployees_externalApiFailsMidStream_connectionAbortedWithoutEndingBody() throws Exception {
+        given(restTemplate.getMessageConverters()).willReturn(new RestTemplate().getMessageConverters());
+        givenUpstreamRosterBody(upstreamRoster(5_000, true));
+
+        // the employees sent were committed with a 200, so only an unterminated body shows the export is incomplete
+        assertThrows(IOException.class, () -> HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(exportUri()).build(), HttpResponse.BodyHandlers.ofString()));
+    }
+
+    private URI exportUri() {
+        return URI.create("http://localhost:" + port + APP_URL + "/export");
+    }
+
+    private void givenUpstreamRosterBody(InputStream body) {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        given(response.getHeaders()).willReturn(headers);
+        try {
+            given(response.getBody()).willReturn(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        given(restTemplate.execute(eq(MOCK_SERVER_URL), eq(HttpMethod.GET), any(), any()))
+                .willAnswer(invocation -> {
+                    try {
+                        return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+                    } catch (IOException ex) {
+                        // as RestTemplate reports a failed read
+                        throw new ResourceAccessException(ex.getMessage(), ex);
+                    }
+                });
+    }
+
+    /**
+     * @param cutOff whether the body ends with a read failure after the employees, instead of the end of the array
+     */
+    private static InputStream upstreamRoster(int employees, boolean cutOff) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < employees; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"id\":\"")
+                    .append(UUID.randomUUID())
+                    .append("\",\"employee_name\":\"Employee ")
+                    .append(i)
+                    .append("\"}");
+        }
+        InputStream head = new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8));
+        InputStream tail = cutOff
+                ? new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                }
+                : new ByteArrayInputStream("]}".getBytes(StandardCharsets.UTF_8));
+        return new SequenceInputStream(head, tail);
+    }
+
+    @Test
+    void getAllEmployees_externalApiUnavailable_servesLastKnownGoodRosterAsStale() throws Exception {
+        EmployeeDTO emp = EmployeeDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName("Last Good")
+                .employeeSalary(100)
+                .build();
+        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+                .willReturn(ResponseWrapperDTO.builder().data(List.of(emp)).build())
+                .willThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        try {
+            mockMvc.perform(get(APP_URL).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(ApiConstants.ROSTER_STALENESS_HEADER));
+            mockMvc.perform(get(APP_URL).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(ApiConstants.ROSTER_STALENESS_HEADER))
+                    .andExpect(jsonPath("$[0].employee_name").value("Last Good"));
+        } finally {
+            rosterSnapshotHolder.replace(null);
+        }
+    }
+
+    @Test
+    void getEmployeeById_externalApiUnavailableAndIdNotInLastKnownGood_returns503() throws Exception {
+        String id = UUID.randomUUID().toString();
+        rosterSnapshotHolder.recordFetched(List.of(EmployeeDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName("Last Good")
+                .build()));
+        given(restTemplate.getForObject(MOCK_SERVER_URL + PATH_SEPARATOR + id, SingleEmployeeResponseDTO.class))
+                .willThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        try {
+            mockMvc.perform(get(APP_URL + PATH_SEPARATOR + id).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            rosterSnapshotHolder.replace(null);
+        }
+    }
+
+    @Test
+    void getAllEmployees_deadlineAlreadyPassed_returns504WithoutExternalCall() throws Exception {
+        mockMvc.perform(get(APP_URL)
+                        .header(ApiConstants.REQUEST_TIMEOUT_HEADER, "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.status").value(ResponseWrapperDTO.STATUS_ERROR))
+                .andExpect(jsonPath("$.error").exists());
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getAllEmployees_deadlinePassesDuringExternalCall_returns504WithoutRetry() throws Exception {
+        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+                .willAnswer(invocation -> {
+                    // the read timeout the request factory derives from the deadline
+                    Thread.sleep(150);
+                    throw new ResourceAccessException("Read timed out");
+                });
+
+        mockMvc.perform(get(APP_URL)
+                        .header(ApiConstants.REQUEST_TIMEOUT_HEADER, "100")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(restTemplate, times(1)).getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class);
+    }
+
     @Test
     void getEmployeesByNameSearch_noMatches_returnsEmptyList() throws Exception {
         ResponseWrapperDTO mockResponse = ResponseWrapperDTO.builder()
@@ -105,7 +390,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+        given(restTemplate.getForObject(SEARCH_URL, ResponseWrapperDTO.class, "Z"))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.SEARCH_ENDPOINT + "/Z";
@@ -123,7 +408,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+        given(restTemplate.getForObject(SEARCH_URL, ResponseWrapperDTO.class, "Ali"))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.SEARCH_ENDPOINT + "/Ali";
@@ -140,7 +425,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+        given(restTemplate.getForObject(SEARCH_URL, ResponseWrapperDTO.class, "Ali"))
                 .willReturn(mockResponse);
         String url = APP_URL + ApiConstants.SEARCH_ENDPOINT + "/Ali";
         mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
@@ -167,6 +452,24 @@ public class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.employee_name").value("Jane Doe"));
     }
 
+    @Test
+    void getEmployeeById_upperCaseId_lookedUpByCanonicalId() throws Exception {
+        String id = UUID.randomUUID().toString();
+        EmployeeDTO emp =
+                EmployeeDTO.builder().id(id).employeeName("Upper Case").build();
+        given(restTemplate.getForObject(MOCK_SERVER_URL + PATH_SEPARATOR + id, SingleEmployeeResponseDTO.class))
+                .willReturn(SingleEmployeeResponseDTO.builder().data(emp).build());
+
+        try {
+            mockMvc.perform(get(APP_URL + PATH_SEPARATOR + id.toUpperCase(Locale.ROOT))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(id));
+        } finally {
+            employeeCache.invalidate(id);
+        }
+    }
+
     @Test
     void getEmployeeById_notFound_returns404() throws Exception {
         String id = "non-existent-id";
@@ -183,6 +486,47 @@ public class EmployeeControllerIntegrationTest {
                 .andExpect(content().string("Employee not found for ID: " + id));
     }
 
+    @Test
+    void getEmployeeById_repeatedLookup_servedFromCache() throws Exception {
+        String id = UUID.randomUUID().toString();
+        EmployeeDTO emp =
+                EmployeeDTO.builder().id(id).employeeName("Cached Doe").build();
+        SingleEmployeeResponseDTO response =
+                SingleEmployeeResponseDTO.builder().data(emp).status("OK").build();
+
+        String mockUrl = MOCK_SERVER_URL + PATH_SEPARATOR + id;
+        given(restTemplate.getForObject(mockUrl, SingleEmployeeResponseDTO.class))
+                .willReturn(response);
+
+        String url = APP_URL + PATH_SEPARATOR + id;
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.employee_name").value("Cached Doe"));
+        }
+
+        verify(restTemplate, times(1)).getForObject(mockUrl, SingleEmployeeResponseDTO.class);
+    }
+
+    @Test
+    void getEmployeeById_repeatedUnknownId_servedFromNegativeCache() throws Exception {
+        String id = UUID.randomUUID().toString();
+        String mockUrl = MOCK_SERVER_URL + PATH_SEPARATOR + id;
+
+        given(restTemplate.getForObject(eq(mockUrl), eq(SingleEmployeeResponseDTO.class)))
+                .willThrow(HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        String url = APP_URL + PATH_SEPARATOR + id;
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string("Employee not found for ID: " + id));
+        }
+
+        verify(restTemplate, times(1)).getForObject(mockUrl, SingleEmployeeResponseDTO.class);
+    }
+
     @Test
     void getHighestSalary_noEmployees_returns0() throws Exception {
         ResponseWrapperDTO mockResponse = ResponseWrapperDTO.builder()
@@ -191,7 +535,7 @@ public class EmployeeControllerIntegrationTest {
                 .build();
 
         String url = APP_URL + ApiConstants.HIGHEST_SALARY_ENDPOINT;
-        given(restTemplate.getForObject(eq(MOCK_SERVER_URL), eq(ResponseWrapperDTO.class)))
+        given(restTemplate.getForObject(eq(PROJECTION_URL), eq(ResponseWrapperDTO.class), eq("salary")))
                 .willReturn(mockResponse);
 
         mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
@@ -209,7 +553,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(eq(MOCK_SERVER_URL), eq(ResponseWrapperDTO.class)))
+        given(restTemplate.getForObject(eq(PROJECTION_URL), eq(ResponseWrapperDTO.class), eq("salary")))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.HIGHEST_SALARY_ENDPOINT;
@@ -227,7 +571,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(eq(MOCK_SERVER_URL), eq(ResponseWrapperDTO.class)))
+        given(restTemplate.getForObject(eq(PROJECTION_URL), eq(ResponseWrapperDTO.class), eq("salary")))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.HIGHEST_SALARY_ENDPOINT;
@@ -236,6 +580,135 @@ public class EmployeeControllerIntegrationTest {
                 .andExpect(content().string("0"));
     }
 
+    @Test
+    void getHighestSalary_aggregateAvailable_skipsRosterFetch() throws Exception {
+        given(restTemplate.getForObject(MAX_SALARY_URL, IntegerResponseDTO.class))
+                .willReturn(
+                        IntegerResponseDTO.builder().data(250000).status("OK").build());
+
+        String url = APP_URL + ApiConstants.HIGHEST_SALARY_ENDPOINT;
+        mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("250000"));
+
+        verify(restTemplate, never()).getForObject(PROJECTION_URL, ResponseWrapperDTO.class, "salary");
+    }
+
+    @Test
+    void getSalaryStatistics_computedFromRosterSketch() throws Exception {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int salary = 10; salary <= 100; salary += 10) {
+            employees.add(EmployeeDTO.builder()
+                    .id(UUID.randomUUID().toString())
+                    .employeeName("Employee " + salary)
+                    .employeeSalary(salary)
+                    .build());
+        }
+        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+                .willReturn(ResponseWrapperDTO.builder().data(employees).build());
+        rosterSnapshotHolder.replace(null);
+
+        try {
+            mockMvc.perform(get("/v1/analytics/salary").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.count").value(10))
+                    .andExpect(jsonPath("$.min").value(10))
+                    .andExpect(jsonPath("$.max").value(100))
+                    .andExpect(jsonPath("$.p50").value(50))
+                    .andExpect(jsonPath("$.p90").value(90));
+        } finally {
+            rosterSnapshotHolder.replace(null);
+        }
+    }
+
+    @Test
+    void getEmployeesBySalaryRangeAndRank_servedFromSalaryIndex() throws Exception {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int salary = 10; salary <= 100; salary += 10) {
+            employees.add(EmployeeDTO.builder()
+                    .id("employee-" + salary)
+                    .employeeName("Employee " + salary)
+                    .employeeSalary(salary)
+                    .build());
+        }
+        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+                .willReturn(ResponseWrapperDTO.builder().data(employees).build());
+        rosterSnapshotHolder.replace(null);
+
+        try {
+            mockMvc.perform(get("/v1/analytics/salary/range?min=35&max=60").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3))
+                    .andExpect(jsonPath("$[0].employee_salary").value(60))
+                    .andExpect(jsonPath("$[2].employee_salary").value(40));
+            mockMvc.perform(get("/v1/analytics/salary/top?count=2").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].employee_name").value("Employee 100"))
+                    .andExpect(jsonPath("$[1].employee_name").value("Employee 90"));
+            mockMvc.perform(get("/v1/analytics/salary/rank/employee-70").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rank").value(4))
+                    .andExpect(jsonPath("$.outOf").value(10));
+            mockMvc.perform(get("/v1/analytics/salary/rank/unknown").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/v1/analytics/salary/range?min=60&max=35").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            rosterSnapshotHolder.replace(null);
+        }
+    }
+
+    @Test
+    void warmup_rosterFetchedOnce_lookupsServedFromWarmCache() throws Exception {
+        String id = UUID.randomUUID().toString();
+        EmployeeDTO emp =
+                EmployeeDTO.builder().id(id).employeeName("Warm Start").build();
+        given(restTemplate.getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class))
+                .willReturn(ResponseWrapperDTO.builder().data(List.of(emp)).build());
+        RosterWarmer warmer = new RosterWarmer(
+                externalApiClient,
+                rosterSnapshotHolder,
+                employeeCache,
+                negativeLookupCache,
+                true,
+                Duration.ofSeconds(5),
+                Duration.ofMillis(10));
+
+        try {
+            warmer.warm();
+            assertEquals(Status.UP, warmer.health().getStatus());
+            assertEquals("warm", warmer.health().getDetails().get("state"));
+            mockMvc.perform(get(APP_URL + PATH_SEPARATOR + id).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.employee_name").value("Warm Start"));
+        } finally {
+            employeeCache.invalidate(id);
+            rosterSnapshotHolder.replace(null);
+        }
+
+        verify(restTemplate, times(1)).getForObject(MOCK_SERVER_URL, ResponseWrapperDTO.class);
+        verify(restTemplate, never())
+                .getForObject(MOCK_SERVER_URL + PATH_SEPARATOR + id, SingleEmployeeResponseDTO.class);
+    }
+
+    @Test
+    void warmup_timeoutPassed_servesColdAndReportsReady() {
+        RosterWarmer warmer = new RosterWarmer(
+                externalApiClient,
+                rosterSnapshotHolder,
+                employeeCache,
+                negativeLookupCache,
+                true,
+                Duration.ZERO,
+                Duration.ofMillis(10));
+
+        warmer.warm();
+
+        assertEquals(Status.UP, warmer.health().getStatus());
+        assertEquals("cold", warmer.health().getDetails().get("state"));
+        verifyNoInteractions(restTemplate);
+    }
+
     @Test
     void getTopTenHighestEarningEmployeeNames_noEmployees_returnsEmptyList() throws Exception {
         ResponseWrapperDTO mockResponse = ResponseWrapperDTO.builder()
@@ -243,7 +716,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(eq(MOCK_SERVER_URL), eq(ResponseWrapperDTO.class)))
+        given(restTemplate.getForObject(eq(TOP_BY_SALARY_URL), eq(ResponseWrapperDTO.class), eq(10), eq("name,salary")))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.TOP_EARNING_SALARY_EMPLOYEES_ENDPOINT;
@@ -267,7 +740,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(eq(MOCK_SERVER_URL), eq(ResponseWrapperDTO.class)))
+        given(restTemplate.getForObject(eq(TOP_BY_SALARY_URL), eq(ResponseWrapperDTO.class), eq(10), eq("name,salary")))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.TOP_EARNING_SALARY_EMPLOYEES_ENDPOINT;
@@ -294,7 +767,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(eq(MOCK_SERVER_URL), eq(ResponseWrapperDTO.class)))
+        given(restTemplate.getForObject(eq(TOP_BY_SALARY_URL), eq(ResponseWrapperDTO.class), eq(10), eq("name,salary")))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.TOP_EARNING_SALARY_EMPLOYEES_ENDPOINT;
@@ -325,7 +798,7 @@ public class EmployeeControllerIntegrationTest {
                 .status("OK")
                 .build();
 
-        given(restTemplate.getForObject(eq(MOCK_SERVER_URL), eq(ResponseWrapperDTO.class)))
+        given(restTemplate.getForObject(eq(TOP_BY_SALARY_URL), eq(ResponseWrapperDTO.class), eq(10), eq("name,salary")))
                 .willReturn(mockResponse);
 
         String url = APP_URL + ApiConstants.TOP_EARNING_SALARY_EMPLOYEES_ENDPOINT;
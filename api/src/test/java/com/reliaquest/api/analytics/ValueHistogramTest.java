@@ -0,0 +1,161 @@
+package com.reliaquest.api.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ValueHistogramTest {
+
+    @Test
+    void bucketOf_valuesBelow256_exactBuckets() {
+        assertEquals(0, ValueHistogram.bucketOf(0));
+        assertEquals(255, ValueHistogram.bucketOf(255));
+        assertEquals(255, ValueHistogram.representativeOf(255));
+    }
+
+    @Test
+    void bucketOf_firstLogLinearRange_bucketsOfTwoValues() {
+        assertEquals(256, ValueHistogram.bucketOf(256));
+        assertEquals(256, ValueHistogram.bucketOf(257));
+        assertEquals(257, ValueHistogram.bucketOf(258));
+        assertEquals(256, ValueHistogram.representativeOf(256));
+
+        assertEquals(383, ValueHistogram.bucketOf(511));
+        assertEquals(510, ValueHistogram.representativeOf(383));
+    }
+
+    @Test
+    void bucketOf_nextPowerOfTwo_bucketsOfFourValues() {
+        assertEquals(384, ValueHistogram.bucketOf(512));
+        assertEquals(384, ValueHistogram.bucketOf(515));
+        assertEquals(385, ValueHistogram.bucketOf(516));
+        assertEquals(513, ValueHistogram.representativeOf(384));
+    }
+
+    @Test
+    void bucketOf_maxValue_lastBucket() {
+        int last = ValueHistogram.bucketOf(Integer.MAX_VALUE);
+
+        assertEquals(3199, last);
+        // the middle of [255 << 23, Integer.MAX_VALUE]
+        assertEquals(2_143_289_343, ValueHistogram.representativeOf(last));
+    }
+
+    @Test
+    void representativeOf_anyValue_withinRelativeErrorAndMonotonic() {
+        Random random = new Random(11);
+        int previousBucket = -1;
+        for (int value = 0; value < 70_000; value++) {
+            int bucket = ValueHistogram.bucketOf(value);
+            assertTrue(bucket == previousBucket || bucket == previousBucket + 1, "bucket of " + value);
+            previousBucket = bucket;
+            assertWithinPrecision(value, ValueHistogram.representativeOf(bucket));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(Integer.MAX_VALUE);
+            assertWithinPrecision(value, ValueHistogram.representativeOf(ValueHistogram.bucketOf(value)));
+        }
+    }
+
+    @Test
+    void remove_recordedValue_undoesAdd() {
+        ValueHistogram histogram = histogram(10, 300, 300, 70_000);
+
+        histogram.remove(300);
+        histogram.remove(70_000);
+
+        assertEquals(buckets(histogram(10, 300)), buckets(histogram));
+        assertEquals(2, histogram.getCount());
+        assertEquals(155.0, histogram.getMean());
+    }
+
+    @Test
+    void remove_valueSharingBucketWithRecordedOne_removesFromThatBucket() {
+        ValueHistogram histogram = histogram(256, 1000);
+
+        histogram.remove(257);
+
+        assertEquals(buckets(histogram(1000)), buckets(histogram));
+        assertEquals(1, histogram.getCount());
+    }
+
+    @Test
+    void remove_emptyBucket_doesNothing() {
+        ValueHistogram histogram = histogram(10);
+
+        histogram.remove(11);
+        histogram.remove(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(10.0, histogram.getMean());
+    }
+
+    @Test
+    void merge_twoHistograms_sameAsRecordingAllValues() {
+        ValueHistogram merged = histogram(1, 300, 90_000);
+
+        merged.merge(histogram(300, 5_000_000));
+
+        ValueHistogram all = histogram(1, 300, 90_000, 300, 5_000_000);
+        assertEquals(buckets(all), buckets(merged));
+        assertEquals(all.getCount(), merged.getCount());
+        assertEquals(all.getMean(), merged.getMean());
+    }
+
+    @Test
+    void copy_modified_leavesOriginalAlone() {
+        ValueHistogram original = histogram(1, 2);
+
+        ValueHistogram copy = original.copy();
+        copy.add(3);
+        copy.remove(1);
+
+        assertEquals(buckets(histogram(1, 2)), buckets(original));
+    }
+
+    @Test
+    void countBetween_exactRange_fromInclusiveToExclusive() {
+        ValueHistogram histogram = histogram(10, 20, 20, 30, 255);
+
+        assertEquals(3, histogram.countBetween(10, 30));
+        assertEquals(2, histogram.countBetween(20, 21));
+        assertEquals(0, histogram.countBetween(21, 30));
+        assertEquals(5, histogram.countBetween(-100, 256));
+        assertEquals(0, histogram.countBetween(30, 30));
+        assertEquals(0, histogram.countBetween(40, 10));
+    }
+
+    @Test
+    void countBetween_logLinearRange_countsBucketsByRepresentative() {
+        ValueHistogram histogram = histogram(512, 515, 516, 100_000);
+
+        // 512 and 515 share the bucket represented by 513
+        assertEquals(2, histogram.countBetween(513, 514));
+        assertEquals(0, histogram.countBetween(514, 516));
+        assertEquals(4, histogram.countBetween(0, Integer.MAX_VALUE));
+    }
+
+    private static void assertWithinPrecision(int value, int representative) {
+        assertTrue(
+                Math.abs((double) representative - value) <= value * 0.004,
+                value + " represented by " + representative);
+    }
+
+    private static ValueHistogram histogram(int... values) {
+        ValueHistogram histogram = new ValueHistogram();
+        for (int value : values) {
+            histogram.add(value);
+        }
+        return histogram;
+    }
+
+    private static Map<Integer, Long> buckets(ValueHistogram histogram) {
+        Map<Integer, Long> buckets = new LinkedHashMap<>();
+        histogram.forEachValue(buckets::put);
+        return buckets;
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.roster.RosterAggregator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Shows how highest salary, top earners and name search over a large local roster scale with the number of cores
+ * given to the {@link RosterAggregator}.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:aggregationScalingBenchmark [-Pemployees=2000000]}. For 1, 2, 4,
+ * ... up to all available processors, each aggregation runs {@code WARMUP_ROUNDS} times to warm up and
+ * {@code MEASURED_ROUNDS} times measured; the mean time per call and the speedup over one core are reported. Every
+ * parallel result is checked against the sequential one, and the benchmark fails if any differs.
+ */
+public class AggregationScalingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final int TOP_EARNERS = 10;
+    private static final String SEARCH = "ab";
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        List<EmployeeDTO> roster = roster(size);
+        List<Integer> parallelisms = new ArrayList<>();
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism < processors; parallelism *= 2) {
+            parallelisms.add(parallelism);
+        }
+        parallelisms.add(processors);
+
+        Object[] sequential = null;
+        double[] baseline = null;
+        System.out.printf("%,d employees, %d available processors%n", size, processors);
+        System.out.printf(
+                "%5s %12s %8s %12s %8s %12s %8s%n",
+                "cores", "max ms", "speedup", "top ms", "speedup", "search ms", "speedup");
+        for (int parallelism : parallelisms) {
+            RosterAggregator aggregator = new RosterAggregator(parallelism, 0);
+            List<Function<List<EmployeeDTO>, Object>> aggregations = List.of(
+                    aggregator::highestSalary,
+                    employees -> aggregator.topBySalary(employees, TOP_EARNERS),
+                    employees -> aggregator.filter(
+                            employees, e -> e.getEmployeeName().contains(SEARCH)));
+            Object[] results = new Object[aggregations.size()];
+            double[] millis = new double[aggregations.size()];
+            for (int i = 0; i < aggregations.size(); i++) {
+                results[i] = aggregations.get(i).apply(roster);
+                millis[i] = measure(aggregations.get(i), roster);
+            }
+            aggregator.destroy();
+            if (sequential == null) {
+                sequential = results;
+                baseline = millis;
+            }
+            for (int i = 0; i < results.length; i++) {
+                if (!results[i].equals(sequential[i])) {
+                    throw new IllegalStateException("Result on " + parallelism + " cores differs from sequential");
+                }
+            }
+            System.out.printf(
+                    "%5d %12.1f %7.1fx %12.1f %7.1fx %12.1f %7.1fx%n",
+                    parallelism,
+                    millis[0],
+                    baseline[0] / millis[0],
+                    millis[1],
+                    baseline[1] / millis[1],
+                    millis[2],
+                    baseline[2] / millis[2]);
+        }
+    }
+
+    private static double measure(Function<List<EmployeeDTO>, Object> aggregation, List<EmployeeDTO> roster) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            aggregation.apply(roster);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            aggregation.apply(roster);
+        }
+        return (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+    }
+
+    private static List<EmployeeDTO> roster(int size) {
+        Random random = new Random(42);
+        List<EmployeeDTO> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(EmployeeDTO.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .employeeName("Employee " + Integer.toString(random.nextInt(1 << 30), 36))
+                    // a few without salary, and many ties, as the top earners must keep roster order
+                    .employeeSalary(random.nextInt(100) == 0 ? null : 30_000 + random.nextInt(1_000))
+                    .employeeAge(16 + random.nextInt(54))
+                    .build());
+        }
+        return employees;
+    }
+}
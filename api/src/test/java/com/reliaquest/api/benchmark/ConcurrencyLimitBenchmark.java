@@ -0,0 +1,92 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.web.GradientConcurrencyLimit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shows goodput with and without the adaptive concurrency limit as offered load rises past saturation.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:concurrencyLimitBenchmark}. The simulated service has
+ * {@code CAPACITY} workers taking {@code SERVICE_MILLIS} per request, so excess requests queue. Closed-loop
+ * clients give up after {@code DEADLINE_MILLIS}; goodput counts requests answered within it. Without a limit,
+ * queueing pushes every request past the deadline once load is high enough and goodput collapses; with the limit,
+ * excess requests are rejected immediately (the clients back off briefly) and goodput stays near capacity.
+ */
+public class ConcurrencyLimitBenchmark {
+
+    private static final int CAPACITY = 8;
+    private static final long SERVICE_MILLIS = 10;
+    private static final long DEADLINE_MILLIS = 50;
+    private static final long REJECTED_BACKOFF_MILLIS = 5;
+    private static final long STAGE_MILLIS = 3_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("capacity %d x %d ms, deadline %d ms%n", CAPACITY, SERVICE_MILLIS, DEADLINE_MILLIS);
+        System.out.printf("%8s %18s %18s %8s%n", "clients", "goodput unlimited", "goodput limited", "limit");
+        for (int clients : new int[] {4, 8, 16, 32, 64, 128, 256}) {
+            Stage unlimited = run(clients, null);
+            GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+            Stage limited = run(clients, limit);
+            System.out.printf(
+                    "%8d %16.0f/s %16.0f/s %8d%n", clients, unlimited.goodput(), limited.goodput(), limit.getLimit());
+        }
+    }
+
+    private static Stage run(int clients, GradientConcurrencyLimit limit) throws InterruptedException {
+        Semaphore workers = new Semaphore(CAPACITY, true);
+        AtomicInteger inflight = new AtomicInteger();
+        AtomicLong good = new AtomicLong();
+        long end = System.nanoTime() + STAGE_MILLIS * 1_000_000;
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    int current = inflight.incrementAndGet();
+                    if (limit != null && current > limit.getLimit()) {
+                        inflight.decrementAndGet();
+                        sleep(REJECTED_BACKOFF_MILLIS);
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        workers.acquireUninterruptibly();
+                        try {
+                            sleep(SERVICE_MILLIS);
+                        } finally {
+                            workers.release();
+                        }
+                    } finally {
+                        inflight.decrementAndGet();
+                    }
+                    long rtt = System.nanoTime() - start;
+                    if (limit != null) {
+                        limit.onSample(rtt, current);
+                    }
+                    if (rtt <= DEADLINE_MILLIS * 1_000_000) {
+                        good.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return new Stage(good.get() * 1000.0 / STAGE_MILLIS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Stage(double goodput) {}
+}
@@ -0,0 +1,186 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.config.DeadlineAwareJdkRequestFactory;
+import com.reliaquest.api.config.DeadlineAwareRequestFactory;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Compares the HTTP/1.1 and HTTP/2 (h2c) upstream transports at {@code IN_FLIGHT} concurrent calls.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:http2TransportBenchmark}. The upstream is an embedded Tomcat
+ * configured like the mock server ({@code server.http2.enabled}, {@code mock.http2.max-concurrent-streams}),
+ * answering every request with a small JSON body after {@code SERVICE_MILLIS}. Each transport gets one warm-up
+ * call, so h2c has upgraded a connection, then {@code IN_FLIGHT} threads each make {@code CALLS_PER_THREAD}
+ * calls. Reported are the latency percentiles and, on Linux, the peak number of established client sockets to
+ * the upstream and the sockets left in TIME_WAIT, i.e. closed after use rather than reused.
+ */
+public class Http2TransportBenchmark {
+
+    private static final int IN_FLIGHT = 500;
+    private static final int CALLS_PER_THREAD = 20;
+    private static final long SERVICE_MILLIS = 20;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String TCP_ESTABLISHED = "01";
+    private static final String TCP_TIME_WAIT = "06";
+
+    public static void main(String[] args) throws Exception {
+        Tomcat tomcat = startUpstream();
+        int port = tomcat.getConnector().getLocalPort();
+        String url = "http://localhost:" + port + "/api/v1/employee";
+        try {
+            System.out.printf("%d in flight, %d ms service time%n", IN_FLIGHT, SERVICE_MILLIS);
+            System.out.printf(
+                    "%-8s %8s %8s %8s %8s %10s%n", "transport", "p50 ms", "p99 ms", "max ms", "sockets", "time-wait");
+            run("http/1.1", new DeadlineAwareRequestFactory(TIMEOUT, TIMEOUT), url, port);
+            // let the HTTP/1.1 sockets leave TIME_WAIT accounting behind as far as possible
+            Thread.sleep(1_000);
+            run("h2c", new DeadlineAwareJdkRequestFactory(TIMEOUT, TIMEOUT), url, port);
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    private static void run(String transport, ClientHttpRequestFactory requestFactory, String url, int port)
+            throws Exception {
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getForObject(url, String.class);
+        int timeWaitBefore = countSockets(port, TCP_TIME_WAIT);
+
+        long[] latencies = new long[IN_FLIGHT * CALLS_PER_THREAD];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger peakSockets = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peakSockets.accumulateAndGet(countSockets(port, TCP_ESTABLISHED), Math::max);
+                sleep(10);
+            }
+        });
+        sampler.start();
+
+        ExecutorService clients = Executors.newFixedThreadPool(IN_FLIGHT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>(IN_FLIGHT);
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            results.add(clients.submit(() -> {
+                start.await();
+                for (int call = 0; call < CALLS_PER_THREAD; call++) {
+                    long begin = System.nanoTime();
+                    restTemplate.getForObject(url, String.class);
+                    latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        clients.shutdown();
+        running.set(false);
+        sampler.join();
+
+        Arrays.sort(latencies);
+        System.out.printf(
+                "%-8s %8.1f %8.1f %8.1f %8s %10s%n",
+                transport,
+                millis(latencies, 50),
+                millis(latencies, 99),
+                latencies[latencies.length - 1] / 1e6,
+                timeWaitBefore < 0 ? "n/a" : Integer.toString(peakSockets.get()),
+                timeWaitBefore < 0 ? "n/a" : Integer.toString(countSockets(port, TCP_TIME_WAIT) - timeWaitBefore));
+    }
+
+    private static Tomcat startUpstream() throws Exception {
+        Path baseDir = Files.createTempDirectory("http2-benchmark");
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        connector.setProperty("maxThreads", Integer.toString(IN_FLIGHT));
+        connector.setProperty("maxConnections", Integer.toString(IN_FLIGHT * 4));
+        Http2Protocol http2 = new Http2Protocol();
+        http2.setMaxConcurrentStreams(IN_FLIGHT);
+        http2.setMaxConcurrentStreamExecution(IN_FLIGHT);
+        connector.addUpgradeProtocol(http2);
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", baseDir.toString());
+        Tomcat.addServlet(context, "employee", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                sleep(SERVICE_MILLIS);
+                response.setContentType("application/json");
+                response.getOutputStream()
+                        .write("{\"data\":{\"employee_name\":\"Jane Doe\"},\"status\":\"OK\"}"
+                                .getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        context.addServletMappingDecoded("/*", "employee");
+        tomcat.start();
+        return tomcat;
+    }
+
+    /**
+     * Counts the client side of TCP connections to {@code port} in the given state from {@code /proc/net/tcp*}.
+     *
+     * @return the count, or -1 where {@code /proc} is unavailable
+     */
+    private static int countSockets(int port, String state) {
+        String remotePort = String.format(":%04X", port);
+        int count = 0;
+        for (String table : new String[] {"/proc/net/tcp", "/proc/net/tcp6"}) {
+            Path path = Path.of(table);
+            if (!Files.isReadable(path)) {
+                return -1;
+            }
+            try {
+                for (String line : Files.readAllLines(path)) {
+                    String[] columns = line.trim().split("\\s+");
+                    if (columns.length > 3 && columns[2].endsWith(remotePort) && columns[3].equals(state)) {
+                        count++;
+                    }
+                }
+            } catch (IOException ex) {
+                return -1;
+            }
+        }
+        return count;
+    }
+
+    private static double millis(long[] sorted, int percentile) {
+        return sorted[(int) Math.ceil(percentile / 100.0 * sorted.length) - 1] / 1e6;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
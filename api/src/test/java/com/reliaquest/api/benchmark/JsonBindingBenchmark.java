@@ -0,0 +1,129 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares throughput and allocation of the hand-written {@link EmployeeDTO} serializer and deserializer with
+ * Jackson's reflection-based bean (de)serializers, in JSON and Smile.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:jsonBindingBenchmark [-Pemployees=10000]}. The bean
+ * (de)serializers are restored with a mix-in that overrides the {@code @JsonSerialize} and {@code @JsonDeserialize}
+ * annotations. Both must write byte-identical payloads, or the benchmark fails. Each binding then writes and reads
+ * a roster response of the given size {@code WARMUP_ROUNDS} times to warm up and {@code MEASURED_ROUNDS} times
+ * measured, reporting employees per second and bytes allocated per employee by the measuring thread.
+ */
+public class JsonBindingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private abstract static class BeanBinding {}
+
+    public static void main(String[] args) throws IOException {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        ResponseWrapperDTO response = roster(employees);
+
+        System.out.printf("%,d employees per round%n", employees);
+        System.out.printf(
+                "%-6s %-8s %14s %12s %14s %12s%n",
+                "format", "binding", "write emp/s", "write B/emp", "read emp/s", "read B/emp");
+        compare("json", JsonFactory::new, response);
+        compare("smile", SmileFactory::new, response);
+    }
+
+    private static void compare(String format, Supplier<JsonFactory> factory, ResponseWrapperDTO response)
+            throws IOException {
+        // modules as in the application, e.g. parameter names for the constructor-only bean binding
+        ObjectMapper bean =
+                new ObjectMapper(factory.get()).findAndRegisterModules().addMixIn(EmployeeDTO.class, BeanBinding.class);
+        ObjectMapper handWritten = new ObjectMapper(factory.get()).findAndRegisterModules();
+        if (!Arrays.equals(bean.writeValueAsBytes(response), handWritten.writeValueAsBytes(response))) {
+            throw new IllegalStateException(format + " output differs from the bean serializer");
+        }
+        report(format, "bean", bean, response);
+        report(format, "hand", handWritten, response);
+    }
+
+    private static void report(String format, String binding, ObjectMapper mapper, ResponseWrapperDTO response)
+            throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(response);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapper.writeValueAsBytes(response);
+            mapper.readValue(payload, ResponseWrapperDTO.class);
+        }
+        long employees = (long) response.getData().size() * MEASURED_ROUNDS;
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            mapper.writeValueAsBytes(response);
+        }
+        double writeSeconds = (System.nanoTime() - start) / 1e9;
+        long writeBytes = allocatedBytes() - allocated;
+
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        int read = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            read += mapper.readValue(payload, ResponseWrapperDTO.class)
+                    .getData()
+                    .size();
+        }
+        double readSeconds = (System.nanoTime() - start) / 1e9;
+        long readBytes = allocatedBytes() - allocated;
+        if (read != employees) {
+            throw new IllegalStateException(format + " round trip lost employees");
+        }
+
+        System.out.printf(
+                "%-6s %-8s %,14.0f %,12.0f %,14.0f %,12.0f%n",
+                format,
+                binding,
+                employees / writeSeconds,
+                (double) writeBytes / employees,
+                employees / readSeconds,
+                (double) readBytes / employees);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static ResponseWrapperDTO roster(int size) {
+        Random random = new Random(42);
+        List<EmployeeDTO> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = "Employee " + Integer.toString(random.nextInt(1 << 30), 36);
+            employees.add(EmployeeDTO.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .employeeName(name)
+                    .employeeSalary(30_000 + random.nextInt(470_000))
+                    .employeeAge(16 + random.nextInt(54))
+                    .employeeTitle("Title " + random.nextInt(500))
+                    .employeeEmail(name.replace(' ', '.').toLowerCase() + "@company.com")
+                    .build());
+        }
+        return ResponseWrapperDTO.builder()
+                .data(employees)
+                .status("Successfully processed request.")
+                .build();
+    }
+}
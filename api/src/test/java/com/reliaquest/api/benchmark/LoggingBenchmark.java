@@ -0,0 +1,186 @@
+package com.reliaquest.api.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.logging.LogPayload;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shows the request throughput recovered by the logging changes.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:loggingBenchmark}. A simulated request serialises the top
+ * {@code TOP_EARNERS} employees to JSON and logs what a top earners request used to log or logs now. The output
+ * goes through Logback with Spring Boot's console pattern into a file:
+ * <ul>
+ *   <li>{@code none}: no logging, the upper bound</li>
+ *   <li>{@code before}: the previous lines, written synchronously: INFO lines from controller, service and
+ *       client, and DEBUG lines including the whole list of earners</li>
+ *   <li>{@code after}: the remaining DEBUG lines with the earners capped, and the sampled per-request line,
+ *       written through the async appender</li>
+ * </ul>
+ * Both run at INFO, the api's level, and at DEBUG, the level the mock server used to ship with. {@code THREADS}
+ * threads run each configuration for {@code STAGE_MILLIS}.
+ */
+public class LoggingBenchmark {
+
+    private static final int THREADS = 16;
+    private static final long STAGE_MILLIS = 3_000;
+    private static final int TOP_EARNERS = 10;
+    private static final double SAMPLE_RATE = 0.01;
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n%ex";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        List<EmployeeDTO> earners = new ArrayList<>(TOP_EARNERS);
+        for (int i = 0; i < TOP_EARNERS; i++) {
+            earners.add(EmployeeDTO.builder()
+                    .id(UUID.randomUUID().toString())
+                    .employeeName("Employee " + i)
+                    .employeeSalary(300_000 - i)
+                    .employeeAge(30)
+                    .employeeTitle("Engineer")
+                    .employeeEmail("employee" + i + "@company.com")
+                    .build());
+        }
+        List<String> names = earners.stream().map(EmployeeDTO::getEmployeeName).toList();
+        File out = File.createTempFile("logging-benchmark", ".log");
+        out.deleteOnExit();
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger controller = context.getLogger("com.reliaquest.api.controller.EmployeeController");
+        Logger service = context.getLogger("com.reliaquest.api.service.EmployeeService");
+        Logger client = context.getLogger("com.reliaquest.api.client.ExternalApiClient");
+        Logger requests = context.getLogger("com.reliaquest.api.web.RequestLogFilter");
+
+        Runnable before = () -> {
+            controller.info("Received request to get top 10 highest earning employee names");
+            service.info("Determining top {} highest earners", TOP_EARNERS);
+            client.info(
+                    "GET {} with limit {} and fields {}",
+                    "http://localhost:8112/api/v1/employee",
+                    TOP_EARNERS,
+                    "name,salary");
+            serialise(earners);
+            service.debug("Top earners found: {}", names);
+            controller.debug("Returning {} top earning employee names", names.size());
+        };
+        Runnable after = () -> {
+            service.debug("Determining top {} highest earners", TOP_EARNERS);
+            client.debug(
+                    "GET {} with limit {} and fields {}",
+                    "http://localhost:8112/api/v1/employee",
+                    TOP_EARNERS,
+                    "name,salary");
+            serialise(earners);
+            service.debug("Top earners found: {}", LogPayload.capped(names));
+            controller.debug("Returning {} top earning employee names", names.size());
+            if (ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+                requests.info(
+                        "request method={} path={} status={} millis={} stale={} logged={}",
+                        "GET",
+                        "/v1/employees/topTenHighestEarningEmployeeNames",
+                        200,
+                        1,
+                        false,
+                        "sampled");
+            }
+        };
+
+        System.out.printf("%d threads, top %d earners per request%n", THREADS, TOP_EARNERS);
+        System.out.printf("%-8s %-6s %14s %10s%n", "logging", "level", "requests", "of none");
+        double none = run(() -> serialise(earners));
+        System.out.printf("%-8s %-6s %12.0f/s %9.0f%%%n", "none", "-", none, 100.0);
+        for (Level level : new Level[] {Level.INFO, Level.DEBUG}) {
+            configure(context, out, level, false);
+            report("before", level, run(before), none);
+            configure(context, out, level, true);
+            report("after", level, run(after), none);
+        }
+        context.stop();
+    }
+
+    private static double run(Runnable request) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        long end = System.nanoTime() + STAGE_MILLIS * 1_000_000;
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(() -> {
+                long count = 0;
+                while (System.nanoTime() < end) {
+                    request.run();
+                    count++;
+                }
+                completed.addAndGet(count);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return completed.get() * 1000.0 / STAGE_MILLIS;
+    }
+
+    private static void configure(LoggerContext context, File out, Level level, boolean async) throws IOException {
+        context.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> file = new OutputStreamAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setEncoder(encoder);
+        file.setOutputStream(new BufferedOutputStream(new FileOutputStream(out, true)));
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("ASYNC");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(file);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        context.getLogger("com.reliaquest").setLevel(level);
+    }
+
+    private static void serialise(List<EmployeeDTO> employees) {
+        try {
+            MAPPER.writeValueAsBytes(employees);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void report(String logging, Level level, double requestsPerSecond, double none) {
+        System.out.printf(
+                "%-8s %-6s %12.0f/s %9.0f%%%n", logging, level, requestsPerSecond, 100 * requestsPerSecond / none);
+    }
+}
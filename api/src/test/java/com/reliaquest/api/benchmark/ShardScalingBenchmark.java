@@ -0,0 +1,175 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.CircuitBreakingExternalApiClient;
+import com.reliaquest.api.client.ExternalApiClient;
+import com.reliaquest.api.client.HedgedRequestExecutor;
+import com.reliaquest.api.client.ShardedExternalApiClient;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import com.reliaquest.api.model.SingleEmployeeResponseDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Shows upstream throughput as the roster is sharded over 1, 2 and 4 external API instances.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:shardScalingBenchmark}. Each simulated instance is an in-process
+ * HTTP server with {@code CAPACITY} workers, like the mock server's bounded request handling, taking
+ * {@code BASE_MILLIS} per request plus {@code MICROS_PER_EMPLOYEE} per employee returned. The roster of
+ * {@code ROSTER_SIZE} employees is split evenly over the instances. Closed-loop clients issue creates, routed to
+ * one instance by name, and full roster reads, scattered to every instance and gathered. Writes scale with the
+ * number of instances; reads scale with the share of the per-employee cost each instance is left with.
+ */
+public class ShardScalingBenchmark {
+
+    private static final int CAPACITY = 4;
+    private static final long BASE_MILLIS = 2;
+    private static final long MICROS_PER_EMPLOYEE = 20;
+    private static final int ROSTER_SIZE = 1_000;
+    private static final int CLIENTS = 32;
+    private static final long STAGE_MILLIS = 3_000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf(
+                "capacity %d x (%d ms + %d us/employee), %,d employees, %d clients%n",
+                CAPACITY, BASE_MILLIS, MICROS_PER_EMPLOYEE, ROSTER_SIZE, CLIENTS);
+        System.out.printf("%9s %14s %14s%n", "instances", "creates", "roster reads");
+        for (int instances : new int[] {1, 2, 4}) {
+            List<HttpServer> servers = new ArrayList<>(instances);
+            for (int i = 0; i < instances; i++) {
+                servers.add(startInstance(ROSTER_SIZE / instances));
+            }
+            try {
+                ShardedExternalApiClient client = client(servers);
+                double creates = run(() -> client.createEmployee(input()));
+                double reads = run(() -> {
+                    if (client.getAllEmployees().size() != ROSTER_SIZE) {
+                        throw new IllegalStateException("Gathered roster is incomplete");
+                    }
+                });
+                System.out.printf("%9d %12.0f/s %12.0f/s%n", instances, creates, reads);
+                client.destroy();
+            } finally {
+                servers.forEach(server -> {
+                    server.stop(0);
+                    ((ExecutorService) server.getExecutor()).shutdownNow();
+                });
+            }
+        }
+    }
+
+    private static double run(Runnable operation) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        long end = System.nanoTime() + STAGE_MILLIS * 1_000_000;
+        List<Thread> threads = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    operation.run();
+                    completed.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return completed.get() * 1000.0 / STAGE_MILLIS;
+    }
+
+    private static ShardedExternalApiClient client(List<HttpServer> servers) {
+        RestTemplate restTemplate = new RestTemplate(List.of(new MappingJackson2HttpMessageConverter(MAPPER)));
+        HedgedRequestExecutor noHedging =
+                new HedgedRequestExecutor(false, 95, Duration.ZERO, Duration.ZERO, 0, 0, Duration.ZERO, 1);
+        List<CircuitBreakingExternalApiClient> shards = servers.stream()
+                .map(server -> new CircuitBreakingExternalApiClient(
+                        new ExternalApiClient(
+                                "http://localhost:" + server.getAddress().getPort() + "/",
+                                restTemplate,
+                                noHedging,
+                                1,
+                                Duration.ZERO,
+                                Duration.ZERO),
+                        new CircuitBreaker(20, 10, 50, 80, Duration.ofSeconds(2), Duration.ofSeconds(30), 3),
+                        new SimpleMeterRegistry()))
+                .toList();
+        return new ShardedExternalApiClient(shards, 512, CLIENTS * servers.size());
+    }
+
+    private static HttpServer startInstance(int employees) throws IOException {
+        List<EmployeeDTO> roster = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            roster.add(employee("Employee " + i));
+        }
+        byte[] rosterJson = MAPPER.writeValueAsBytes(
+                ResponseWrapperDTO.builder().data(roster).status("OK").build());
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(Executors.newFixedThreadPool(CAPACITY));
+        server.createContext("/api/v1/employee", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if ("POST".equals(exchange.getRequestMethod())) {
+                serve(exchange, 1, MAPPER.writeValueAsBytes(new SingleEmployeeResponseDTO(employee("New"), "OK")));
+            } else {
+                serve(exchange, employees, rosterJson);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static void serve(HttpExchange exchange, int employees, byte[] body) throws IOException {
+        sleepMicros(BASE_MILLIS * 1_000 + employees * MICROS_PER_EMPLOYEE);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleepMicros(long micros) {
+        try {
+            Thread.sleep(micros / 1_000, (int) (micros % 1_000) * 1_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static EmployeeDTO employee(String name) {
+        return EmployeeDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName(name)
+                .employeeSalary(ThreadLocalRandom.current().nextInt(30_000, 300_000))
+                .employeeAge(30)
+                .build();
+    }
+
+    private static CreateEmployeeInput input() {
+        return CreateEmployeeInput.builder()
+                .name("Employee " + UUID.randomUUID())
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.reliaquest.api.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the time from launching {@code ServerApplication} and {@code ApiApplication} to their first successful
+ * request, with the standard build and, when built with {@code -PfastStartup}, the fast startup build.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:startupBenchmark} or {@code ./gradlew -PfastStartup
+ * api:startupBenchmark}. Each round launches the mock server on a free port and polls {@code GET /api/v1/employee}
+ * until it answers 2xx (rate limited answers do not count), then does the same for the api pointed at it with
+ * {@code GET /v1/employees}, which also needs a successful upstream call. Both are stopped before the next
+ * round. The Gradle task passes the main classes, classpaths and JVM arguments as {@code startup.*} properties.
+ */
+public class StartupBenchmark {
+
+    private static final int ROUNDS = Integer.getInteger("startup.rounds", 5);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_MILLIS = 10;
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        List<String> builds = new ArrayList<>(List.of("standard"));
+        if (System.getProperty("startup.server.fast.classpath") != null) {
+            builds.add("fast");
+        }
+        System.out.printf("time to first successful request, %d rounds%n", ROUNDS);
+        System.out.printf("%-8s %-10s %10s %10s %10s%n", "app", "build", "min ms", "median ms", "max ms");
+        for (String build : builds) {
+            long[] server = new long[ROUNDS];
+            long[] api = new long[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                int serverPort = freePort();
+                int apiPort = freePort();
+                Launched serverApp = null;
+                Launched apiApp = null;
+                try {
+                    long start = System.nanoTime();
+                    serverApp = launch("server", build, "--server.port=" + serverPort);
+                    server[round] =
+                            awaitFirstSuccess(serverApp, "http://localhost:" + serverPort + "/api/v1/employee", start);
+
+                    start = System.nanoTime();
+                    apiApp = launch(
+                            "api",
+                            build,
+                            "--server.port=" + apiPort,
+                            "--mock.base.url=http://localhost:" + serverPort + "/");
+                    api[round] = awaitFirstSuccess(apiApp, "http://localhost:" + apiPort + "/v1/employees", start);
+                } finally {
+                    stop(apiApp);
+                    stop(serverApp);
+                }
+            }
+            report("server", build, server);
+            report("api", build, api);
+        }
+    }
+
+    private static Launched launch(String app, String build, String... appArgs) throws IOException {
+        String prefix = "startup." + app + ("fast".equals(build) ? ".fast" : "");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = System.getProperty(prefix + ".jvm-args", "").trim();
+        if (!jvmArgs.isEmpty()) {
+            command.addAll(Arrays.asList(jvmArgs.split(" ")));
+        }
+        command.add("-cp");
+        command.add(property(prefix + ".classpath"));
+        command.add(property("startup." + app + ".main-class"));
+        command.addAll(Arrays.asList(appArgs));
+        Path log = Files.createTempFile("startup-" + app + "-" + build + "-", ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new Launched(process, log);
+    }
+
+    /**
+     * Polls {@code url} until it answers 2xx.
+     *
+     * @return milliseconds from {@code startNanos} to the first successful response
+     */
+    private static long awaitFirstSuccess(Launched launched, String url, long startNanos) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        long timeoutNanos = startNanos + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() - timeoutNanos < 0) {
+            if (!launched.process().isAlive()) {
+                throw new IllegalStateException(
+                        "Application behind " + url + " exited before answering; see " + launched.log());
+            }
+            try {
+                int status = HTTP.send(request, HttpResponse.BodyHandlers.discarding())
+                        .statusCode();
+                if (status >= 200 && status < 300) {
+                    return (System.nanoTime() - startNanos) / 1_000_000;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new IllegalStateException(
+                url + " did not answer successfully within " + STARTUP_TIMEOUT + "; see " + launched.log());
+    }
+
+    private static void stop(Launched launched) throws InterruptedException {
+        if (launched != null) {
+            launched.process().destroy();
+            if (!launched.process().waitFor(10, TimeUnit.SECONDS)) {
+                launched.process().destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void report(String app, String build, long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        System.out.printf(
+                "%-8s %-10s %10d %10d %10d%n",
+                app, build, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+    }
+
+    private static String property(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalStateException("Missing system property " + name + "; run through Gradle");
+        }
+        return value;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Launched(Process process, Path log) {}
+}
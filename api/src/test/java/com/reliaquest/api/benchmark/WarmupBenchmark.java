@@ -0,0 +1,277 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.NegativeLookupCache;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.CircuitBreakingExternalApiClient;
+import com.reliaquest.api.client.EmployeeLookupBatcher;
+import com.reliaquest.api.client.ExternalApiClient;
+import com.reliaquest.api.client.HedgedRequestExecutor;
+import com.reliaquest.api.client.ShardedExternalApiClient;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.LookupEmployeesRequestDTO;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import com.reliaquest.api.model.SingleEmployeeResponseDTO;
+import com.reliaquest.api.roster.RosterAggregator;
+import com.reliaquest.api.roster.RosterSnapshotHolder;
+import com.reliaquest.api.roster.RosterWarmer;
+import com.reliaquest.api.service.EmployeeService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Compares lookup latency in the first minute after a restart with and without pre-warming the roster and caches.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:warmupBenchmark}, optionally {@code -Pseconds=N} for another
+ * window than 60 seconds. The upstream is an in-process HTTP server holding {@code ROSTER_SIZE} employees that,
+ * like the mock server's {@code RandomRequestLimitInterceptor}, answers 429 for {@code RATE_LIMIT_BACKOFF} once
+ * it has served {@code RATE_LIMIT} requests. Each run starts from an empty api: with warming the roster is fetched
+ * first and traffic only starts once it is done, as a readiness probe would hold it back. Then {@code CLIENTS}
+ * clients look up random employees by id, pausing {@code THINK_MILLIS} between lookups. Failed lookups count with
+ * the time they took to fail.
+ */
+public class WarmupBenchmark {
+
+    private static final int ROSTER_SIZE = 1_000;
+    private static final int CLIENTS = 16;
+    private static final long THINK_MILLIS = 5;
+    private static final long SERVICE_MILLIS = 5;
+    private static final int RATE_LIMIT = 8;
+    private static final Duration RATE_LIMIT_BACKOFF = Duration.ofSeconds(30);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    public static void main(String[] args) throws Exception {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 60;
+        System.out.printf(
+                "%,d employees, %d clients, upstream rate limited for %ds after %d requests, %ds per run%n",
+                ROSTER_SIZE, CLIENTS, RATE_LIMIT_BACKOFF.toSeconds(), RATE_LIMIT, seconds);
+        System.out.printf(
+                "%-8s %9s %10s %10s %8s %8s %8s %9s%n",
+                "warm-up", "ready ms", "lookups", "errors", "p50 ms", "p99 ms", "max ms", "upstream");
+        for (boolean warm : new boolean[] {false, true}) {
+            Upstream upstream = new Upstream();
+            try {
+                run(warm, upstream, seconds);
+            } finally {
+                upstream.server.stop(0);
+            }
+        }
+    }
+
+    private static void run(boolean warm, Upstream upstream, long seconds) throws InterruptedException {
+        RestTemplate restTemplate = new RestTemplate(List.of(new MappingJackson2HttpMessageConverter(MAPPER)));
+        HedgedRequestExecutor noHedging =
+                new HedgedRequestExecutor(false, 95, Duration.ZERO, Duration.ZERO, 0, 0, Duration.ZERO, 1);
+        CircuitBreakingExternalApiClient shard = new CircuitBreakingExternalApiClient(
+                new ExternalApiClient(
+                        "http://localhost:" + upstream.server.getAddress().getPort() + "/",
+                        restTemplate,
+                        noHedging,
+                        2,
+                        Duration.ofMillis(50),
+                        Duration.ofMillis(100)),
+                new CircuitBreaker(20, 10, 50, 80, Duration.ofSeconds(2), Duration.ofSeconds(30), 3),
+                new SimpleMeterRegistry());
+        ShardedExternalApiClient client = new ShardedExternalApiClient(List.of(shard), 512, 1);
+        EmployeeCache employeeCache = new EmployeeCache(10_000, Duration.ofSeconds(60));
+        NegativeLookupCache negativeLookupCache =
+                new NegativeLookupCache(10_000, Duration.ofSeconds(5), false, Duration.ofSeconds(30));
+        RosterSnapshotHolder snapshotHolder = new RosterSnapshotHolder();
+        EmployeeService service = new EmployeeService(
+                client,
+                employeeCache,
+                negativeLookupCache,
+                new EmployeeLookupBatcher(client, true, Duration.ofMillis(2), 100),
+                snapshotHolder,
+                new RosterAggregator(1, Integer.MAX_VALUE));
+
+        long readyMillis = 0;
+        if (warm) {
+            long start = System.nanoTime();
+            new RosterWarmer(
+                            client,
+                            snapshotHolder,
+                            employeeCache,
+                            negativeLookupCache,
+                            true,
+                            Duration.ofSeconds(30),
+                            Duration.ofMillis(500))
+                    .warm();
+            readyMillis = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        List<String> ids = new ArrayList<>(upstream.roster.keySet());
+        AtomicLong errors = new AtomicLong();
+        long end = System.nanoTime() + seconds * 1_000_000_000;
+        List<Latencies> latencies = new ArrayList<>(CLIENTS);
+        List<Thread> threads = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            Latencies samples = new Latencies();
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    long begin = System.nanoTime();
+                    try {
+                        service.findEmployeeById(id);
+                    } catch (RuntimeException ex) {
+                        errors.incrementAndGet();
+                    }
+                    samples.add(System.nanoTime() - begin);
+                    Upstream.sleep(THINK_MILLIS);
+                }
+            });
+            latencies.add(samples);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        client.destroy();
+        noHedging.destroy();
+
+        long[] all = latencies.stream()
+                .flatMapToLong(samples -> Arrays.stream(samples.values, 0, samples.count))
+                .sorted()
+                .toArray();
+        System.out.printf(
+                "%-8s %9s %10d %10d %8.1f %8.1f %8.1f %9d%n",
+                warm ? "on" : "off",
+                warm ? Long.toString(readyMillis) : "-",
+                all.length,
+                errors.get(),
+                millis(all, 50),
+                millis(all, 99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6,
+                upstream.requests.get());
+    }
+
+    private static double millis(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(percentile / 100.0 * sorted.length) - 1] / 1e6;
+    }
+
+    private static class Latencies {
+        private long[] values = new long[4096];
+        private int count;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+    }
+
+    /**
+     * The external API: a fixed roster behind a request limit like the mock server's.
+     */
+    private static class Upstream {
+        private final Map<String, EmployeeDTO> roster = new LinkedHashMap<>();
+        private final HttpServer server;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicInteger served = new AtomicInteger();
+        private volatile long limitedUntilNanos;
+
+        Upstream() throws IOException {
+            for (int i = 0; i < ROSTER_SIZE; i++) {
+                String id = UUID.randomUUID().toString();
+                roster.put(
+                        id,
+                        EmployeeDTO.builder()
+                                .id(id)
+                                .employeeName("Employee " + i)
+                                .employeeSalary(ThreadLocalRandom.current().nextInt(30_000, 300_000))
+                                .employeeAge(30)
+                                .build());
+            }
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+            server.setExecutor(Executors.newFixedThreadPool(CLIENTS));
+            server.createContext("/api/v1/employee", this::handle);
+            server.start();
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            requests.incrementAndGet();
+            if (rateLimited()) {
+                exchange.sendResponseHeaders(429, -1);
+                exchange.close();
+                return;
+            }
+            sleep(SERVICE_MILLIS);
+            String path = exchange.getRequestURI().getPath();
+            String last = path.substring(path.lastIndexOf('/') + 1);
+            Object body;
+            if ("POST".equals(exchange.getRequestMethod()) && "lookup".equals(last)) {
+                LookupEmployeesRequestDTO lookup = MAPPER.readValue(request, LookupEmployeesRequestDTO.class);
+                body = ResponseWrapperDTO.builder()
+                        .data(lookup.getIds().stream()
+                                .map(roster::get)
+                                .filter(employee -> employee != null)
+                                .toList())
+                        .status("OK")
+                        .build();
+            } else if ("employee".equals(last)) {
+                body = ResponseWrapperDTO.builder()
+                        .data(List.copyOf(roster.values()))
+                        .status("OK")
+                        .build();
+            } else if (roster.containsKey(last)) {
+                body = new SingleEmployeeResponseDTO(roster.get(last), "OK");
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            byte[] json = MAPPER.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+
+        private synchronized boolean rateLimited() {
+            long now = System.nanoTime();
+            if (now - limitedUntilNanos < 0) {
+                return true;
+            }
+            if (served.incrementAndGet() > RATE_LIMIT) {
+                served.set(0);
+                limitedUntilNanos = now + RATE_LIMIT_BACKOFF.toNanos();
+                return true;
+            }
+            return false;
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size and parse time of a large roster response in JSON and Smile.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew api:wireFormatBenchmark [-Pemployees=100000]}. Parse time is the
+ * mean of {@code MEASURED_ITERATIONS} full deserialisations of the response into {@link ResponseWrapperDTO}
+ * after {@code WARMUP_ITERATIONS} warm-up rounds. Gzip sizes are included because the mock server compresses
+ * JSON responses but not Smile ones.
+ */
+public class WireFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    public static void main(String[] args) throws IOException {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        ResponseWrapperDTO response = roster(employees);
+
+        System.out.printf("%,d employees%n", employees);
+        System.out.printf("%-6s %14s %14s %12s%n", "format", "bytes", "gzip bytes", "parse ms");
+        // modules as in the application, e.g. parameter names for the constructor-only DTOs
+        report("json", new ObjectMapper().findAndRegisterModules(), response);
+        report("smile", new ObjectMapper(new SmileFactory()).findAndRegisterModules(), response);
+    }
+
+    private static void report(String format, ObjectMapper mapper, ResponseWrapperDTO response) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(response);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.readValue(payload, ResponseWrapperDTO.class);
+        }
+        long start = System.nanoTime();
+        int parsed = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            parsed += mapper.readValue(payload, ResponseWrapperDTO.class)
+                    .getData()
+                    .size();
+        }
+        double parseMillis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        if (parsed != response.getData().size() * MEASURED_ITERATIONS) {
+            throw new IllegalStateException(format + " round trip lost employees");
+        }
+        System.out.printf("%-6s %,14d %,14d %12.1f%n", format, payload.length, gzipSize(payload), parseMillis);
+    }
+
+    private static ResponseWrapperDTO roster(int size) {
+        Random random = new Random(42);
+        List<EmployeeDTO> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = "Employee " + Integer.toString(random.nextInt(1 << 30), 36);
+            employees.add(EmployeeDTO.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .employeeName(name)
+                    .employeeSalary(30_000 + random.nextInt(470_000))
+                    .employeeAge(16 + random.nextInt(54))
+                    .employeeTitle("Title " + random.nextInt(500))
+                    .employeeEmail(name.replace(' ', '.').toLowerCase() + "@company.com")
+                    .build());
+        }
+        return ResponseWrapperDTO.builder()
+                .data(employees)
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    private static int gzipSize(byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(payload);
+        }
+        return bytes.size();
+    }
+}
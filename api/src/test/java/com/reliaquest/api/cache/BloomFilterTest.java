@@ -0,0 +1,55 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void add_concurrentAdds_noValueReportedAbsent() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        // deliberately small, so that the threads keep setting bits in the same words
+        BloomFilter filter = new BloomFilter(1024, 0.01);
+        List<List<String>> values = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<String> own = new ArrayList<>();
+            for (int i = 0; i < perThread; i++) {
+                own.add(UUID.randomUUID().toString());
+            }
+            values.add(own);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> adds = new ArrayList<>();
+            for (List<String> own : values) {
+                adds.add(executor.submit(() -> {
+                    start.await();
+                    own.forEach(filter::add);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> add : adds) {
+                add.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (List<String> own : values) {
+            for (String value : own) {
+                assertTrue(filter.mightContain(value), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NegativeLookupCacheTest {
+
+    private final NegativeLookupCache cache =
+            new NegativeLookupCache(100, Duration.ofSeconds(5), true, Duration.ofSeconds(30));
+
+    @Test
+    void isKnownMissing_idNotInRebuiltRoster_reportedMissing() {
+        cache.rebuild(List.of(employee(UUID.randomUUID().toString())));
+
+        assertTrue(cache.isKnownMissing(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void isKnownMissing_createdThenRebuiltFromOlderRoster_notMissing() {
+        String existing = UUID.randomUUID().toString();
+        String created = UUID.randomUUID().toString();
+        cache.rebuild(List.of(employee(existing)));
+
+        // the create lands between the roster fetch and the rebuild from it
+        cache.recordPresent(employee(created));
+        cache.rebuild(List.of(employee(existing)));
+
+        assertFalse(cache.isKnownMissing(created));
+        assertFalse(cache.isKnownMissing(existing));
+    }
+
+    @Test
+    void isKnownMissing_recordedMissingThenCreated_notMissing() {
+        String id = UUID.randomUUID().toString();
+        cache.recordMissing(id);
+        assertTrue(cache.isKnownMissing(id));
+
+        cache.recordPresent(employee(id));
+
+        assertFalse(cache.isKnownMissing(id));
+    }
+
+    private static EmployeeDTO employee(String id) {
+        return EmployeeDTO.builder().id(id).employeeName("Employee " + id).build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final long FAST_NANOS = Duration.ofMillis(10).toNanos();
+    private static final long SLOW_NANOS = Duration.ofSeconds(3).toNanos();
+
+    @Test
+    void onFailure_failureRateReachesThreshold_opens() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        record(breaker, 5, false, FAST_NANOS);
+        record(breaker, 4, true, FAST_NANOS);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        record(breaker, 1, true, FAST_NANOS);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquirePermission());
+        assertNotEquals(Duration.ZERO, breaker.getRemainingOpenDuration());
+    }
+
+    @Test
+    void onFailure_fewerThanMinimumCalls_staysClosed() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        record(breaker, 9, true, FAST_NANOS);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void onSuccess_slowCallRateReachesThreshold_opens() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        record(breaker, 2, false, FAST_NANOS);
+        record(breaker, 8, false, SLOW_NANOS);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void onSuccess_failuresSlideOutOfWindow_staysClosed() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        record(breaker, 4, true, FAST_NANOS);
+
+        record(breaker, 100, false, FAST_NANOS);
+        record(breaker, 9, true, FAST_NANOS);
+
+        // 9 of the last 20 failed
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void tryAcquirePermission_openDurationElapsed_letsHalfOpenCallsThrough() {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        long third = breaker.tryAcquirePermission();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertNotEquals(CircuitBreaker.REJECTED, first);
+        assertNotEquals(CircuitBreaker.REJECTED, second);
+        assertNotEquals(CircuitBreaker.REJECTED, third);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onSuccess_allProbesSucceed_closes() {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+        long[] probes = {breaker.tryAcquirePermission(), breaker.tryAcquirePermission(), breaker.tryAcquirePermission()
+        };
+
+        for (long probe : probes) {
+            breaker.onSuccess(probe, FAST_NANOS);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        // with a fresh window
+        record(breaker, 9, true, FAST_NANOS);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void onFailure_probeFails_opensAgain() {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+        long probe = breaker.tryAcquirePermission();
+
+        breaker.onFailure(probe, FAST_NANOS);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void onSuccess_probeSlow_opensAgain() {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+        long probe = breaker.tryAcquirePermission();
+
+        breaker.onSuccess(probe, SLOW_NANOS);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void onSuccess_callPermittedWhileClosedCompletesWhileHalfOpen_doesNotCountAsProbe() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        long[] stale = new long[3];
+        for (int i = 0; i < stale.length; i++) {
+            stale[i] = breaker.tryAcquirePermission();
+        }
+        record(breaker, 10, true, FAST_NANOS);
+        long probe = breaker.tryAcquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        for (long permission : stale) {
+            breaker.onSuccess(permission, FAST_NANOS);
+        }
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // and a stale failure does not reopen it either
+        breaker.onFailure(stale[0], FAST_NANOS);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(probe, FAST_NANOS);
+        breaker.onSuccess(breaker.tryAcquirePermission(), FAST_NANOS);
+        breaker.onSuccess(breaker.tryAcquirePermission(), FAST_NANOS);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void onFailure_probeOfEarlierHalfOpenPhase_isIgnored() {
+        CircuitBreaker breaker = opened(Duration.ZERO);
+        long earlierProbe = breaker.tryAcquirePermission();
+        breaker.onFailure(breaker.tryAcquirePermission(), FAST_NANOS);
+        breaker.tryAcquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onFailure(earlierProbe, FAST_NANOS);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    private static CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker(20, 10, 50, 80, Duration.ofSeconds(2), openDuration, 3);
+    }
+
+    private static CircuitBreaker opened(Duration openDuration) {
+        CircuitBreaker breaker = breaker(openDuration);
+        record(breaker, 10, true, FAST_NANOS);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static void record(CircuitBreaker breaker, int calls, boolean failure, long durationNanos) {
+        for (int i = 0; i < calls; i++) {
+            long permission = breaker.tryAcquirePermission();
+            if (failure) {
+                breaker.onFailure(permission, durationNanos);
+            } else {
+                breaker.onSuccess(permission, durationNanos);
+            }
+        }
+    }
+}
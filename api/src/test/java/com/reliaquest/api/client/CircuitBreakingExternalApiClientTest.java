@@ -0,0 +1,69 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class CircuitBreakingExternalApiClientTest {
+
+    private final ExternalApiClient delegate = mock(ExternalApiClient.class);
+
+    @Test
+    void call_timeoutCutShortByDeadline_countsAsFailure() {
+        CircuitBreakingExternalApiClient client = client(1, Duration.ofMinutes(1));
+        given(delegate.getAllEmployees()).willThrow(new ResourceAccessException("Read timed out"));
+
+        assertThrows(
+                DeadlineExceededException.class,
+                () -> Deadline.callWith(Deadline.after(Duration.ZERO), client::getAllEmployees));
+
+        assertEquals(CircuitBreaker.State.OPEN, client.getState());
+    }
+
+    @Test
+    void call_notFound_countsAsSuccess() {
+        CircuitBreakingExternalApiClient client = client(1, Duration.ofMinutes(1));
+        given(delegate.getAllEmployees()).willThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertThrows(HttpClientErrorException.class, client::getAllEmployees);
+
+        assertEquals(CircuitBreaker.State.CLOSED, client.getState());
+    }
+
+    @Test
+    void call_probeThrowsError_releasesProbeAndOpensAgain() {
+        CircuitBreakingExternalApiClient client = client(1, Duration.ZERO);
+        given(delegate.getAllEmployees())
+                .willThrow(new ResourceAccessException("Connection refused"))
+                .willThrow(new StackOverflowError())
+                .willReturn(List.of());
+        assertThrows(UpstreamUnavailableException.class, client::getAllEmployees);
+
+        assertThrows(StackOverflowError.class, client::getAllEmployees);
+
+        assertEquals(CircuitBreaker.State.OPEN, client.getState());
+        // the next probe is let through rather than the circuit waiting on the lost one forever
+        assertEquals(List.of(), client.getAllEmployees());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getState());
+    }
+
+    private CircuitBreakingExternalApiClient client(int minimumCalls, Duration openDuration) {
+        given(delegate.getBaseUrl()).willReturn("http://localhost:8112");
+        return new CircuitBreakingExternalApiClient(
+                delegate,
+                new CircuitBreaker(20, minimumCalls, 50, 80, Duration.ofSeconds(2), openDuration, 1),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+    private static final int VIRTUAL_NODES = 512;
+
+    @Test
+    void shardFor_manyKeys_spreadEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, VIRTUAL_NODES);
+        int[] keysPerShard = new int[4];
+
+        for (int i = 0; i < KEYS; i++) {
+            keysPerShard[ring.shardFor(key(i))]++;
+        }
+
+        for (int shard = 0; shard < keysPerShard.length; shard++) {
+            double share = (double) keysPerShard[shard] / KEYS;
+            assertTrue(share > 0.2 && share < 0.3, "shard " + shard + " owns " + share);
+        }
+    }
+
+    @Test
+    void shardFor_sameKey_sameShard() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, VIRTUAL_NODES);
+        ConsistentHashRing sameRing = new ConsistentHashRing(4, VIRTUAL_NODES);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(ring.shardFor(key(i)), sameRing.shardFor(key(i)));
+        }
+    }
+
+    @Test
+    void shardFor_shardAdded_onlyKeysMovingToItMove() {
+        ConsistentHashRing four = new ConsistentHashRing(4, VIRTUAL_NODES);
+        ConsistentHashRing five = new ConsistentHashRing(5, VIRTUAL_NODES);
+        int moved = 0;
+
+        for (int i = 0; i < KEYS; i++) {
+            int before = four.shardFor(key(i));
+            int after = five.shardFor(key(i));
+            if (before != after) {
+                assertEquals(4, after, "key " + i + " moved between existing shards");
+                moved++;
+            }
+        }
+
+        // ideally a fifth of the keys
+        double movedShare = (double) moved / KEYS;
+        assertTrue(movedShare > 0.15 && movedShare < 0.25, "moved " + movedShare);
+    }
+
+    @Test
+    void shardFor_singleShard_ownsEverything() {
+        ConsistentHashRing ring = new ConsistentHashRing(1, VIRTUAL_NODES);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(0, ring.shardFor(key(i)));
+        }
+    }
+
+    private static String key(int i) {
+        return "employee " + i;
+    }
+}
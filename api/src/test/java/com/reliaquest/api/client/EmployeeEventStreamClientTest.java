@@ -0,0 +1,95 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeEventDTO;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeEventStreamClientTest {
+
+    private final EmployeeEventStreamClient client = new EmployeeEventStreamClient(new ObjectMapper());
+
+    @Test
+    void readEvents_createdEvent_deliversIdTypeAndEmployee() throws IOException {
+        List<EmployeeEventDTO> events = read(
+                "id: 17",
+                "event: created",
+                "data: {\"id\":\"a1\",\"employee_name\":\"Ada\",\"employee_salary\":100}",
+                "");
+
+        assertEquals(1, events.size());
+        assertEquals(17L, events.get(0).id());
+        assertEquals(EmployeeEventDTO.CREATED, events.get(0).type());
+        assertEquals("a1", events.get(0).employee().getId());
+        assertEquals("Ada", events.get(0).employee().getEmployeeName());
+        assertEquals(100, events.get(0).employee().getEmployeeSalary());
+    }
+
+    @Test
+    void readEvents_dataOverSeveralLines_joinedWithNewlines() throws IOException {
+        List<EmployeeEventDTO> events =
+                read("id:3", "event:deleted", "data:{\"id\":\"b2\",", "data: \"employee_name\":\"Bo\"}", "");
+
+        assertEquals(3L, events.get(0).id());
+        assertEquals("b2", events.get(0).employee().getId());
+        assertEquals("Bo", events.get(0).employee().getEmployeeName());
+    }
+
+    @Test
+    void readEvents_commentsAndUnknownFields_ignored() throws IOException {
+        List<EmployeeEventDTO> events = read(
+                ": keep-alive",
+                "",
+                "retry: 1000",
+                "id: 5",
+                ": in between",
+                "event: deleted",
+                "data: {\"id\":\"c3\"}",
+                "");
+
+        assertEquals(1, events.size());
+        assertEquals(5L, events.get(0).id());
+        assertEquals("c3", events.get(0).employee().getId());
+    }
+
+    @Test
+    void readEvents_resetWithoutData_deliveredWithoutEmployee() throws IOException {
+        List<EmployeeEventDTO> events = read("event: reset", "", "event: reset", "data:", "");
+
+        assertEquals(2, events.size());
+        for (EmployeeEventDTO event : events) {
+            assertEquals(EmployeeEventDTO.RESET, event.type());
+            assertNull(event.id());
+            assertNull(event.employee());
+        }
+    }
+
+    @Test
+    void readEvents_idsDoNotCarryOverToNextEvent() throws IOException {
+        List<EmployeeEventDTO> events =
+                read("id: 8", "event: created", "data: {\"id\":\"d4\"}", "", "event: reset", "");
+
+        assertEquals(8L, events.get(0).id());
+        assertNull(events.get(1).id());
+    }
+
+    @Test
+    void readEvents_streamEndsMidEvent_dropsIncompleteEvent() throws IOException {
+        List<EmployeeEventDTO> events =
+                read("id: 1", "event: deleted", "data: {\"id\":\"e5\"}", "", "id: 2", "event: deleted");
+
+        assertEquals(1, events.size());
+        assertEquals(1L, events.get(0).id());
+    }
+
+    private List<EmployeeEventDTO> read(String... lines) throws IOException {
+        List<EmployeeEventDTO> events = new ArrayList<>();
+        client.readEvents(List.of(lines).iterator(), events::add);
+        return events;
+    }
+}
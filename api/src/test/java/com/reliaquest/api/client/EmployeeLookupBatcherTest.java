@@ -0,0 +1,154 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+class EmployeeLookupBatcherTest {
+
+    // long enough that a batch only closes early because it filled up
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    private final IExternalApiClient client = mock(IExternalApiClient.class);
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void getEmployeeById_concurrentMixedCaseIds_resolvedWithOneMultiGet() throws Exception {
+        String found = UUID.randomUUID().toString();
+        String missing = UUID.randomUUID().toString();
+        EmployeeDTO employee = employee(found);
+        given(client.getEmployeesByIds(any())).willReturn(List.of(employee));
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(client, true, WINDOW, 2);
+
+        List<Future<EmployeeDTO>> lookups = lookUp(batcher, found.toUpperCase(Locale.ROOT), mixedCase(missing));
+
+        assertSame(employee, lookups.get(0).get(5, TimeUnit.SECONDS));
+        assertNull(lookups.get(1).get(5, TimeUnit.SECONDS));
+        verify(client).getEmployeesByIds(Set.of(found, missing));
+        verify(client, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void getEmployeeById_sameIdInDifferentCase_sharesOneLookup() throws Exception {
+        String id = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+        given(client.getEmployeesByIds(any())).willReturn(List.of(employee(id), employee(other)));
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(client, true, Duration.ofMillis(500), 100);
+
+        List<Future<EmployeeDTO>> lookups = lookUp(batcher, id, id.toUpperCase(Locale.ROOT), other);
+
+        assertEquals(id, lookups.get(0).get(5, TimeUnit.SECONDS).getId());
+        assertEquals(id, lookups.get(1).get(5, TimeUnit.SECONDS).getId());
+        assertEquals(other, lookups.get(2).get(5, TimeUnit.SECONDS).getId());
+        verify(client, times(1)).getEmployeesByIds(Set.of(id, other));
+        verify(client, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void getEmployeeById_aloneInWindow_usesSingleLookupWithNormalizedId() {
+        String id = UUID.randomUUID().toString();
+        given(client.getEmployeeById(id)).willReturn(employee(id));
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(client, true, Duration.ofMillis(1), 100);
+
+        assertEquals(id, batcher.getEmployeeById(id.toUpperCase(Locale.ROOT)).getId());
+
+        verify(client, never()).getEmployeesByIds(any());
+    }
+
+    @Test
+    void getEmployeeById_multiGetUnavailable_eachCallerLooksUpAlone() throws Exception {
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        given(client.getEmployeesByIds(any())).willReturn(null);
+        given(client.getEmployeeById(first)).willReturn(employee(first));
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(client, true, WINDOW, 2);
+
+        List<Future<EmployeeDTO>> lookups = lookUp(batcher, first, second);
+
+        assertEquals(first, lookups.get(0).get(5, TimeUnit.SECONDS).getId());
+        assertNull(lookups.get(1).get(5, TimeUnit.SECONDS));
+        verify(client).getEmployeeById(first);
+        verify(client).getEmployeeById(second);
+    }
+
+    @Test
+    void getEmployeeById_multiGetFails_failsEveryCaller() throws Exception {
+        HttpServerErrorException failure = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        given(client.getEmployeesByIds(any())).willThrow(failure);
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(client, true, WINDOW, 2);
+
+        List<Future<EmployeeDTO>> lookups =
+                lookUp(batcher, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        for (Future<EmployeeDTO> lookup : lookups) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        verify(client, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void getEmployeeById_notUuid_passedThroughUnbatched() {
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(client, true, WINDOW, 2);
+
+        assertNull(batcher.getEmployeeById("Not-A-Uuid"));
+
+        verify(client).getEmployeeById("Not-A-Uuid");
+        verify(client, never()).getEmployeesByIds(any());
+    }
+
+    @Test
+    void normalizeId_lowerCasesUuidsOnly() {
+        String id = UUID.randomUUID().toString();
+
+        assertEquals(id, EmployeeLookupBatcher.normalizeId(id.toUpperCase(Locale.ROOT)));
+        assertEquals("Not-A-Uuid", EmployeeLookupBatcher.normalizeId("Not-A-Uuid"));
+        assertNull(EmployeeLookupBatcher.normalizeId(null));
+    }
+
+    private List<Future<EmployeeDTO>> lookUp(EmployeeLookupBatcher batcher, String... ids) {
+        List<Future<EmployeeDTO>> lookups = new ArrayList<>();
+        for (String id : ids) {
+            lookups.add(callers.submit(() -> batcher.getEmployeeById(id)));
+        }
+        return lookups;
+    }
+
+    private static String mixedCase(String id) {
+        return id.substring(0, 18).toUpperCase(Locale.ROOT) + id.substring(18);
+    }
+
+    private static EmployeeDTO employee(String id) {
+        return EmployeeDTO.builder().id(id).employeeName("Employee " + id).build();
+    }
+}
@@ -0,0 +1,226 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.LookupEmployeesRequestDTO;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+class ExternalApiClientTest {
+
+    private static final String BASE_URL = "http://localhost:8112/";
+    private static final String EMPLOYEES_URL = BASE_URL + "api/v1/employee";
+    private static final String LOOKUP_URL = EMPLOYEES_URL + "/lookup";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+    private final ExternalApiClient client = new ExternalApiClient(
+            BASE_URL,
+            restTemplate,
+            new HedgedRequestExecutor(false, 95, Duration.ZERO, Duration.ZERO, 0, 0, Duration.ZERO, 1),
+            1,
+            Duration.ZERO,
+            Duration.ZERO);
+
+    @Test
+    void getEmployeesByIds_partialMiss_returnsOnlyTheFound() {
+        String found = UUID.randomUUID().toString();
+        Set<String> ids = new LinkedHashSet<>(List.of(found, UUID.randomUUID().toString()));
+        given(restTemplate.postForObject(
+                        eq(LOOKUP_URL), any(LookupEmployeesRequestDTO.class), eq(ResponseWrapperDTO.class)))
+                .willReturn(ResponseWrapperDTO.builder()
+                        .data(List.of(EmployeeDTO.builder().id(found).build()))
+                        .build());
+
+        List<EmployeeDTO> employees = client.getEmployeesByIds(ids);
+
+        assertEquals(1, employees.size());
+        assertEquals(found, employees.get(0).getId());
+    }
+
+    @Test
+    void getEmployeesByIds_endpointMissing_returnsNullAndStopsAsking() {
+        given(restTemplate.postForObject(
+                        eq(LOOKUP_URL), any(LookupEmployeesRequestDTO.class), eq(ResponseWrapperDTO.class)))
+                .willThrow(HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+        Set<String> ids = Set.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        assertNull(client.getEmployeesByIds(ids));
+        assertNull(client.getEmployeesByIds(ids));
+
+        verify(restTemplate, times(1))
+                .postForObject(eq(LOOKUP_URL), any(LookupEmployeesRequestDTO.class), eq(ResponseWrapperDTO.class));
+    }
+
+    @Test
+    void getEmployeesByIds_rateLimited_propagated() {
+        given(restTemplate.postForObject(
+                        eq(LOOKUP_URL), any(LookupEmployeesRequestDTO.class), eq(ResponseWrapperDTO.class)))
+                .willThrow(HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY, null, null));
+
+        assertThrows(
+                HttpClientErrorException.TooManyRequests.class,
+                () -> client.getEmployeesByIds(Set.of(UUID.randomUUID().toString())));
+    }
+
+    @Test
+    void getAllEmployees_serverErrors_retriedUpToMaxAttempts() {
+        given(restTemplate.getForObject(EMPLOYEES_URL, ResponseWrapperDTO.class))
+                .willThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        assertThrows(HttpServerErrorException.class, () -> retryingClient().getAllEmployees());
+
+        verify(restTemplate, times(3)).getForObject(EMPLOYEES_URL, ResponseWrapperDTO.class);
+    }
+
+    @Test
+    void getAllEmployees_deadlineLeavesLessThanMinAttemptBudget_notRetried() {
+        given(restTemplate.getForObject(EMPLOYEES_URL, ResponseWrapperDTO.class))
+                .willThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+        ExternalApiClient retryingClient = retryingClient();
+
+        assertThrows(
+                HttpServerErrorException.class,
+                () -> Deadline.callWith(Deadline.after(Duration.ofMillis(500)), retryingClient::getAllEmployees));
+
+        verify(restTemplate, times(1)).getForObject(EMPLOYEES_URL, ResponseWrapperDTO.class);
+    }
+
+    @Test
+    void streamAllEmployees_largeRoster_passesEmployeesOnAsTheyAreRead() throws Exception {
+        RosterBody body = new RosterBody(200_000);
+        given(restTemplate.getMessageConverters()).willReturn(new RestTemplate().getMessageConverters());
+        given(restTemplate.execute(eq(EMPLOYEES_URL), eq(HttpMethod.GET), any(), any()))
+                .willAnswer(invocation ->
+                        invocation.<ResponseExtractor<?>>getArgument(3).extractData(response(body)));
+        long[] maxReadAhead = {0};
+        int[] next = {0};
+
+        int streamed = client.streamAllEmployees(employee -> {
+            assertEquals(String.valueOf(next[0]), employee.getId());
+            assertEquals(next[0], employee.getEmployeeSalary());
+            next[0]++;
+            maxReadAhead[0] = Math.max(maxReadAhead[0], body.read - body.endOf(next[0]));
+        });
+
+        assertEquals(200_000, streamed);
+        assertEquals(200_000, next[0]);
+        // a roster of some 20 MB is parsed through a parser buffer, not read into memory first
+        assertTrue(maxReadAhead[0] < 64 * 1024, "read ahead " + maxReadAhead[0]);
+    }
+
+    private static ClientHttpResponse response(InputStream body) throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        given(response.getHeaders()).willReturn(headers);
+        given(response.getBody()).willReturn(body);
+        return response;
+    }
+
+    /**
+     * A roster response of generated employees, produced as it is read and counting the bytes read.
+     */
+    private static final class RosterBody extends InputStream {
+
+        private static final byte[] HEAD =
+                "{\"status\":\"Successfully processed request.\",\"data\":[".getBytes(StandardCharsets.UTF_8);
+        private static final byte[] TAIL = "]}".getBytes(StandardCharsets.UTF_8);
+
+        private final int employees;
+        private final long[] ends;
+        private byte[] chunk = HEAD;
+        private int position;
+        private int generated;
+        private long read;
+
+        RosterBody(int employees) {
+            this.employees = employees;
+            this.ends = new long[employees + 1];
+        }
+
+        /**
+         * @return the number of bytes up to the end of the given number of employees, once they were read
+         */
+        long endOf(int employees) {
+            return ends[employees];
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == chunk.length && !nextChunk()) {
+                return -1;
+            }
+            int n = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset, n);
+            position += n;
+            read += n;
+            return n;
+        }
+
+        private boolean nextChunk() {
+            if (generated > employees) {
+                return false;
+            }
+            if (generated == employees) {
+                chunk = TAIL;
+            } else {
+                chunk = ((generated > 0 ? "," : "") + "{\"id\":\"" + generated + "\",\"employee_name\":\"Employee "
+                                + generated + "\",\"employee_salary\":" + generated
+                                + ",\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"e"
+                                + generated + "@company.com\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                ends[generated + 1] = read + chunk.length;
+            }
+            generated++;
+            position = 0;
+            return true;
+        }
+    }
+
+    private ExternalApiClient retryingClient() {
+        return new ExternalApiClient(
+                BASE_URL,
+                restTemplate,
+                new HedgedRequestExecutor(false, 95, Duration.ZERO, Duration.ZERO, 0, 0, Duration.ZERO, 1),
+                3,
+                Duration.ofMillis(1),
+                Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,152 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.deadline.UpstreamCancellation;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class HedgedRequestExecutorTest {
+
+    private static final String UPSTREAM = "http://localhost:8112/";
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+
+    private HedgedRequestExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.destroy();
+        }
+        MDC.clear();
+    }
+
+    @Test
+    void execute_slowPrimary_hedgeWinsAndPrimaryIsAborted() {
+        executor = hedging(100, 10, 4);
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> primaryThread = new AtomicReference<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(UPSTREAM, "getAll", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                primaryThread.set(Thread.currentThread());
+                UpstreamCancellation.registerInterrupt();
+                sleep(Duration.ofSeconds(5));
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(caller, primaryThread.get());
+        assertEquals(1, executor.getHedgesIssued());
+        assertEquals(1, executor.getHedgesWon());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void execute_fastPrimary_notHedged() {
+        executor = hedging(100, 10, 4);
+
+        assertEquals("primary", executor.execute(UPSTREAM, "getAll", () -> "primary"));
+
+        assertEquals(0, executor.getHedgesIssued());
+    }
+
+    @Test
+    void execute_budgetExhausted_hedgesOnlyWhatWasEarned() {
+        // each call earns half a hedge, and at most one hedge can be saved up
+        executor = hedging(50, 1, 4);
+
+        for (int i = 0; i < 4; i++) {
+            executor.execute(UPSTREAM, "getAll", slowCall(Duration.ofMillis(150)));
+        }
+
+        assertEquals(2, executor.getHedgesIssued());
+    }
+
+    @Test
+    void execute_rateLimited_suspendsHedging() {
+        executor = hedging(100, 10, 4);
+        HttpClientErrorException tooManyRequests = HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY, null, null);
+
+        assertThrows(
+                HttpClientErrorException.TooManyRequests.class,
+                () -> executor.execute(UPSTREAM, "getAll", () -> {
+                    throw tooManyRequests;
+                }));
+        executor.execute(UPSTREAM, "getAll", slowCall(Duration.ofMillis(150)));
+        executor.execute("http://localhost:8113/", "getAll", slowCall(Duration.ofMillis(150)));
+
+        assertEquals(1, executor.getHedgesIssued());
+    }
+
+    @Test
+    void execute_hedgePoolBusy_hedgeNotSent() throws Exception {
+        executor = hedging(100, 10, 1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> executor.execute(UPSTREAM, "getAll", slowCall(Duration.ofMillis(500))));
+        while (executor.getHedgesIssued() == 0) {
+            sleep(Duration.ofMillis(5));
+        }
+
+        executor.execute(UPSTREAM, "getAll", slowCall(Duration.ofMillis(150)));
+        first.get();
+
+        assertEquals(1, executor.getHedgesIssued());
+        assertEquals(1, executor.getHedgesRejected());
+    }
+
+    @Test
+    void execute_hedge_runsWithCallersLoggingContext() {
+        executor = hedging(100, 10, 4);
+        AtomicReference<String> hedgeRequestId = new AtomicReference<>();
+        AtomicInteger attempts = new AtomicInteger();
+        MDC.put("requestId", "abc123");
+
+        executor.execute(UPSTREAM, "getAll", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                UpstreamCancellation.registerInterrupt();
+                sleep(Duration.ofSeconds(5));
+            } else {
+                hedgeRequestId.set(MDC.get("requestId"));
+            }
+            return "ok";
+        });
+
+        assertEquals("abc123", hedgeRequestId.get());
+    }
+
+    private static HedgedRequestExecutor hedging(double budgetPercent, int maxBurst, int poolSize) {
+        return new HedgedRequestExecutor(
+                true, 95, HEDGE_DELAY, HEDGE_DELAY, budgetPercent, maxBurst, Duration.ofSeconds(60), poolSize);
+    }
+
+    private static Supplier<String> slowCall(Duration latency) {
+        return () -> {
+            sleep(latency);
+            return "ok";
+        };
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException("Aborted", ex);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.reliaquest.api.deadline.UpstreamCancellation;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ShardedExternalApiClientTest {
+
+    private static final int VIRTUAL_NODES = 64;
+
+    private final List<CircuitBreakingExternalApiClient> shards = List.of(
+            mock(CircuitBreakingExternalApiClient.class),
+            mock(CircuitBreakingExternalApiClient.class),
+            mock(CircuitBreakingExternalApiClient.class));
+
+    private final ShardedExternalApiClient client = new ShardedExternalApiClient(shards, VIRTUAL_NODES, 4);
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+    }
+
+    @Test
+    void getAllEmployees_severalShards_concatenatedInShardOrder() {
+        AtomicReference<Thread> firstShardThread = new AtomicReference<>();
+        given(shards.get(0).getAllEmployees()).willAnswer(invocation -> {
+            firstShardThread.set(Thread.currentThread());
+            // answers last
+            Thread.sleep(100);
+            return employees("a1", "a2");
+        });
+        given(shards.get(1).getAllEmployees()).willReturn(employees("b1"));
+        given(shards.get(2).getAllEmployees()).willReturn(employees("c1", "c2"));
+
+        List<EmployeeDTO> employees = client.getAllEmployees();
+
+        assertEquals(List.of("a1", "a2", "b1", "c1", "c2"), ids(employees));
+        assertSame(Thread.currentThread(), firstShardThread.get());
+    }
+
+    @Test
+    void getAllEmployees_oneShardFails_fails() {
+        UpstreamUnavailableException failure = new UpstreamUnavailableException("shard down", null);
+        given(shards.get(0).getAllEmployees()).willReturn(employees("a1"));
+        given(shards.get(1).getAllEmployees()).willThrow(failure);
+        given(shards.get(2).getAllEmployees()).willReturn(employees("c1"));
+
+        assertSame(failure, assertThrows(UpstreamUnavailableException.class, client::getAllEmployees));
+    }
+
+    @Test
+    void getAllEmployees_firstShardFails_slowShardsAborted() throws Exception {
+        CountDownLatch sent = new CountDownLatch(2);
+        CountDownLatch aborted = new CountDownLatch(2);
+        given(shards.get(0).getAllEmployees()).willAnswer(invocation -> {
+            sent.await(1, TimeUnit.SECONDS);
+            throw new UpstreamUnavailableException("shard down", null);
+        });
+        for (CircuitBreakingExternalApiClient shard : shards.subList(1, 3)) {
+            given(shard.getAllEmployees()).willAnswer(invocation -> {
+                CountDownLatch abort = new CountDownLatch(1);
+                UpstreamCancellation.register(() -> {
+                    abort.countDown();
+                    aborted.countDown();
+                });
+                sent.countDown();
+                abort.await(5, TimeUnit.SECONDS);
+                return employees("late");
+            });
+        }
+
+        assertThrows(UpstreamUnavailableException.class, client::getAllEmployees);
+
+        assertTrue(aborted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void streamAllEmployees_secondShardFails_failsAfterPassingOnFirstShard() {
+        UpstreamUnavailableException failure = new UpstreamUnavailableException("shard down", null);
+        given(shards.get(0).streamAllEmployees(any())).willAnswer(invocation -> {
+            employees("a1", "a2").forEach(invocation.<Consumer<EmployeeDTO>>getArgument(0));
+            return 2;
+        });
+        given(shards.get(1).streamAllEmployees(any())).willThrow(failure);
+        List<EmployeeDTO> streamed = new ArrayList<>();
+
+        assertSame(
+                failure,
+                assertThrows(UpstreamUnavailableException.class, () -> client.streamAllEmployees(streamed::add)));
+
+        assertEquals(List.of("a1", "a2"), ids(streamed));
+        verify(shards.get(2), never()).streamAllEmployees(any());
+    }
+
+    @Test
+    void getTopEmployeesBySalary_severalShards_mergedToOverallTop() {
+        given(shards.get(0).getTopEmployeesBySalary(3, "name,salary"))
+                .willReturn(List.of(employee("a1", 90), employee("a2", 50), employee("a3", 10)));
+        given(shards.get(1).getTopEmployeesBySalary(3, "name,salary"))
+                .willReturn(List.of(employee("b1", 100), employee("b2", 40), employee("b3", null)));
+        given(shards.get(2).getTopEmployeesBySalary(3, "name,salary")).willReturn(List.of());
+
+        List<EmployeeDTO> top = client.getTopEmployeesBySalary(3, "name,salary");
+
+        assertEquals(List.of("b1", "a1", "a2"), ids(top));
+    }
+
+    @Test
+    void getHighestSalary_severalShards_highestOfTheirMaxima() {
+        given(shards.get(0).getHighestSalary()).willReturn(90);
+        given(shards.get(1).getHighestSalary()).willReturn(120);
+        given(shards.get(2).getHighestSalary()).willReturn(30);
+
+        assertEquals(120, client.getHighestSalary());
+    }
+
+    @Test
+    void getHighestSalary_oneShardLacksAggregate_returnsNull() {
+        given(shards.get(0).getHighestSalary()).willReturn(90);
+        given(shards.get(1).getHighestSalary()).willReturn(null);
+        given(shards.get(2).getHighestSalary()).willReturn(30);
+
+        assertNull(client.getHighestSalary());
+    }
+
+    @Test
+    void getEmployeeById_foundWhileAnotherShardFails_returnsEmployee() {
+        given(shards.get(0).getEmployeeById("id")).willThrow(new UpstreamUnavailableException("shard down", null));
+        given(shards.get(2).getEmployeeById("id")).willReturn(employee("id", 10));
+
+        assertEquals("id", client.getEmployeeById("id").getId());
+    }
+
+    @Test
+    void getEmployeeById_notFoundAndOneShardFailed_fails() {
+        given(shards.get(1).getEmployeeById("id")).willThrow(new UpstreamUnavailableException("shard down", null));
+
+        assertThrows(UpstreamUnavailableException.class, () -> client.getEmployeeById("id"));
+    }
+
+    @Test
+    void getEmployeeById_onNoShard_returnsNull() {
+        assertNull(client.getEmployeeById("id"));
+    }
+
+    @Test
+    void getEmployeesByIds_oneShardLacksEndpoint_returnsNull() {
+        given(shards.get(0).getEmployeesByIds(any())).willReturn(employees("a1"));
+        given(shards.get(1).getEmployeesByIds(any())).willReturn(null);
+        given(shards.get(2).getEmployeesByIds(any())).willReturn(List.of());
+
+        assertNull(client.getEmployeesByIds(Set.of("a1", "b1")));
+    }
+
+    @Test
+    void createEmployee_routedToShardOwningName() {
+        CreateEmployeeInput input =
+                CreateEmployeeInput.builder().name("Jane Doe").build();
+        int owner = new ConsistentHashRing(shards.size(), VIRTUAL_NODES).shardFor("jane doe");
+
+        client.createEmployee(input);
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (shard == owner) {
+                verify(shards.get(shard)).createEmployee(input);
+            } else {
+                verify(shards.get(shard), never()).createEmployee(any());
+            }
+        }
+    }
+
+    @Test
+    void deleteEmployeeByName_nameHeldByOtherShard_deletedThere() {
+        String name = "Seeded Employee";
+        int owner = new ConsistentHashRing(shards.size(), VIRTUAL_NODES).shardFor(name.toLowerCase(Locale.ROOT));
+        int holder = (owner + 1) % shards.size();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            given(shards.get(shard).searchEmployeesByName(name))
+                    .willReturn(
+                            shard == holder
+                                    ? List.of(EmployeeDTO.builder()
+                                            .employeeName(name)
+                                            .build())
+                                    : List.of());
+        }
+
+        client.deleteEmployeeByName(name);
+
+        verify(shards.get(holder)).deleteEmployeeByName(name);
+        verify(shards.get(owner), never()).deleteEmployeeByName(any());
+    }
+
+    private static EmployeeDTO employee(String id, Integer salary) {
+        return EmployeeDTO.builder().id(id).employeeSalary(salary).build();
+    }
+
+    private static List<EmployeeDTO> employees(String... ids) {
+        return Arrays.stream(ids).map(id -> employee(id, null)).toList();
+    }
+
+    private static List<String> ids(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getId).toList();
+    }
+}
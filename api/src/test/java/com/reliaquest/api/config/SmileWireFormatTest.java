@@ -0,0 +1,83 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.web.client.RestTemplate;
+
+class SmileWireFormatTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Test
+    void read_rosterWrittenByMockServer_sameAsSent() throws Exception {
+        MockEmployee employee = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Jane Doe")
+                .salary(120_000)
+                .age(41)
+                .title("Engineer")
+                .email("jane@company.com")
+                .build();
+        MockEmployee unnamed = MockEmployee.builder().id(UUID.randomUUID()).build();
+        byte[] body = new ServerConfiguration()
+                .smileHttpMessageConverter(new Jackson2ObjectMapperBuilder())
+                .getObjectMapper()
+                .writeValueAsBytes(Response.handledWith(List.of(employee, unnamed)));
+
+        ResponseWrapperDTO response = readAsApi(body);
+
+        assertEquals(2, response.getData().size());
+        EmployeeDTO read = response.getData().get(0);
+        assertEquals(employee.getId().toString(), read.getId());
+        assertEquals("Jane Doe", read.getEmployeeName());
+        assertEquals(120_000, read.getEmployeeSalary());
+        assertEquals(41, read.getEmployeeAge());
+        assertEquals("Engineer", read.getEmployeeTitle());
+        assertEquals("jane@company.com", read.getEmployeeEmail());
+        EmployeeDTO readUnnamed = response.getData().get(1);
+        assertEquals(unnamed.getId().toString(), readUnnamed.getId());
+        assertNull(readUnnamed.getEmployeeName());
+        assertNull(readUnnamed.getEmployeeSalary());
+    }
+
+    @Test
+    void read_idWrittenAsBinaryUuid_readAsThatUuid() throws Exception {
+        UUID id = UUID.randomUUID();
+        // Jackson's default Smile mapping of a UUID
+        byte[] body = new ObjectMapper(new SmileFactory()).writeValueAsBytes(Map.of("data", List.of(Map.of("id", id))));
+
+        ResponseWrapperDTO response = readAsApi(body);
+
+        assertEquals(id.toString(), response.getData().get(0).getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseWrapperDTO readAsApi(byte[] body) throws Exception {
+        // the converter RestTemplateConfig's RestTemplate reads Smile responses with
+        HttpMessageConverter<Object> converter = (HttpMessageConverter<Object>) new RestTemplate()
+                .getMessageConverters().stream()
+                        .filter(MappingJackson2SmileHttpMessageConverter.class::isInstance)
+                        .findFirst()
+                        .orElseThrow();
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().setContentType(SMILE);
+        return (ResponseWrapperDTO) converter.read(ResponseWrapperDTO.class, message);
+    }
+}
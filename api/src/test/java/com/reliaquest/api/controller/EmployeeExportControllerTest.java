@@ -0,0 +1,125 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.service.IEmployeeService;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class EmployeeExportControllerTest {
+
+    private final IEmployeeService employeeService = mock(IEmployeeService.class);
+
+    private final EmployeeExportController controller =
+            new EmployeeExportController(employeeService, new ObjectMapper(), 1);
+
+    @Test
+    void exportEmployees_maxConcurrentRunning_returns429UntilOneEnds() throws Exception {
+        ResponseEntity<StreamingResponseBody> running = export("csv");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, export("ndjson").getStatusCode());
+
+        running.getBody().writeTo(new ByteArrayOutputStream());
+        assertEquals(HttpStatus.OK, export("ndjson").getStatusCode());
+    }
+
+    @Test
+    void exportEmployees_failsBeforeAnythingSent_rethrownForErrorResponse() {
+        UpstreamUnavailableException failure = new UpstreamUnavailableException("down", null);
+        given(employeeService.exportEmployees(any())).willThrow(failure);
+
+        ResponseEntity<StreamingResponseBody> export = export("ndjson");
+
+        assertSame(failure, assertThrows(UpstreamUnavailableException.class, () -> export.getBody()
+                .writeTo(new ByteArrayOutputStream())));
+        assertEquals(HttpStatus.OK, export("ndjson").getStatusCode());
+    }
+
+    @Test
+    void exportEmployees_failsAfterResponseCommitted_aborted() {
+        UpstreamUnavailableException failure = new UpstreamUnavailableException("down", null);
+        given(employeeService.exportEmployees(any())).willThrow(failure);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCommitted(true);
+
+        ResponseEntity<StreamingResponseBody> export = controller.exportEmployees("csv", response);
+
+        EmployeeExportController.ExportAbortedException aborted =
+                assertThrows(EmployeeExportController.ExportAbortedException.class, () -> export.getBody()
+                        .writeTo(new ByteArrayOutputStream()));
+        assertThrows(
+                EmployeeExportController.ExportAbortedException.class, () -> controller.handleExportAborted(aborted));
+    }
+
+    @Test
+    void exportEmployees_largeRoster_heapDoesNotGrowWithIt() throws Exception {
+        EmployeeDTO employee = EmployeeDTO.builder()
+                .id("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507")
+                .employeeName("Tiger Nixon")
+                .employeeSalary(320_800)
+                .employeeAge(61)
+                .employeeTitle("Vice Chair Executive Principal")
+                .employeeEmail("tnixon@company.com")
+                .build();
+        int employees = 500_000;
+        long[] heapUsed = new long[2];
+        given(employeeService.exportEmployees(any())).willAnswer(invocation -> {
+            Consumer<EmployeeDTO> consumer = invocation.getArgument(0);
+            for (int i = 0; i < employees; i++) {
+                consumer.accept(employee);
+                if (i == employees / 10) {
+                    heapUsed[0] = heapUsedAfterGc();
+                }
+            }
+            heapUsed[1] = heapUsedAfterGc();
+            return employees;
+        });
+        CountingOutputStream out = new CountingOutputStream();
+
+        export("ndjson").getBody().writeTo(out);
+
+        // some 80 MB written, of which nothing is kept between the two measurements
+        assertTrue(out.count > employees * 150L, "wrote " + out.count);
+        long growth = heapUsed[1] - heapUsed[0];
+        assertTrue(growth < 8 * 1024 * 1024, "heap grew by " + growth + " bytes");
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String format) {
+        return controller.exportEmployees(format, new MockHttpServletResponse());
+    }
+
+    private static long heapUsedAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
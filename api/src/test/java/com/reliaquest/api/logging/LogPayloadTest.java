@@ -0,0 +1,86 @@
+package com.reliaquest.api.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LogPayloadTest {
+
+    @Test
+    void capped_shortPayload_renderedAsIs() {
+        assertEquals("Ada", LogPayload.capped("Ada").toString());
+        assertEquals("null", LogPayload.capped(null).toString());
+        assertEquals(
+                "x".repeat(LogPayload.MAX_CHARS),
+                LogPayload.capped("x".repeat(LogPayload.MAX_CHARS)).toString());
+    }
+
+    @Test
+    void capped_longPayload_cutWithItsLength() {
+        String payload = "x".repeat(300);
+
+        assertEquals(
+                "x".repeat(LogPayload.MAX_CHARS) + "... (300 chars)",
+                LogPayload.capped(payload).toString());
+    }
+
+    @Test
+    void capped_smallCollection_renderedAsList() {
+        assertEquals("[a, b]", LogPayload.capped(List.of("a", "b")).toString());
+        assertEquals("[]", LogPayload.capped(List.of()).toString());
+    }
+
+    @Test
+    void capped_largeCollection_cutWithCountOfElementsNotShown() {
+        List<String> payload = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            payload.add(String.format("e%03d", i));
+        }
+
+        // 43 elements of "eNNN, " reach the cap
+        assertEquals(
+                payload.toString().substring(0, LogPayload.MAX_CHARS) + "..., ... 957 more]",
+                LogPayload.capped(payload).toString());
+    }
+
+    @Test
+    void capped_collectionEndingWithinCap_notCut() {
+        List<String> payload = List.of("x".repeat(100), "y".repeat(100));
+
+        assertEquals(payload.toString(), LogPayload.capped(payload).toString());
+    }
+
+    @Test
+    void capped_lastElementCrossesCap_cutWithoutCount() {
+        List<String> payload = List.of("x".repeat(200), "y".repeat(200));
+
+        assertEquals(
+                payload.toString().substring(0, LogPayload.MAX_CHARS) + "...]",
+                LogPayload.capped(payload).toString());
+    }
+
+    @Test
+    void capped_largeCollection_rendersOnlyElementsShown() {
+        AtomicInteger rendered = new AtomicInteger();
+        List<Object> payload = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            payload.add(new Object() {
+                @Override
+                public String toString() {
+                    rendered.incrementAndGet();
+                    return "element";
+                }
+            });
+        }
+
+        Object capped = LogPayload.capped(payload);
+        assertEquals(0, rendered.get());
+        capped.toString();
+
+        // "element, " is 9 characters
+        assertEquals(29, rendered.get());
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.api.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+class FlightRecordingEndpointTest {
+
+    private static final Duration LONG = Duration.ofMinutes(1);
+
+    private final FlightRecordingEndpoint endpoint =
+            new FlightRecordingEndpoint(LONG, Duration.ofMinutes(5), DataSize.ofMegabytes(10), 2);
+
+    @AfterEach
+    void tearDown() {
+        endpoint.destroy();
+    }
+
+    @Test
+    void start_noRecordingRunning_startsOne() {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(LONG, "default");
+
+        assertEquals(WebEndpointResponse.STATUS_OK, started.getStatus());
+        assertEquals(RecordingState.RUNNING, started.getBody().get("state"));
+        assertEquals(1, endpoint.recordings().size());
+    }
+
+    @Test
+    void start_recordingRunning_returns409() {
+        endpoint.start(LONG, "default");
+
+        assertEquals(409, endpoint.start(LONG, "default").getStatus());
+        assertEquals(1, endpoint.recordings().size());
+    }
+
+    @Test
+    void start_unknownSettings_returns400() {
+        assertEquals(
+                WebEndpointResponse.STATUS_BAD_REQUEST,
+                endpoint.start(LONG, "no-such-settings").getStatus());
+    }
+
+    @Test
+    void download_whileRunning_returns409() {
+        long id = id(endpoint.start(LONG, "default"));
+
+        assertEquals(409, endpoint.download(id).getStatus());
+    }
+
+    @Test
+    void download_afterStop_returnsRecordingFile() throws Exception {
+        long id = id(endpoint.start(LONG, "default"));
+
+        WebEndpointResponse<Map<String, Object>> stopped = endpoint.stop(id);
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+
+        assertNotEquals(RecordingState.RUNNING, stopped.getBody().get("state"));
+        assertEquals(WebEndpointResponse.STATUS_OK, download.getStatus());
+        assertTrue(download.getBody().contentLength() > 0);
+    }
+
+    @Test
+    void start_moreThanKept_evictsOldestAndDeletesItsFile() throws Exception {
+        long first = id(endpoint.start(LONG, "default"));
+        endpoint.stop(first);
+        Path firstFile = endpoint.download(first).getBody().getFile().toPath();
+        endpoint.stop(id(endpoint.start(LONG, "default")));
+
+        long third = id(endpoint.start(LONG, "default"));
+
+        assertFalse(Files.exists(firstFile));
+        assertEquals(
+                WebEndpointResponse.STATUS_NOT_FOUND, endpoint.download(first).getStatus());
+        List<Map<String, Object>> recordings = endpoint.recordings();
+        assertEquals(2, recordings.size());
+        assertEquals(third, recordings.get(1).get("id"));
+    }
+
+    @Test
+    void destroy_deletesRecordingsAndTheirDirectory() throws Exception {
+        long id = id(endpoint.start(LONG, "default"));
+        endpoint.stop(id);
+        Path file = endpoint.download(id).getBody().getFile().toPath();
+
+        endpoint.destroy();
+
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(file.getParent()));
+        assertTrue(endpoint.recordings().isEmpty());
+    }
+
+    private static long id(WebEndpointResponse<Map<String, Object>> response) {
+        return (long) response.getBody().get("id");
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RosterAggregatorTest {
+
+    // with 4 workers the roster is split into segments of 1024 employees
+    private static final int SEGMENTED_ROSTER_SIZE = 4 * 4 * 1024;
+
+    private final RosterAggregator sequential = new RosterAggregator(1, Integer.MAX_VALUE);
+    private final RosterAggregator parallel = new RosterAggregator(4, 0);
+
+    @AfterEach
+    void tearDown() {
+        parallel.destroy();
+    }
+
+    @Test
+    void aggregation_largeRoster_parallelResultsMatchSequential() {
+        Random random = new Random(7);
+        List<EmployeeDTO> roster = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            roster.add(EmployeeDTO.builder()
+                    .id(String.valueOf(i))
+                    .employeeName("Employee " + random.nextInt(10_000))
+                    .employeeSalary(random.nextInt(50) == 0 ? null : random.nextInt(500))
+                    .build());
+        }
+
+        assertEquals(sequential.highestSalary(roster), parallel.highestSalary(roster));
+        for (int count : new int[] {0, 10, 100, 60_000}) {
+            assertEquals(sequential.topBySalary(roster, count), parallel.topBySalary(roster, count));
+        }
+        assertEquals(
+                sequential.filter(roster, e -> e.getEmployeeName().contains("99")),
+                parallel.filter(roster, e -> e.getEmployeeName().contains("99")));
+    }
+
+    @Test
+    void topBySalary_tiesAcrossSegmentBoundaries_keepRosterOrder() {
+        // the highest salaries sit on both sides of segment boundaries
+        List<Integer> tied = List.of(1023, 1024, 2047, 2048, 4095, 4096, 8191, 8192);
+        List<EmployeeDTO> roster = roster(SEGMENTED_ROSTER_SIZE, i -> tied.contains(i) ? 1000 : i % 500);
+
+        assertEquals(indexes(tied.subList(0, 3)), ids(parallel.topBySalary(roster, 3)));
+        assertEquals(indexes(tied), ids(parallel.topBySalary(roster, tied.size())));
+        // counts above the selection limit are sorted rather than selected
+        assertEquals(indexes(tied), ids(parallel.topBySalary(roster, 100).subList(0, tied.size())));
+        assertEquals(sequential.topBySalary(roster, 100), parallel.topBySalary(roster, 100));
+    }
+
+    @Test
+    void filter_matchesAcrossSegmentBoundaries_keepRosterOrder() {
+        Set<Integer> matching = Set.of(0, 1023, 1024, 8191, 8192, SEGMENTED_ROSTER_SIZE - 1);
+        List<EmployeeDTO> roster = roster(SEGMENTED_ROSTER_SIZE, i -> matching.contains(i) ? 1 : 0);
+
+        List<EmployeeDTO> matches = parallel.filter(roster, e -> e.getEmployeeSalary() == 1);
+
+        assertEquals(List.of("0", "1023", "1024", "8191", "8192", "16383"), ids(matches));
+    }
+
+    @Test
+    void aggregation_notRandomAccess_matchesRandomAccessRoster() {
+        List<EmployeeDTO> roster = roster(SEGMENTED_ROSTER_SIZE, i -> i % 1000 == 999 ? null : (i * 31) % 1000);
+        List<EmployeeDTO> linked = new LinkedList<>(roster);
+
+        assertEquals(parallel.highestSalary(roster), parallel.highestSalary(linked));
+        assertEquals(parallel.topBySalary(roster, 10), parallel.topBySalary(linked, 10));
+        assertEquals(parallel.topBySalary(roster, 100), parallel.topBySalary(linked, 100));
+        assertEquals(
+                parallel.filter(roster, e -> e.getEmployeeSalary() == null),
+                parallel.filter(linked, e -> e.getEmployeeSalary() == null));
+    }
+
+    @Test
+    void highestSalary_noSalaries_returnsZero() {
+        List<EmployeeDTO> roster = roster(SEGMENTED_ROSTER_SIZE, i -> null);
+
+        assertEquals(0, parallel.highestSalary(roster));
+        assertEquals(List.of(), parallel.topBySalary(roster, 10));
+    }
+
+    private static List<EmployeeDTO> roster(int size, IntFunction<Integer> salary) {
+        List<EmployeeDTO> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(EmployeeDTO.builder()
+                    .id(String.valueOf(i))
+                    .employeeName("Employee " + i)
+                    .employeeSalary(salary.apply(i))
+                    .build());
+        }
+        return roster;
+    }
+
+    private static List<String> ids(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getId).toList();
+    }
+
+    private static List<String> indexes(List<Integer> indexes) {
+        return indexes.stream().map(String::valueOf).toList();
+    }
+}
@@ -0,0 +1,215 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.reliaquest.api.client.EmployeeEventStreamClient;
+import com.reliaquest.api.client.IExternalApiClient;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.EmployeeEventDTO;
+import com.reliaquest.api.model.VersionedRosterDTO;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+class RosterEventSubscriberTest {
+
+    private final IExternalApiClient externalApiClient = mock(IExternalApiClient.class);
+    private final EmployeeEventStreamClient eventStreamClient = mock(EmployeeEventStreamClient.class);
+    private final RosterSnapshotHolder snapshotHolder = new RosterSnapshotHolder();
+
+    // the last event id each stream call resumed from, in call order
+    private final BlockingQueue<Long> resumedFrom = new LinkedBlockingQueue<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private RosterEventSubscriber subscriber;
+
+    @AfterEach
+    void tearDown() {
+        stopped.countDown();
+        if (subscriber != null) {
+            subscriber.stop();
+        }
+    }
+
+    @Test
+    void start_disabled_neverLoadsRoster() {
+        subscriber = new RosterEventSubscriber(
+                externalApiClient, eventStreamClient, snapshotHolder, false, Duration.ofMillis(10));
+
+        subscriber.start();
+
+        assertFalse(subscriber.isRunning());
+        verify(externalApiClient, times(0)).getVersionedRoster();
+    }
+
+    @Test
+    void start_followsStreamFromLoadedVersion_appliesEventsAndResumesFromLastApplied() throws Exception {
+        given(externalApiClient.getVersionedRoster()).willReturn(roster(10L, employee("a1")));
+        willAnswer(stream((onOpen, events) -> {
+                    onOpen.run();
+                    events.accept(new EmployeeEventDTO(11L, EmployeeEventDTO.CREATED, employee("b2")));
+                    events.accept(new EmployeeEventDTO(12L, EmployeeEventDTO.DELETED, employee("a1")));
+                    throw new IOException("Connection reset");
+                }))
+                .willAnswer(stream(this::parkUntilStopped))
+                .given(eventStreamClient)
+                .stream(any(), any(), any());
+
+        start(Duration.ofMillis(10));
+
+        assertEquals(10L, nextResumedFrom());
+        assertEquals(12L, nextResumedFrom());
+        RosterSnapshot snapshot = snapshotHolder.get();
+        assertEquals(List.of("b2"), ids(snapshot));
+        assertEquals(12L, snapshot.version());
+        verify(externalApiClient, times(1)).getVersionedRoster();
+    }
+
+    @Test
+    void start_streamOpen_snapshotLiveOnlyWhileConnected() throws Exception {
+        given(externalApiClient.getVersionedRoster()).willReturn(roster(10L, employee("a1")));
+        BlockingQueue<Boolean> liveInStream = new LinkedBlockingQueue<>();
+        willAnswer(stream((onOpen, events) -> {
+                    liveInStream.add(snapshotHolder.getLive() != null);
+                    onOpen.run();
+                    liveInStream.add(snapshotHolder.getLive() != null);
+                }))
+                .willAnswer(stream((onOpen, events) -> {
+                    liveInStream.add(snapshotHolder.getLive() != null);
+                    parkUntilStopped(onOpen, events);
+                }))
+                .given(eventStreamClient)
+                .stream(any(), any(), any());
+
+        start(Duration.ofMillis(10));
+
+        assertFalse(liveInStream.poll(5, TimeUnit.SECONDS), "before the stream opened");
+        assertTrue(liveInStream.poll(5, TimeUnit.SECONDS), "once the stream opened");
+        assertFalse(liveInStream.poll(5, TimeUnit.SECONDS), "after the stream ended");
+        subscriber.stop();
+        assertNull(snapshotHolder.getLive());
+        assertNotNull(snapshotHolder.get());
+    }
+
+    @Test
+    void start_resetEvent_reloadsRosterAndResumesFromItsVersion() throws Exception {
+        given(externalApiClient.getVersionedRoster())
+                .willReturn(roster(10L, employee("a1")))
+                .willReturn(roster(20L, employee("a1"), employee("c3")));
+        willAnswer(stream((onOpen, events) -> {
+                    onOpen.run();
+                    events.accept(new EmployeeEventDTO(null, EmployeeEventDTO.RESET, null));
+                }))
+                .willAnswer(stream(this::parkUntilStopped))
+                .given(eventStreamClient)
+                .stream(any(), any(), any());
+
+        start(Duration.ofMillis(10));
+
+        assertEquals(10L, nextResumedFrom());
+        assertEquals(20L, nextResumedFrom());
+        assertEquals(List.of("a1", "c3"), ids(snapshotHolder.get()));
+        assertEquals(20L, snapshotHolder.get().version());
+    }
+
+    @Test
+    void start_rosterWithoutVersion_neitherAppliedNorFollowed() throws Exception {
+        given(externalApiClient.getVersionedRoster())
+                .willReturn(roster(null, employee("a1")))
+                .willReturn(roster(30L, employee("a1")));
+        willAnswer(stream(this::parkUntilStopped)).given(eventStreamClient).stream(any(), any(), any());
+
+        start(Duration.ofMillis(10));
+
+        assertEquals(30L, nextResumedFrom());
+        verify(externalApiClient, times(2)).getVersionedRoster();
+        assertEquals(30L, snapshotHolder.get().version());
+    }
+
+    @Test
+    void start_streamKeepsFailing_backsOffExponentially() throws Exception {
+        given(externalApiClient.getVersionedRoster()).willReturn(roster(10L, employee("a1")));
+        BlockingQueue<Long> callNanos = new LinkedBlockingQueue<>();
+        willAnswer(stream((onOpen, events) -> {
+                    callNanos.add(System.nanoTime());
+                    throw new IOException("Connection refused");
+                }))
+                .given(eventStreamClient)
+                .stream(any(), any(), any());
+
+        start(Duration.ofMillis(100));
+
+        long first = callNanos.poll(5, TimeUnit.SECONDS);
+        long second = callNanos.poll(5, TimeUnit.SECONDS);
+        long third = callNanos.poll(5, TimeUnit.SECONDS);
+        assertTrue(second - first >= Duration.ofMillis(100).toNanos(), "first backoff " + (second - first));
+        assertTrue(third - second >= Duration.ofMillis(200).toNanos(), "second backoff " + (third - second));
+        verify(externalApiClient, timeout(1000).times(1)).getVersionedRoster();
+    }
+
+    private void start(Duration initialBackoff) {
+        subscriber =
+                new RosterEventSubscriber(externalApiClient, eventStreamClient, snapshotHolder, true, initialBackoff);
+        subscriber.start();
+    }
+
+    private Long nextResumedFrom() throws InterruptedException {
+        Long lastEventId = resumedFrom.poll(5, TimeUnit.SECONDS);
+        assertNotNull(lastEventId, "stream was not (re)connected");
+        return lastEventId;
+    }
+
+    private void parkUntilStopped(Runnable onOpen, Consumer<EmployeeEventDTO> events) throws InterruptedException {
+        onOpen.run();
+        stopped.await();
+    }
+
+    /**
+     * Answers {@link EmployeeEventStreamClient#stream} with {@code body}, recording where it resumed from.
+     */
+    private Answer<Void> stream(StreamBody body) {
+        return invocation -> {
+            Long lastEventId = invocation.getArgument(0);
+            if (lastEventId != null) {
+                resumedFrom.add(lastEventId);
+            }
+            body.run(invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        };
+    }
+
+    private interface StreamBody {
+        void run(Runnable onOpen, Consumer<EmployeeEventDTO> events) throws IOException, InterruptedException;
+    }
+
+    private static VersionedRosterDTO roster(Long version, EmployeeDTO... employees) {
+        return new VersionedRosterDTO(List.of(employees), version);
+    }
+
+    private static EmployeeDTO employee(String id) {
+        return EmployeeDTO.builder().id(id).employeeName("Name " + id).build();
+    }
+
+    private static List<String> ids(RosterSnapshot snapshot) {
+        return snapshot.employees().stream().map(EmployeeDTO::getId).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.analytics.ValueHistogram;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RosterStatisticsTest {
+
+    @Test
+    void replacing_randomChanges_sameAsRebuilt() {
+        Random random = new Random(5);
+        List<EmployeeDTO> roster = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            roster.add(employee(random, i));
+        }
+        RosterStatistics statistics = RosterStatistics.of(roster);
+
+        for (int i = 200; i < 2_000; i++) {
+            EmployeeDTO removed = random.nextInt(3) == 0 ? null : roster.remove(random.nextInt(roster.size()));
+            EmployeeDTO added = random.nextInt(3) == 0 ? null : employee(random, i);
+            if (added != null) {
+                roster.add(added);
+            }
+
+            statistics = statistics.replacing(removed, added);
+
+            assertSameAs(RosterStatistics.of(roster), statistics);
+        }
+    }
+
+    @Test
+    void replacing_nothing_unchanged() {
+        RosterStatistics statistics = RosterStatistics.of(List.of(employee(new Random(1), 1)));
+
+        assertSameAs(statistics, statistics.replacing(null, null));
+    }
+
+    @Test
+    void replacing_previousStatistics_notModified() {
+        EmployeeDTO employee = EmployeeDTO.builder()
+                .id("a")
+                .employeeSalary(100)
+                .employeeAge(30)
+                .build();
+        RosterStatistics statistics = RosterStatistics.of(List.of(employee));
+
+        statistics.replacing(employee, null);
+
+        assertEquals(1, statistics.salaries().getCount());
+        assertEquals(1, statistics.ages().getCount());
+    }
+
+    private static void assertSameAs(RosterStatistics expected, RosterStatistics actual) {
+        assertEquals(buckets(expected.salaries()), buckets(actual.salaries()));
+        assertEquals(expected.salaries().getMean(), actual.salaries().getMean(), 1e-9);
+        assertEquals(buckets(expected.ages()), buckets(actual.ages()));
+        assertEquals(expected.ages().getMean(), actual.ages().getMean(), 1e-9);
+    }
+
+    private static EmployeeDTO employee(Random random, int id) {
+        return EmployeeDTO.builder()
+                .id(String.valueOf(id))
+                .employeeSalary(random.nextInt(10) == 0 ? null : random.nextInt(500_000))
+                .employeeAge(random.nextInt(10) == 0 ? null : 16 + random.nextInt(60))
+                .build();
+    }
+
+    private static Map<Integer, Long> buckets(ValueHistogram histogram) {
+        Map<Integer, Long> buckets = new LinkedHashMap<>();
+        histogram.forEachValue(buckets::put);
+        return buckets;
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    @Test
+    void of_roster_sortedBySalaryDescendingThenIdWithoutNullSalaries() {
+        SalaryIndex index = SalaryIndex.of(
+                List.of(employee("c", 100), employee("a", 300), employee("n", null), employee("b", 100)));
+
+        assertEquals(List.of("a", "b", "c"), ids(index.top(10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void rankOf_ties_shareRank() {
+        SalaryIndex index =
+                SalaryIndex.of(List.of(employee("a", 300), employee("b", 100), employee("c", 100), employee("d", 50)));
+
+        assertEquals(1, index.rankOf(300));
+        assertEquals(2, index.rankOf(100));
+        assertEquals(4, index.rankOf(50));
+        assertEquals(2, index.rankOf(200));
+        assertEquals(1, index.rankOf(1_000));
+        assertEquals(5, index.rankOf(0));
+    }
+
+    @Test
+    void between_boundsInclusive() {
+        SalaryIndex index =
+                SalaryIndex.of(List.of(employee("a", 300), employee("b", 100), employee("c", 100), employee("d", 50)));
+
+        assertEquals(List.of("b", "c"), ids(index.between(100, 100)));
+        assertEquals(List.of("a", "b", "c"), ids(index.between(100, 300)));
+        assertEquals(List.of(), ids(index.between(301, 1_000)));
+        assertEquals(List.of(), ids(index.between(300, 100)));
+    }
+
+    @Test
+    void replacing_tiedSalary_removesThatEmployeeOnly() {
+        EmployeeDTO b = employee("b", 100);
+        SalaryIndex index = SalaryIndex.of(List.of(employee("a", 100), b, employee("c", 100)));
+
+        SalaryIndex next = index.replacing(b, employee("d", 100));
+
+        assertEquals(List.of("a", "c", "d"), ids(next.top(10)));
+        assertEquals(List.of("a", "b", "c"), ids(index.top(10)));
+    }
+
+    @Test
+    void replacing_nullSalaries_unchanged() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("a", 100)));
+
+        assertSame(index, index.replacing(employee("n", null), employee("m", null)));
+        assertSame(index, index.replacing(null, null));
+    }
+
+    @Test
+    void replacing_employeeNotIndexed_onlyAdds() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("a", 100)));
+
+        SalaryIndex next = index.replacing(employee("x", 100), employee("b", 200));
+
+        assertEquals(List.of("b", "a"), ids(next.top(10)));
+    }
+
+    @Test
+    void replacing_randomChangesWithTiesAndNullSalaries_sameAsRebuilt() {
+        Random random = new Random(3);
+        List<EmployeeDTO> roster = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            roster.add(employee(random, i));
+        }
+        SalaryIndex index = SalaryIndex.of(roster);
+
+        for (int i = 100; i < 3_000; i++) {
+            EmployeeDTO removed = random.nextInt(3) == 0 ? null : roster.remove(random.nextInt(roster.size()));
+            EmployeeDTO added = random.nextInt(3) == 0 ? null : employee(random, i);
+            if (added != null) {
+                roster.add(added);
+            }
+
+            index = index.replacing(removed, added);
+
+            SalaryIndex rebuilt = SalaryIndex.of(roster);
+            assertEquals(ids(rebuilt.top(rebuilt.size())), ids(index.top(index.size())));
+            int salary = random.nextInt(60);
+            assertEquals(rebuilt.rankOf(salary), index.rankOf(salary));
+            assertEquals(ids(rebuilt.between(salary, salary + 5)), ids(index.between(salary, salary + 5)));
+        }
+    }
+
+    private static EmployeeDTO employee(Random random, int id) {
+        // few distinct salaries, so most of them are tied
+        return employee(String.valueOf(id), random.nextInt(8) == 0 ? null : random.nextInt(50));
+    }
+
+    private static EmployeeDTO employee(String id, Integer salary) {
+        return EmployeeDTO.builder().id(id).employeeSalary(salary).build();
+    }
+
+    private static List<String> ids(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getId).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.SalaryRankDTO;
+import com.reliaquest.api.roster.RosterSnapshot;
+import com.reliaquest.api.roster.RosterSnapshotHolder;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AnalyticsServiceTest {
+
+    private static final String ID = "5255f1a5-f9f7-4be5-829a-134bde088d17";
+
+    private final RosterSnapshotHolder rosterSnapshotHolder = new RosterSnapshotHolder();
+    private final AnalyticsService analyticsService =
+            new AnalyticsService(mock(IEmployeeService.class), rosterSnapshotHolder, Duration.ofSeconds(30));
+
+    @BeforeEach
+    void setUp() {
+        rosterSnapshotHolder.replace(RosterSnapshot.of(
+                List.of(
+                        EmployeeDTO.builder().id("a").employeeSalary(300).build(),
+                        EmployeeDTO.builder().id(ID).employeeSalary(200).build(),
+                        EmployeeDTO.builder().id("c").employeeSalary(100).build()),
+                null));
+    }
+
+    @Test
+    void getSalaryRank_upperCaseId_rankedAsReportedId() {
+        SalaryRankDTO rank = analyticsService.getSalaryRank(ID.toUpperCase());
+
+        assertEquals(ID, rank.getId());
+        assertEquals(200, rank.getSalary());
+        assertEquals(2, rank.getRank());
+        assertEquals(3, rank.getOutOf());
+    }
+
+    @Test
+    void getSalaryRank_unknownId_notFound() {
+        assertThrows(
+                EmployeeNotFoundException.class,
+                () -> analyticsService.getSalaryRank("00000000-0000-0000-0000-000000000000"));
+    }
+}
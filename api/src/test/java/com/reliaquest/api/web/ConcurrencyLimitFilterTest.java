@@ -0,0 +1,56 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.ResponseWrapperDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            new SimpleMeterRegistry(), objectMapper, true, 1, 1, 1, 0.2, 1.2, 600, 0.7, List.of("/v1/employees"));
+
+    @Test
+    void doFilter_overLimit_rejectedWith503AndErrorBody() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+
+        filter.doFilter(
+                new MockHttpServletRequest("GET", "/v1/employees"),
+                admitted,
+                (request, response) -> filter.doFilter(
+                        new MockHttpServletRequest("GET", "/v1/employees"), rejected, new MockFilterChain()));
+
+        assertEquals(HttpStatus.OK.value(), admitted.getStatus());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, rejected.getContentType());
+        ResponseWrapperDTO body = objectMapper.readValue(rejected.getContentAsByteArray(), ResponseWrapperDTO.class);
+        assertEquals(ResponseWrapperDTO.STATUS_ERROR, body.getStatus());
+        assertEquals("Too many requests in flight, retry later", body.getError());
+    }
+
+    @Test
+    void doFilter_sequentialRequests_allAdmitted() throws Exception {
+        MockFilterChain first = new MockFilterChain();
+        MockFilterChain second = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/employees"), new MockHttpServletResponse(), first);
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/employees"), new MockHttpServletResponse(), second);
+
+        assertNotNull(first.getRequest());
+        assertNotNull(second.getRequest());
+    }
+}
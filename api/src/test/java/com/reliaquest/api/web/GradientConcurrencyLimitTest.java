@@ -0,0 +1,115 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long BASELINE_NANOS = Duration.ofMillis(10).toNanos();
+    private static final long QUEUEING_NANOS = Duration.ofMillis(50).toNanos();
+
+    @Test
+    void onSample_steadyLatencyAndLimitUsed_grows() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+
+        sample(limit, 50, BASELINE_NANOS, 20);
+
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+        // stops once less than half of it is in use
+        assertTrue(limit.getLimit() <= 40, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void onSample_steadyLatency_growsNoFurtherThanMax() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 50, 0.2, 1.2, 600);
+
+        sample(limit, 200, BASELINE_NANOS, 50);
+
+        assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    void onSample_limitLargelyUnused_doesNotGrow() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+
+        sample(limit, 200, BASELINE_NANOS, 9);
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void onSample_latencyRisesAboveTolerance_shrinks() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+        sample(limit, 100, BASELINE_NANOS, 1);
+
+        sample(limit, 5, QUEUEING_NANOS, 20);
+
+        assertTrue(limit.getLimit() < 20, "limit " + limit.getLimit());
+        // by at most half per sample, smoothed
+        assertTrue(limit.getLimit() >= 20 * Math.pow(0.9, 5), "limit " + limit.getLimit());
+    }
+
+    @Test
+    void onSample_latencyWithinTolerance_doesNotShrink() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+        sample(limit, 100, BASELINE_NANOS, 1);
+
+        sample(limit, 20, BASELINE_NANOS * 11 / 10, 20);
+
+        assertTrue(limit.getLimit() >= 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void onSample_sustainedQueueing_shrinksNoFurtherThanMin() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 8, 200, 0.2, 1.2, 600);
+        sample(limit, 100, BASELINE_NANOS, 1);
+
+        sample(limit, 50, QUEUEING_NANOS, 20);
+
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void onSample_latencyRecovers_growsAgain() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+        sample(limit, 100, BASELINE_NANOS, 1);
+        sample(limit, 20, QUEUEING_NANOS, 20);
+        int shrunk = limit.getLimit();
+
+        sample(limit, 20, BASELINE_NANOS, 20);
+
+        assertTrue(limit.getLimit() > shrunk, "limit " + limit.getLimit() + " after shrinking to " + shrunk);
+    }
+
+    @Test
+    void onSample_zeroLatency_limitStaysUsable() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+        sample(limit, 100, BASELINE_NANOS, 20);
+
+        // coarse clocks report 0 for fast requests
+        sample(limit, 5, 0, 200);
+
+        assertTrue(limit.getLimit() >= 4, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void onSample_zeroLatencyThenSteady_growsAgain() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.2, 600);
+        sample(limit, 100, BASELINE_NANOS, 20);
+        sample(limit, 5, 0, 200);
+
+        // the jump back from a near-zero latency first looks like queueing, until the baseline catches up
+        sample(limit, 3000, BASELINE_NANOS, 200);
+
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+    }
+
+    private static void sample(GradientConcurrencyLimit limit, int samples, long rttNanos, int inflight) {
+        for (int i = 0; i < samples; i++) {
+            limit.onSample(rttNanos, inflight);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.reliaquest.api.constants.ApiConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLogFilterTest {
+
+    private static final Duration NEVER_SLOW = Duration.ofMinutes(1);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    @Test
+    void doFilter_serverError_alwaysLogged() throws Exception {
+        filter(0, NEVER_SLOW, "/v1/employees", respondWith(503));
+
+        assertEquals(1, lines().size());
+        assertTrue(
+                lines().get(0)
+                        .matches("request method=GET path=/v1/employees status=503 millis=\\d+ stale=false"
+                                + " logged=error"),
+                lines().toString());
+    }
+
+    @Test
+    void doFilter_tooManyRequests_alwaysLogged() throws Exception {
+        filter(0, NEVER_SLOW, "/v1/employees", respondWith(429));
+
+        assertTrue(lines().get(0).contains("status=429"), lines().toString());
+        assertTrue(lines().get(0).endsWith("logged=error"), lines().toString());
+    }
+
+    @Test
+    void doFilter_chainThrows_loggedAsServerErrorAndRethrown() {
+        assertThrows(
+                ServletException.class,
+                () -> filter(0, NEVER_SLOW, "/v1/employees", (request, response) -> {
+                    throw new ServletException("boom");
+                }));
+
+        assertTrue(lines().get(0).contains("status=500"), lines().toString());
+        assertTrue(lines().get(0).endsWith("logged=error"), lines().toString());
+    }
+
+    @Test
+    void doFilter_slowRequest_alwaysLogged() throws Exception {
+        filter(0, Duration.ofMillis(20), "/v1/employees", (request, response) -> sleep(30));
+
+        assertTrue(lines().get(0).contains("status=200"), lines().toString());
+        assertTrue(lines().get(0).endsWith("logged=slow"), lines().toString());
+    }
+
+    @Test
+    void doFilter_fastClientErrorNotSampled_notLogged() throws Exception {
+        filter(0, NEVER_SLOW, "/v1/employees/123", respondWith(404));
+        filter(0, NEVER_SLOW, "/v1/employees", respondWith(200));
+
+        assertEquals(List.of(), lines());
+    }
+
+    @Test
+    void doFilter_sampleRateOne_everyRequestLogged() throws Exception {
+        filter(1, NEVER_SLOW, "/v1/employees", respondWith(200));
+        filter(1, NEVER_SLOW, "/v1/employees/123", respondWith(404));
+
+        assertEquals(2, lines().size());
+        assertTrue(lines().get(1).contains("status=404"), lines().toString());
+        assertTrue(lines().get(1).endsWith("logged=sampled"), lines().toString());
+    }
+
+    @Test
+    void doFilter_staleRosterServed_markedStale() throws Exception {
+        filter(0, NEVER_SLOW, "/v1/employees", (request, response) -> {
+            ((MockHttpServletResponse) response).setStatus(500);
+            ((MockHttpServletResponse) response).setHeader(ApiConstants.ROSTER_STALENESS_HEADER, "12");
+        });
+
+        assertTrue(lines().get(0).contains("stale=true"), lines().toString());
+    }
+
+    @Test
+    void doFilter_queryString_notLogged() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/employees/search");
+        request.setQueryString("nameContains=Ada");
+
+        new RequestLogFilter(true, 1, NEVER_SLOW).doFilter(request, new MockHttpServletResponse(), respondWith(200));
+
+        assertTrue(lines().get(0).contains("path=/v1/employees/search "), lines().toString());
+        assertFalse(lines().get(0).contains("Ada"), lines().toString());
+    }
+
+    @Test
+    void doFilter_otherPathsOrDisabled_notLogged() throws Exception {
+        filter(1, NEVER_SLOW, "/actuator/health", respondWith(503));
+        new RequestLogFilter(false, 1, NEVER_SLOW)
+                .doFilter(
+                        new MockHttpServletRequest("GET", "/v1/employees"),
+                        new MockHttpServletResponse(),
+                        respondWith(503));
+
+        assertEquals(List.of(), lines());
+    }
+
+    private static void filter(double sampleRate, Duration slowThreshold, String path, FilterChain chain)
+            throws ServletException, IOException {
+        new RequestLogFilter(true, sampleRate, slowThreshold)
+                .doFilter(new MockHttpServletRequest("GET", path), new MockHttpServletResponse(), chain);
+    }
+
+    private static FilterChain respondWith(int status) {
+        return (request, response) -> ((MockHttpServletResponse) response).setStatus(status);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<String> lines() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+}
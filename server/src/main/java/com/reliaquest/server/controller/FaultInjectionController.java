@@ -0,0 +1,55 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.FaultInjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Shows and replaces the {@link FaultProfile} of the mock API at runtime. Not subject to the request limit or to
+ * the faults themselves.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@RequiredArgsConstructor
+public class FaultInjectionController {
+
+    private final FaultInjector faultInjector;
+
+    @GetMapping()
+    public ResponseEntity<Response<FaultProfile>> getProfile() {
+        return ResponseEntity.ok(Response.handledWith(faultInjector.getProfile()));
+    }
+
+    /**
+     * Replaces the profile; properties left out take their defaults, so {@code {}} turns every fault off.
+     */
+    @PutMapping()
+    public ResponseEntity<Response<FaultProfile>> setProfile(@RequestBody FaultProfile profile) {
+        faultInjector.setProfile(profile);
+        return ResponseEntity.ok(Response.handledWith(profile));
+    }
+
+    /**
+     * Goes back to the profile configured on startup.
+     */
+    @DeleteMapping()
+    public ResponseEntity<Response<FaultProfile>> resetProfile() {
+        return ResponseEntity.ok(Response.handledWith(faultInjector.reset()));
+    }
+
+    @ExceptionHandler
+    protected ResponseEntity<?> handleInvalidProfile(HttpMessageNotReadableException ex) {
+        return ResponseEntity.badRequest()
+                .body(Response.error(ex.getMostSpecificCause().getMessage()));
+    }
+}
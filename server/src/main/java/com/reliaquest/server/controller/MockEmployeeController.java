@@ -2,33 +2,98 @@ package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.LookupMockEmployeesInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeProjection;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.EmployeeEventPublisher;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String SORT_BY_SALARY = "salary";
+    public static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final EmployeeEventPublisher employeeEventPublisher;
+
+    /**
+     * Returns the roster, optionally filtered, sorted, limited and projected server side. Without query
+     * parameters the full roster is returned as before.
+     * <p>
+     * The {@value #ROSTER_VERSION_HEADER} header carries the id of the last roster event reflected in the
+     * response; subscribing to {@code /events} with it as {@code Last-Event-ID} continues without a gap.
+     *
+     * @param nameContains case-sensitive fragment the employee name must contain
+     * @param sort only {@value #SORT_BY_SALARY} is supported; orders by salary, highest first
+     * @param limit maximum number of employees to return
+     * @param fields comma separated fields to include in each employee, e.g. {@code name,salary}
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<?>> getEmployees(
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if ((sort != null && !SORT_BY_SALARY.equals(sort)) || (limit != null && limit < 0)) {
+            return ResponseEntity.badRequest().body(Response.error("Unsupported sort or limit."));
+        }
+        final Set<MockEmployeeProjection.Field> projectedFields;
+        try {
+            projectedFields = fields == null ? null : MockEmployeeProjection.parseFields(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+        }
+
+        // the version and the employees come from the same immutable snapshot, so they always agree
+        final var roster = mockEmployeeService.getRoster();
+        final var version = Long.toString(roster.lastEventId());
+        final var employees = nameContains == null && sort == null && limit == null
+                ? roster.employees()
+                : mockEmployeeService.query(roster, nameContains, sort != null, limit);
+        if (projectedFields == null) {
+            return ResponseEntity.ok().header(ROSTER_VERSION_HEADER, version).body(Response.handledWith(employees));
+        }
+        return ResponseEntity.ok()
+                .header(ROSTER_VERSION_HEADER, version)
+                .body(Response.handledWith(new MockEmployeeProjection(employees, projectedFields)));
+    }
+
+    /**
+     * Streams roster changes as Server-Sent Events named {@code created} and {@code deleted}, each carrying the
+     * employee. Reconnecting with {@code Last-Event-ID} replays missed events, or sends {@code reset} if they are
+     * no longer retained.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return employeeEventPublisher.subscribe(lastEventId);
+    }
+
+    @GetMapping("/aggregate/maxSalary")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.findHighestSalary().orElse(0));
     }
 
     @GetMapping("/{id}")
@@ -39,6 +104,15 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /**
+     * Multi-get: returns the employees matching any of the given ids, using the id index. Unknown ids are
+     * omitted from the result, so clients batching lookups treat absent ids as not found.
+     */
+    @PostMapping("/lookup")
+    public Response<List<MockEmployee>> lookupEmployees(@Valid @RequestBody LookupMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.findAllById(input.getIds()));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
@@ -0,0 +1,23 @@
+package com.reliaquest.server.model;
+
+/**
+ * A change to the roster, as published on the event stream. Ids increase by one per event, so a subscriber can
+ * resume from the last id it has seen.
+ */
+public record EmployeeEvent(long id, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED("created"),
+        DELETED("deleted");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String eventName() {
+            return eventName;
+        }
+    }
+}
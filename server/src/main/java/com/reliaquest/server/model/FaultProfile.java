@@ -0,0 +1,111 @@
+package com.reliaquest.server.model;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+/**
+ * The faults injected into requests to the mock API, read from {@code mock.faults.*} on startup and replaced at
+ * runtime through {@code /admin/faults}.
+ *
+ * @param seed seeds the random decisions, so a run with the same requests in the same order sees the same faults;
+ *     null for unseeded
+ * @param latency the delay of requests that match none of the {@code routes}
+ * @param routes delays by route, e.g. {@code "GET /api/v1/employee/{id}"} or {@code "/api/v1/employee/**"} for any
+ *     method; the first matching one applies. Invalid path patterns are rejected here, so a bad profile is refused
+ *     rather than failing requests
+ * @param errorRate share of requests, 0 to 1, answered with {@code errorStatus} instead of being handled
+ * @param errorStatus the status of injected errors; 503 if null
+ * @param slowBodyRate share of requests whose response body is streamed at {@code slowBodyBytesPerSecond}
+ * @param slowBodyBytesPerSecond the rate slow bodies are streamed at; 16384 if null
+ * @param resetRate share of requests whose response is cut off after the headers and its connection closed
+ */
+@ConfigurationProperties("mock.faults")
+public record FaultProfile(
+        Long seed,
+        Latency latency,
+        Map<String, Latency> routes,
+        double errorRate,
+        Integer errorStatus,
+        double slowBodyRate,
+        Integer slowBodyBytesPerSecond,
+        double resetRate) {
+
+    public static final FaultProfile NONE = new FaultProfile(null, null, null, 0, null, 0, null, 0);
+
+    public FaultProfile {
+        latency = latency != null ? latency : Latency.NONE;
+        routes = routes != null ? Collections.unmodifiableMap(new LinkedHashMap<>(routes)) : Map.of();
+        errorStatus = errorStatus != null ? errorStatus : 503;
+        slowBodyBytesPerSecond = slowBodyBytesPerSecond != null ? slowBodyBytesPerSecond : 16_384;
+        routes.forEach(FaultProfile::requireRoute);
+        requireShare("errorRate", errorRate);
+        requireShare("slowBodyRate", slowBodyRate);
+        requireShare("resetRate", resetRate);
+        if (errorStatus < 400 || errorStatus > 599) {
+            throw new IllegalArgumentException("errorStatus must be a 4xx or 5xx status: " + errorStatus);
+        }
+        if (slowBodyBytesPerSecond <= 0) {
+            throw new IllegalArgumentException("slowBodyBytesPerSecond must be positive: " + slowBodyBytesPerSecond);
+        }
+    }
+
+    /**
+     * A delay drawn from a distribution for a share of requests.
+     *
+     * @param distribution how the delay is drawn; {@code NONE} if null
+     * @param probability share of requests, 0 to 1, that are delayed; 1 if null
+     * @param delay the fixed delay, the minimum of a uniform one or the median of a log-normal one
+     * @param max the maximum of a uniform delay; caps a log-normal one if set
+     * @param sigma the standard deviation of the logarithm of a log-normal delay, i.e. how heavy its tail is; 1 if
+     *     null
+     */
+    public record Latency(Distribution distribution, Double probability, Duration delay, Duration max, Double sigma) {
+
+        public static final Latency NONE = new Latency(Distribution.NONE, null, null, null, null);
+
+        public Latency {
+            distribution = distribution != null ? distribution : Distribution.NONE;
+            probability = probability != null ? probability : 1.0;
+            delay = delay != null ? delay : Duration.ZERO;
+            sigma = sigma != null ? sigma : 1.0;
+            requireShare("probability", probability);
+            if (delay.isNegative() || (max != null && max.isNegative()) || sigma < 0) {
+                throw new IllegalArgumentException("Latency delay, max and sigma must not be negative");
+            }
+            if (distribution == Distribution.UNIFORM && (max == null || max.compareTo(delay) < 0)) {
+                throw new IllegalArgumentException("A uniform latency needs a max of at least its delay");
+            }
+        }
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    private static void requireRoute(String route, Latency latency) {
+        if (latency == null) {
+            throw new IllegalArgumentException("Route " + route + " needs a latency");
+        }
+        try {
+            // the path pattern follows an optional method and a space
+            PathPatternParser.defaultInstance.parse(
+                    route.substring(route.indexOf(' ') + 1).trim());
+        } catch (PatternParseException ex) {
+            throw new IllegalArgumentException("Invalid route " + route + ": " + ex.getMessage());
+        }
+    }
+
+    private static void requireShare(String name, double share) {
+        if (!(share >= 0 && share <= 1)) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1: " + share);
+        }
+    }
+}
@@ -1,17 +1,38 @@
 package com.reliaquest.server.model;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NonNull;
 
+/**
+ * An employee of the mock roster.
+ * <p>
+ * Read and written by the hand-written {@link Serializer} and {@link Deserializer} rather than Jackson's
+ * reflection-based bean (de)serializers, as every roster response carries many of them. They produce the same JSON
+ * as the {@link PrefixNamingStrategy}, which stays as the reference representation.
+ */
 @Data
 @AllArgsConstructor
 @Builder(toBuilder = true)
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
+@JsonSerialize(using = MockEmployee.Serializer.class)
+@JsonDeserialize(using = MockEmployee.Deserializer.class)
 public class MockEmployee {
 
     private UUID id;
@@ -42,4 +63,111 @@ public class MockEmployee {
             return "employee_" + propertyName;
         }
     }
+
+    /**
+     * Writes the properties in declaration order, nulls included, as the bean serializer does. The id is always
+     * written as a string, as the server's mappers write UUIDs, Smile included.
+     */
+    static class Serializer extends StdSerializer<MockEmployee> {
+
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString NAME = new SerializedString("employee_name");
+        private static final SerializableString SALARY = new SerializedString("employee_salary");
+        private static final SerializableString AGE = new SerializedString("employee_age");
+        private static final SerializableString TITLE = new SerializedString("employee_title");
+        private static final SerializableString EMAIL = new SerializedString("employee_email");
+
+        Serializer() {
+            super(MockEmployee.class);
+        }
+
+        @Override
+        public void serialize(MockEmployee value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            writeString(gen, value.getId() == null ? null : value.getId().toString());
+            gen.writeFieldName(NAME);
+            writeString(gen, value.getName());
+            gen.writeFieldName(SALARY);
+            writeInteger(gen, value.getSalary());
+            gen.writeFieldName(AGE);
+            writeInteger(gen, value.getAge());
+            gen.writeFieldName(TITLE);
+            writeString(gen, value.getTitle());
+            gen.writeFieldName(EMAIL);
+            writeString(gen, value.getEmail());
+            gen.writeEndObject();
+        }
+
+        private static void writeString(JsonGenerator gen, String value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value);
+            }
+        }
+
+        private static void writeInteger(JsonGenerator gen, Integer value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.intValue());
+            }
+        }
+    }
+
+    /**
+     * Reads the properties in any order. Values of other token types, and the id, are read by Jackson's standard
+     * scalar deserializers, and unknown properties are handled as configured on the mapper, so input is accepted
+     * exactly as by the bean deserializer.
+     */
+    static class Deserializer extends StdDeserializer<MockEmployee> {
+
+        Deserializer() {
+            super(MockEmployee.class);
+        }
+
+        @Override
+        public MockEmployee deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            }
+            final var employee = MockEmployee.builder();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                final var name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "id" -> employee.id(
+                            p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, UUID.class));
+                    case "employee_name" -> employee.name(readString(p, ctxt));
+                    case "employee_salary" -> employee.salary(readInteger(p, ctxt));
+                    case "employee_age" -> employee.age(readInteger(p, ctxt));
+                    case "employee_title" -> employee.title(readString(p, ctxt));
+                    case "employee_email" -> employee.email(readString(p, ctxt));
+                    default -> ctxt.handleUnknownProperty(p, this, MockEmployee.class, name);
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                return (MockEmployee) ctxt.handleUnexpectedToken(MockEmployee.class, p);
+            }
+            return employee.build();
+        }
+
+        private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return switch (p.currentToken()) {
+                case VALUE_STRING -> p.getText();
+                case VALUE_NULL -> null;
+                default -> ctxt.readValue(p, String.class);
+            };
+        }
+
+        private static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return switch (p.currentToken()) {
+                case VALUE_NUMBER_INT -> p.getIntValue();
+                case VALUE_NULL -> null;
+                default -> ctxt.readValue(p, Integer.class);
+            };
+        }
+    }
 }
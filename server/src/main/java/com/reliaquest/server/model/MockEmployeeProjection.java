@@ -0,0 +1,91 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.NonNull;
+
+/**
+ * A list of {@link MockEmployee}s that serializes only a chosen subset of fields, using the same JSON property
+ * names as the full representation. Lets clients that need e.g. only name and salary skip transferring and
+ * parsing the other columns.
+ */
+@JsonSerialize(using = MockEmployeeProjection.Serializer.class)
+public record MockEmployeeProjection(@NonNull List<MockEmployee> employees, @NonNull Set<Field> fields) {
+
+    /**
+     * Parses a comma separated list of field names, e.g. {@code name,salary}. Both the bean property names and
+     * the JSON property names ({@code employee_salary}) are accepted.
+     *
+     * @throws IllegalArgumentException if a field name is unknown
+     */
+    public static Set<Field> parseFields(@NonNull String fields) {
+        final var result = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            final var trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(Field.of(trimmed));
+            }
+        }
+        return result;
+    }
+
+    public enum Field {
+        ID("id", MockEmployee::getId),
+        NAME("employee_name", MockEmployee::getName),
+        SALARY("employee_salary", MockEmployee::getSalary),
+        AGE("employee_age", MockEmployee::getAge),
+        TITLE("employee_title", MockEmployee::getTitle),
+        EMAIL("employee_email", MockEmployee::getEmail);
+
+        private final String jsonName;
+        private final Function<MockEmployee, Object> accessor;
+
+        Field(String jsonName, Function<MockEmployee, Object> accessor) {
+            this.jsonName = jsonName;
+            this.accessor = accessor;
+        }
+
+        static Field of(String name) {
+            return Arrays.stream(values())
+                    .filter(field -> field.name().equalsIgnoreCase(name) || field.jsonName.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown employee field: " + name));
+        }
+    }
+
+    static class Serializer extends StdSerializer<MockEmployeeProjection> {
+
+        Serializer() {
+            super(MockEmployeeProjection.class);
+        }
+
+        @Override
+        public void serialize(MockEmployeeProjection value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartArray();
+            for (MockEmployee employee : value.employees()) {
+                gen.writeStartObject();
+                for (Field field : value.fields()) {
+                    final var fieldValue = field.accessor.apply(employee);
+                    if (fieldValue == null) {
+                        gen.writeNullField(field.jsonName);
+                    } else if (fieldValue instanceof Integer number) {
+                        gen.writeNumberField(field.jsonName, number);
+                    } else {
+                        gen.writeStringField(field.jsonName, fieldValue.toString());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.server.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event for one read of the mock roster that goes through all or part of it.
+ * <p>
+ * Created and begun at the start of the read and completed where it returns. While no recording is running both
+ * are no-ops that the JIT can remove along with the allocation.
+ */
+@Name("com.reliaquest.server.RosterRead")
+@Label("Roster Read")
+@Category({"Mock Employee API", "Roster"})
+@Description("A query, lookup or aggregation over the mock roster")
+@StackTrace(false)
+public final class RosterReadEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Roster Size")
+    int rosterSize;
+
+    @Label("Results")
+    int results;
+
+    public RosterReadEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Ends the event and commits it, unless it is below the recording's threshold.
+     */
+    public void complete(int rosterSize, int results) {
+        end();
+        if (shouldCommit()) {
+            this.rosterSize = rosterSize;
+            this.results = results;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.server.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event for one batch of queued writes applied to a copy of the mock roster; its duration
+ * includes the copy and the events published for the writes.
+ */
+@Name("com.reliaquest.server.RosterWriteBatch")
+@Label("Roster Write Batch")
+@Category({"Mock Employee API", "Roster"})
+@Description("A batch of creates and deletes applied to the mock roster")
+@StackTrace(false)
+public final class RosterWriteBatchEvent extends jdk.jfr.Event {
+
+    @Label("Writes")
+    int writes;
+
+    @Label("Roster Size")
+    @Description("The size of the roster the batch was applied to")
+    int rosterSize;
+
+    @Label("Version")
+    @Description("The roster version published by the batch, or the previous one if nothing changed")
+    long version;
+
+    /**
+     * Ends the event and commits it, unless it is below the recording's threshold.
+     */
+    public void complete(int writes, int rosterSize, long version) {
+        end();
+        if (shouldCommit()) {
+            this.writes = writes;
+            this.rosterSize = rosterSize;
+            this.version = version;
+            commit();
+        }
+    }
+}
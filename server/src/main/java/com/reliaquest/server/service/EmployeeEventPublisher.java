@@ -0,0 +1,173 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Publishes roster changes to Server-Sent Events subscribers.
+ * <p>
+ * Every event gets the next id and is kept in a bounded history, so a subscriber reconnecting with
+ * {@code Last-Event-ID} is first replayed what it missed. If it fell further behind than the history reaches,
+ * or asks for ids this instance never issued (e.g. after a restart; ids start from the start-up time so they
+ * keep increasing across restarts), it is sent a {@value #RESET_EVENT} event and must reload the roster.
+ * A subscriber may also resume from an id that was issued but not dispatched yet, having read the roster version
+ * published just before its events: it then skips those events rather than being reset.
+ * Replays and fan-out all run on one dispatcher thread, in id order, so a subscriber never sees a gap or a
+ * reordering and writers never block on slow subscribers.
+ */
+@Slf4j
+@Component
+public class EmployeeEventPublisher implements DisposableBean {
+
+    public static final String RESET_EVENT = "reset";
+
+    private final int historySize;
+    private final long emitterTimeoutMillis;
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-event-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // only touched on the dispatcher thread
+    private final Deque<EmployeeEvent> history = new ArrayDeque<>();
+    private long dispatchedUpTo;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private long lastEventId = System.currentTimeMillis() * 1000;
+
+    public EmployeeEventPublisher(
+            @Value("${mock.events.history-size:1024}") int historySize,
+            @Value("${mock.events.emitter-timeout-millis:1800000}") long emitterTimeoutMillis) {
+        this.historySize = historySize;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.dispatchedUpTo = lastEventId;
+    }
+
+    /**
+     * @return the id of the most recently published event.
+     */
+    public synchronized long getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Publishes the changes of one roster write with consecutive ids. {@code beforeDispatch} is given the id of the
+     * last one and runs before any of them can reach a subscriber, so that the roster reflecting them can be
+     * published first: a subscriber reading the roster in reaction to an event then sees the change.
+     */
+    public synchronized void publishAll(List<Change> changes, LongConsumer beforeDispatch) {
+        // assigning the ids and queueing under one lock keeps dispatch order equal to id order
+        final var events = changes.stream()
+                .map(change -> new EmployeeEvent(++lastEventId, change.type(), change.employee()))
+                .toList();
+        beforeDispatch.accept(lastEventId);
+        events.forEach(event -> dispatcher.execute(() -> dispatch(event)));
+    }
+
+    /**
+     * Opens an event stream, replaying the retained events after {@code lastEventId} first.
+     *
+     * @param lastEventId the last event id the subscriber has seen; null to only receive new events
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(emitterTimeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(ignored -> unsubscribe(emitter));
+        dispatcher.execute(() -> register(emitter, lastEventId));
+        return emitter;
+    }
+
+    private void register(SseEmitter emitter, Long lastSeenId) {
+        try {
+            var skipUpTo = dispatchedUpTo;
+            if (lastSeenId != null) {
+                final var firstRetained = history.isEmpty()
+                        ? dispatchedUpTo + 1
+                        : history.peekFirst().id();
+                // events up to the issued id are already queued behind this registration
+                if (lastSeenId < firstRetained - 1 || lastSeenId > getLastEventId()) {
+                    emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+                } else {
+                    for (EmployeeEvent event : history) {
+                        if (event.id() > lastSeenId) {
+                            send(emitter, event);
+                        }
+                    }
+                    skipUpTo = Math.max(skipUpTo, lastSeenId);
+                }
+            }
+            subscribers.add(new Subscriber(emitter, skipUpTo));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping event subscriber during replay: {}", ex.getMessage());
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private void dispatch(EmployeeEvent event) {
+        dispatchedUpTo = event.id();
+        history.addLast(event);
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (event.id() <= subscriber.skipUpTo()) {
+                continue;
+            }
+            try {
+                send(subscriber.emitter(), event);
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping event subscriber: {}", ex.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter().completeWithError(ex);
+            }
+        }
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        subscribers.removeIf(subscriber -> subscriber.emitter() == emitter);
+    }
+
+    private static void send(SseEmitter emitter, EmployeeEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(event.id()))
+                .name(event.type().eventName())
+                .data(event.employee(), MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * A roster change to publish, before it is assigned an event id.
+     */
+    public record Change(EmployeeEvent.Type type, MockEmployee employee) {}
+
+    /**
+     * @param skipUpTo events up to this id are not sent, as the subscriber has already seen them
+     */
+    private record Subscriber(SseEmitter emitter, long skipUpTo) {}
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        dispatcher.shutdownNow();
+    }
+}
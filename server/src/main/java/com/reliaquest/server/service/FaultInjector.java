@@ -0,0 +1,163 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.FaultProfile;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Decides which faults of the current {@link FaultProfile} each request gets.
+ * <p>
+ * Every decision draws the same number of random values whatever the outcome, and a seeded profile draws them from
+ * one generator in a single step, so a run that sends the same requests in the same order, e.g. a sequential
+ * benchmark, sees the same faults. Replacing the profile restarts the sequence.
+ */
+@Slf4j
+@Service
+public class FaultInjector {
+
+    private final FaultProfile configured;
+
+    private volatile ActiveProfile active;
+
+    /**
+     * @param configured the profile bound from {@code mock.faults.*}, which {@link #reset()} goes back to
+     */
+    public FaultInjector(FaultProfile configured) {
+        this.configured = configured;
+        this.active = new ActiveProfile(configured);
+    }
+
+    public FaultProfile getProfile() {
+        return active.profile;
+    }
+
+    public void setProfile(FaultProfile profile) {
+        active = new ActiveProfile(profile);
+        log.info("Injecting faults: {}", profile);
+    }
+
+    /**
+     * Goes back to the profile configured on startup.
+     */
+    public FaultProfile reset() {
+        setProfile(configured);
+        return configured;
+    }
+
+    /**
+     * @return the faults to inject into a request.
+     */
+    public Fault next(String method, String path) {
+        final var current = active;
+        if (current.inert) {
+            return Fault.NONE;
+        }
+        final var profile = current.profile;
+        final var latency = current.latencyOf(method, path);
+        final var draws = new double[6];
+        if (current.random != null) {
+            synchronized (current.random) {
+                draw(current.random, draws);
+            }
+        } else {
+            draw(ThreadLocalRandom.current(), draws);
+        }
+        return new Fault(
+                draws[0] < latency.probability() ? delay(latency, draws[1], draws[2]) : Duration.ZERO,
+                draws[3] < profile.errorRate() ? profile.errorStatus() : 0,
+                draws[4] < profile.resetRate(),
+                draws[5] < profile.slowBodyRate() ? profile.slowBodyBytesPerSecond() : 0);
+    }
+
+    /**
+     * The faults for one request: a delay before it is handled, then either a response cut off after its headers,
+     * an error status instead of handling it, or a body streamed at a limited rate, in that order of precedence.
+     *
+     * @param errorStatus the status to answer with instead of handling the request; 0 for none
+     * @param slowBodyBytesPerSecond the rate to stream the body at; 0 for no limit
+     */
+    public record Fault(Duration delay, int errorStatus, boolean reset, int slowBodyBytesPerSecond) {
+        public static final Fault NONE = new Fault(Duration.ZERO, 0, false, 0);
+    }
+
+    private static void draw(RandomGenerator random, double[] draws) {
+        draws[0] = random.nextDouble();
+        draws[1] = random.nextDouble();
+        draws[2] = random.nextGaussian();
+        draws[3] = random.nextDouble();
+        draws[4] = random.nextDouble();
+        draws[5] = random.nextDouble();
+    }
+
+    private static Duration delay(FaultProfile.Latency latency, double uniform, double gaussian) {
+        final var delayNanos = latency.delay().toNanos();
+        return switch (latency.distribution()) {
+            case NONE -> Duration.ZERO;
+            case FIXED -> latency.delay();
+            case UNIFORM -> Duration.ofNanos(
+                    delayNanos + (long) (uniform * (latency.max().toNanos() - delayNanos)));
+            case LOG_NORMAL -> {
+                final var nanos = (long) (delayNanos * Math.exp(latency.sigma() * gaussian));
+                yield Duration.ofNanos(
+                        latency.max() != null ? Math.min(nanos, latency.max().toNanos()) : nanos);
+            }
+        };
+    }
+
+    /**
+     * A profile with its routes parsed and, if seeded, its generator.
+     */
+    private static final class ActiveProfile {
+        private final FaultProfile profile;
+        private final List<Route> routes;
+        private final Random random;
+        private final boolean inert;
+
+        ActiveProfile(FaultProfile profile) {
+            this.profile = profile;
+            this.routes = profile.routes().entrySet().stream()
+                    .map(route -> Route.parse(route.getKey(), route.getValue()))
+                    .toList();
+            this.random = profile.seed() != null ? new Random(profile.seed()) : null;
+            this.inert = profile.latency().distribution() == FaultProfile.Distribution.NONE
+                    && routes.isEmpty()
+                    && profile.errorRate() == 0
+                    && profile.slowBodyRate() == 0
+                    && profile.resetRate() == 0;
+        }
+
+        FaultProfile.Latency latencyOf(String method, String path) {
+            if (!routes.isEmpty()) {
+                final var container = PathContainer.parsePath(path);
+                for (Route route : routes) {
+                    if ((route.method() == null || route.method().equalsIgnoreCase(method))
+                            && route.pattern().matches(container)) {
+                        return route.latency();
+                    }
+                }
+            }
+            return profile.latency();
+        }
+    }
+
+    private record Route(String method, PathPattern pattern, FaultProfile.Latency latency) {
+
+        /**
+         * @param route a path pattern, optionally preceded by a method and a space
+         */
+        static Route parse(String route, FaultProfile.Latency latency) {
+            final var separator = route.indexOf(' ');
+            final var method = separator > 0 ? route.substring(0, separator) : null;
+            final var pattern = route.substring(separator + 1).trim();
+            return new Route(method, PathPatternParser.defaultInstance.parse(pattern), latency);
+        }
+    }
+}
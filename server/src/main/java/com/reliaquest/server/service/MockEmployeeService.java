@@ -3,33 +3,158 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeEvent;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.profiling.RosterReadEvent;
+import com.reliaquest.server.profiling.RosterWriteBatchEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+/**
+ * Holds the roster as copy-on-write {@link RosterSnapshot}s.
+ * <p>
+ * Readers take the current snapshot with a single volatile read and never lock, so a response is always built
+ * from one consistent roster however many writes are in progress. Writers queue their change and one of them at
+ * a time applies everything queued so far to a single copy of the roster and publishes it as the next version:
+ * under concurrent writes the copy is paid once per batch rather than once per write.
+ * <p>
+ * Reads over the roster and write batches are recorded as {@link RosterReadEvent}s and {@link RosterWriteBatchEvent}s
+ * while a flight recording is running.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
+    private static final Comparator<MockEmployee> BY_SALARY_DESC = Comparator.comparing(
+                    MockEmployee::getSalary, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .reversed();
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final EmployeeEventPublisher employeeEventPublisher;
+
+    private volatile RosterSnapshot roster;
+
+    private final Queue<PendingWrite<?>> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public MockEmployeeService(
+            Faker faker, List<MockEmployee> mockEmployees, EmployeeEventPublisher employeeEventPublisher) {
+        this.faker = faker;
+        this.employeeEventPublisher = employeeEventPublisher;
+        final var byId = new HashMap<UUID, MockEmployee>();
+        mockEmployees.stream()
+                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId()))
+                .forEach(mockEmployee -> byId.put(mockEmployee.getId(), mockEmployee));
+        this.roster = new RosterSnapshot(
+                0,
+                employeeEventPublisher.getLastEventId(),
+                List.copyOf(mockEmployees),
+                Collections.unmodifiableMap(byId));
+    }
+
+    /**
+     * @return the current roster; never modified, so it may be read while writes are in progress.
+     */
+    public RosterSnapshot getRoster() {
+        return roster;
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return Optional.ofNullable(roster.byId().get(uuid));
+    }
+
+    /**
+     * Looks up several employees at once using the id index. Unknown ids are skipped.
+     *
+     * @param uuids the ids to look up
+     * @return the employees found, in no particular order
+     */
+    public List<MockEmployee> findAllById(@NonNull Collection<UUID> uuids) {
+        final var event = new RosterReadEvent("findAllById");
+        event.begin();
+        final var byId = roster.byId();
+        final var found = uuids.stream()
+                .filter(Objects::nonNull)
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        event.complete(byId.size(), found.size());
+        return found;
+    }
+
+    /**
+     * Filters, sorts and limits a roster server side so clients only receive the matching records.
+     *
+     * @param roster the roster to query, e.g. {@link #getRoster()}
+     * @param nameContains case-sensitive name fragment to filter by; null for no filter
+     * @param sortBySalary whether to order the result by salary, highest first; employees without salary come last
+     * @param limit maximum number of records to return; null for no limit
+     */
+    public List<MockEmployee> query(RosterSnapshot roster, String nameContains, boolean sortBySalary, Integer limit) {
+        final var event = new RosterReadEvent("query");
+        event.begin();
+        final var result = query(roster.employees(), nameContains, sortBySalary, limit);
+        event.complete(roster.employees().size(), result.size());
+        return result;
+    }
+
+    private static List<MockEmployee> query(
+            List<MockEmployee> employees, String nameContains, boolean sortBySalary, Integer limit) {
+        final var matching = employees.stream()
+                .filter(employee -> nameContains == null
+                        || (Objects.nonNull(employee.getName())
+                                && employee.getName().contains(nameContains)))
+                .toList();
+        if (!sortBySalary) {
+            return limit == null ? matching : matching.stream().limit(limit).toList();
+        }
+        if (limit == null || limit >= matching.size()) {
+            return matching.stream().sorted(BY_SALARY_DESC).toList();
+        }
+        // bounded min-heap of the current top `limit` so the cost is O(n log limit) rather than a full sort
+        final var top = new PriorityQueue<MockEmployee>(Math.max(1, limit), BY_SALARY_DESC.reversed());
+        for (MockEmployee employee : matching) {
+            top.offer(employee);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        final var result = new ArrayList<>(top);
+        result.sort(BY_SALARY_DESC);
+        return result;
+    }
+
+    public OptionalInt findHighestSalary() {
+        final var event = new RosterReadEvent("findHighestSalary");
+        event.begin();
+        final var employees = roster.employees();
+        final var highest = employees.stream()
+                .map(MockEmployee::getSalary)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .max();
+        event.complete(employees.size(), highest.isPresent() ? 1 : 0);
+        return highest;
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +162,121 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        write(batch -> {
+            batch.add(mockEmployee);
+            return null;
+        });
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = write(batch -> batch.removeFirstNamed(input.getName()));
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    /**
+     * Queues a change and waits until it is part of a published roster. Whichever writer holds the write lock
+     * applies every queued change, its own and those of writers waiting behind it, to one copy of the roster.
+     */
+    private <T> T write(Function<Batch, T> change) {
+        final var write = new PendingWrite<>(change);
+        pendingWrites.add(write);
+        writeLock.lock();
+        try {
+            if (!write.applied) {
+                applyPendingWrites();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (write.failure != null) {
+            throw write.failure;
+        }
+        return write.result;
+    }
+
+    private void applyPendingWrites() {
+        final var event = new RosterWriteBatchEvent();
+        event.begin();
+        final var batch = new Batch(roster);
+        var writes = 0;
+        PendingWrite<?> write;
+        while ((write = pendingWrites.poll()) != null) {
+            write.applyTo(batch);
+            writes++;
+        }
+        final var rosterSize = roster.employees().size();
+        if (!batch.changes.isEmpty()) {
+            final var version = roster.version() + 1;
+            employeeEventPublisher.publishAll(
+                    batch.changes,
+                    lastEventId -> roster = new RosterSnapshot(
+                            version,
+                            lastEventId,
+                            Collections.unmodifiableList(batch.employees),
+                            Collections.unmodifiableMap(batch.byId)));
+        }
+        event.complete(writes, rosterSize, roster.version());
+    }
+
+    /**
+     * A copy of the roster being changed by one batch of writes. Its changes are published as events once the batch
+     * is applied, right after the snapshot reflecting them, which records the id of the last one.
+     */
+    private static final class Batch {
+        private final List<MockEmployee> employees;
+        private final Map<UUID, MockEmployee> byId;
+        private final List<EmployeeEventPublisher.Change> changes = new ArrayList<>();
+
+        Batch(RosterSnapshot base) {
+            this.employees = new ArrayList<>(base.employees());
+            this.byId = new HashMap<>(base.byId());
+        }
+
+        void add(MockEmployee employee) {
+            employees.add(employee);
+            byId.put(employee.getId(), employee);
+            changes.add(new EmployeeEventPublisher.Change(EmployeeEvent.Type.CREATED, employee));
+        }
+
+        Optional<MockEmployee> removeFirstNamed(String name) {
+            final var employee = employees.stream()
+                    .filter(candidate -> Objects.nonNull(candidate.getName())
+                            && candidate.getName().equalsIgnoreCase(name))
+                    .findFirst();
+            employee.ifPresent(removed -> {
+                employees.remove(removed);
+                byId.remove(removed.getId());
+                changes.add(new EmployeeEventPublisher.Change(EmployeeEvent.Type.DELETED, removed));
+            });
+            return employee;
+        }
+    }
+
+    // fields are written and read under the write lock
+    private static final class PendingWrite<T> {
+        private final Function<Batch, T> change;
+        private boolean applied;
+        private T result;
+        private RuntimeException failure;
+
+        PendingWrite(Function<Batch, T> change) {
+            this.change = change;
+        }
+
+        void applyTo(Batch batch) {
+            try {
+                result = change.apply(batch);
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+            applied = true;
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An immutable state of the roster. Writes never modify a snapshot; each batch of writes publishes a new one, so
+ * a reader holding a snapshot sees either all of a batch or none of it.
+ *
+ * @param version increases by one with every published batch of writes
+ * @param lastEventId the id of the last roster event reflected here
+ * @param employees every employee, in insertion order
+ * @param byId the same employees keyed by id
+ */
+public record RosterSnapshot(
+        long version, long lastEventId, List<MockEmployee> employees, Map<UUID, MockEmployee> byId) {}
@@ -0,0 +1,186 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.FaultInjector;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Injects the faults {@link FaultInjector} decides on into requests, to simulate a slow or failing upstream, e.g. to
+ * tune timeouts, hedging, caching and circuit breaking in the client.
+ * <p>
+ * A filter rather than an interceptor, so that it can throttle the response body; as filters run before
+ * interceptors, requests rejected by the request limit may be delayed too. A cut-off response declares a body it
+ * never sends and asks for its connection to be closed, which an HTTP/1.1 client sees as the connection dropping
+ * mid-response.
+ */
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    // bytes a cut-off response promises but never sends
+    private static final int CUT_OFF_CONTENT_LENGTH = 1024;
+    private static final int SLOW_BODY_TICKS_PER_SECOND = 10;
+
+    private final FaultInjector faultInjector;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var fault = faultInjector.next(request.getMethod(), request.getRequestURI());
+        if (!fault.delay().isZero() && !sleep(fault.delay())) {
+            return;
+        }
+        if (fault.reset()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(CUT_OFF_CONTENT_LENGTH);
+            response.flushBuffer();
+            return;
+        }
+        if (fault.errorStatus() != 0) {
+            response.setStatus(fault.errorStatus());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(
+                    response.getOutputStream(), Response.error("Injected fault: status " + fault.errorStatus()));
+            return;
+        }
+        if (fault.slowBodyBytesPerSecond() > 0) {
+            chain.doFilter(request, new SlowBodyResponse(response, fault.slowBodyBytesPerSecond()));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * @return false if interrupted, e.g. on shutdown; the interrupt is kept.
+     */
+    private static boolean sleep(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Streams the body at a limited rate, flushing {@code SLOW_BODY_TICKS_PER_SECOND} times a second, so the
+     * client receives it in small pieces rather than all at once after a delay.
+     */
+    private static final class SlowBodyResponse extends HttpServletResponseWrapper {
+        private final int bytesPerSecond;
+        private ThrottledOutputStream outputStream;
+        private PrintWriter writer;
+
+        SlowBodyResponse(HttpServletResponse response, int bytesPerSecond) {
+            super(response);
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThrottledOutputStream(super.getOutputStream(), bytesPerSecond);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                final var encoding = getCharacterEncoding();
+                writer = new PrintWriter(new OutputStreamWriter(
+                        getOutputStream(), encoding != null ? encoding : StandardCharsets.ISO_8859_1.name()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+    }
+
+    private static final class ThrottledOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final int bytesPerSecond;
+        private final int chunkSize;
+        private long start;
+        private long written;
+
+        ThrottledOutputStream(ServletOutputStream delegate, int bytesPerSecond) {
+            this.delegate = delegate;
+            this.bytesPerSecond = bytesPerSecond;
+            this.chunkSize = Math.max(1, bytesPerSecond / SLOW_BODY_TICKS_PER_SECOND);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (start == 0) {
+                start = System.nanoTime();
+            }
+            for (int end = off + len; off < end; ) {
+                final var chunk = Math.min(chunkSize - (int) (written % chunkSize), end - off);
+                delegate.write(b, off, chunk);
+                off += chunk;
+                written += chunk;
+                if (written % chunkSize == 0) {
+                    delegate.flush();
+                    final var due = start + written * 1_000_000_000L / bytesPerSecond;
+                    final var wait = due - System.nanoTime();
+                    if (wait > 0 && !sleep(Duration.ofNanos(wait))) {
+                        throw new IOException("Interrupted while streaming a slow body");
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
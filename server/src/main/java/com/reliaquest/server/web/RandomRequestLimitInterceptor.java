@@ -2,6 +2,7 @@ package com.reliaquest.server.web;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
@@ -10,39 +11,68 @@ import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Admits up to a random limit of requests, then rejects every request with 429 until a random backoff has passed
+ * since the last admitted one; the first request after that starts a new window.
+ * <p>
+ * Each decision and the state change it implies are made in a single compare-and-set, so concurrent requests never
+ * admit more than the limit per window.
+ */
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
     private static final Duration REQUEST_BACKOFF_DURATION =
             Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    private final int limit;
+    private final Duration backoff;
+    private final Clock clock;
+    private final AtomicReference<RequestLimit> requestLimit;
+
+    public RandomRequestLimitInterceptor() {
+        this(REQUEST_LIMIT, REQUEST_BACKOFF_DURATION, Clock.systemUTC());
+    }
+
+    public RandomRequestLimitInterceptor(int limit, Duration backoff, Clock clock) {
+        this.limit = limit;
+        this.backoff = backoff;
+        this.clock = clock;
+        this.requestLimit = new AtomicReference<>(RequestLimit.init(clock.instant()));
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        if (!tryAcquire()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return whether a request is admitted now; if so, it has been counted.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final var current = requestLimit.get();
+            final var now = clock.instant();
+            final RequestLimit next;
+            if (current.getCount() < limit) {
+                next = new RequestLimit(current.getCount() + 1, now);
+            } else if (now.minus(backoff).isBefore(current.getLastRequested())) {
                 return false;
+            } else {
+                next = RequestLimit.init(now);
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            if (requestLimit.compareAndSet(current, next)) {
+                return true;
             }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
-
-        return true;
     }
 
     private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
-        public static RequestLimit init() {
-            return new RequestLimit(0, Instant.now());
+        public static RequestLimit init(Instant now) {
+            return new RequestLimit(0, now);
         }
     }
 }
@@ -0,0 +1,113 @@
+package com.reliaquest.server.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import net.datafaker.Faker;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares throughput and allocation of the hand-written {@link MockEmployee} serializer and deserializer with
+ * Jackson's reflection-based bean (de)serializers and naming strategy, in JSON and Smile.
+ * <p>
+ * Not a unit test; run with {@code ./gradlew server:jsonBindingBenchmark [-Pemployees=10000]}. Both bindings use
+ * the server's JSON and Smile mappers; the bean (de)serializers are restored with a mix-in that overrides the
+ * {@code @JsonSerialize} and {@code @JsonDeserialize} annotations. Both must write byte-identical payloads, or the
+ * benchmark fails. Each binding then writes and reads
+ * a generated roster response of the given size {@code WARMUP_ROUNDS} times to warm up and {@code MEASURED_ROUNDS}
+ * times measured, reporting employees per second and bytes allocated per employee by the measuring thread.
+ */
+public class JsonBindingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final TypeReference<Response<List<MockEmployee>>> ROSTER = new TypeReference<>() {};
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private abstract static class BeanBinding {}
+
+    public static void main(String[] args) throws IOException {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Faker faker = new Faker(Locale.getDefault());
+        Response<List<MockEmployee>> response =
+                Response.handledWith(new ServerConfiguration().mockEmployees(faker, employees));
+
+        System.out.printf("%,d employees per round%n", employees);
+        System.out.printf(
+                "%-6s %-8s %14s %12s %14s %12s%n",
+                "format", "binding", "write emp/s", "write B/emp", "read emp/s", "read B/emp");
+        compare("json", new Jackson2ObjectMapperBuilder().build(), response);
+        compare(
+                "smile",
+                new ServerConfiguration()
+                        .smileHttpMessageConverter(new Jackson2ObjectMapperBuilder())
+                        .getObjectMapper(),
+                response);
+    }
+
+    private static void compare(String format, ObjectMapper handWritten, Response<List<MockEmployee>> response)
+            throws IOException {
+        ObjectMapper bean = handWritten.copy().addMixIn(MockEmployee.class, BeanBinding.class);
+        if (!Arrays.equals(bean.writeValueAsBytes(response), handWritten.writeValueAsBytes(response))) {
+            throw new IllegalStateException(format + " output differs from the bean serializer");
+        }
+        report(format, "bean", bean, response);
+        report(format, "hand", handWritten, response);
+    }
+
+    private static void report(
+            String format, String binding, ObjectMapper mapper, Response<List<MockEmployee>> response)
+            throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(response);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapper.writeValueAsBytes(response);
+            mapper.readValue(payload, ROSTER);
+        }
+        long employees = (long) response.data().size() * MEASURED_ROUNDS;
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            mapper.writeValueAsBytes(response);
+        }
+        double writeSeconds = (System.nanoTime() - start) / 1e9;
+        long writeBytes = allocatedBytes() - allocated;
+
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        int read = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            read += mapper.readValue(payload, ROSTER).data().size();
+        }
+        double readSeconds = (System.nanoTime() - start) / 1e9;
+        long readBytes = allocatedBytes() - allocated;
+        if (read != employees) {
+            throw new IllegalStateException(format + " round trip lost employees");
+        }
+
+        System.out.printf(
+                "%-6s %-8s %,14.0f %,12.0f %,14.0f %,12.0f%n",
+                format,
+                binding,
+                employees / writeSeconds,
+                (double) writeBytes / employees,
+                employees / readSeconds,
+                (double) readBytes / employees);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
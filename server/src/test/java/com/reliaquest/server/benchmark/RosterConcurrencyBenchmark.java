@@ -0,0 +1,151 @@
+package com.reliaquest.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeEventPublisher;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures roster reads and writes under mixed concurrent load and checks that no read sees a torn roster.
+ * <p>
+ * Runs one short stage at 16 threads as part of the tests; measure with
+ * {@code ./gradlew server:rosterConcurrencyBenchmark}. Every thread loops for the stage: {@code WRITE_PERCENT} of
+ * its operations create an employee or delete one it created, the rest take the roster and serialise it to JSON as
+ * the controller would. A read aborts the run if its serialisation fails, if its employee list and id index
+ * disagree, or if its version or last event id is older than those of a roster the same thread read before. Batch
+ * size is the number of writes per published roster version.
+ */
+public class RosterConcurrencyBenchmark {
+
+    private static final int ROSTER_SIZE = 1_000;
+    private static final int WRITE_PERCENT = 10;
+    private static final long STAGE_MILLIS = 3_000;
+    private static final long TEST_STAGE_MILLIS = 500;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%,d employees, %d%% writes%n", ROSTER_SIZE, WRITE_PERCENT);
+        System.out.printf("%8s %14s %14s %12s%n", "threads", "reads", "writes", "batch size");
+        for (int threads : new int[] {16, 32, 64}) {
+            stage(threads, STAGE_MILLIS);
+        }
+    }
+
+    @Test
+    void mixedLoad_sixteenThreads_noTornOrStaleReads() throws InterruptedException {
+        stage(16, TEST_STAGE_MILLIS);
+    }
+
+    private static void stage(int threads, long stageMillis) throws InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        Faker faker = new Faker(Locale.getDefault());
+        EmployeeEventPublisher publisher = new EmployeeEventPublisher(1024, stageMillis * 2);
+        MockEmployeeService service =
+                new MockEmployeeService(faker, new ServerConfiguration().mockEmployees(faker, ROSTER_SIZE), publisher);
+        try {
+            run(threads, stageMillis, service, mapper);
+        } finally {
+            publisher.destroy();
+        }
+    }
+
+    private static void run(int threadCount, long stageMillis, MockEmployeeService service, ObjectMapper mapper)
+            throws InterruptedException {
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long startVersion = service.getRoster().version();
+        long end = System.nanoTime() + stageMillis * 1_000_000;
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                List<String> created = new ArrayList<>();
+                RosterSnapshot lastRead = service.getRoster();
+                try {
+                    while (System.nanoTime() < end && failure.get() == null) {
+                        if (ThreadLocalRandom.current().nextInt(100) < WRITE_PERCENT) {
+                            write(service, created, id);
+                            writes.incrementAndGet();
+                        } else {
+                            lastRead = read(service, mapper, lastRead);
+                            reads.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Roster read or write failed", failure.get());
+        }
+        if (reads.get() == 0 || writes.get() == 0) {
+            throw new IllegalStateException("No reads or no writes in the stage");
+        }
+        long versions = Math.max(1, service.getRoster().version() - startVersion);
+        System.out.printf(
+                "%8d %12.0f/s %12.0f/s %12.1f%n",
+                threadCount,
+                reads.get() * 1000.0 / stageMillis,
+                writes.get() * 1000.0 / stageMillis,
+                (double) writes.get() / versions);
+    }
+
+    private static void write(MockEmployeeService service, List<String> created, int threadId) {
+        if (created.isEmpty() || ThreadLocalRandom.current().nextBoolean()) {
+            CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+            input.setName("Benchmark " + threadId + " " + created.size() + " " + System.nanoTime());
+            input.setSalary(100_000);
+            input.setAge(30);
+            input.setTitle("Engineer");
+            service.create(input);
+            created.add(input.getName());
+        } else {
+            DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+            input.setName(created.remove(created.size() - 1));
+            if (!service.delete(input)) {
+                throw new IllegalStateException("Created employee was not found: " + input.getName());
+            }
+        }
+    }
+
+    private static RosterSnapshot read(MockEmployeeService service, ObjectMapper mapper, RosterSnapshot previous)
+            throws Exception {
+        RosterSnapshot roster = service.getRoster();
+        if (roster.version() < previous.version() || roster.lastEventId() < previous.lastEventId()) {
+            throw new IllegalStateException(
+                    "Roster went back from version " + previous.version() + " to " + roster.version());
+        }
+        if (roster.version() == previous.version() && roster != previous) {
+            throw new IllegalStateException("Two rosters published as version " + roster.version());
+        }
+        if (roster.employees().size() != roster.byId().size()) {
+            throw new IllegalStateException("Torn roster at version " + roster.version());
+        }
+        for (MockEmployee employee : roster.employees()) {
+            if (roster.byId().get(employee.getId()) != employee) {
+                throw new IllegalStateException(
+                        "Employee " + employee.getId() + " not indexed at version " + roster.version());
+            }
+        }
+        mapper.writeValueAsBytes(roster.employees());
+        return roster;
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.service.FaultInjector;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class FaultInjectionControllerTest {
+
+    private final FaultInjector faultInjector = new FaultInjector(FaultProfile.NONE);
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FaultInjectionController(faultInjector))
+            .build();
+
+    @Test
+    void setProfile_valid_replacesProfile() throws Exception {
+        mockMvc.perform(
+                        put("/admin/faults")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                                {"routes": {"GET /api/v1/employee/{id}": {"distribution": "FIXED", "delay": "PT0.2S"}},
+                                 "errorRate": 0.1}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.errorRate").value(0.1));
+    }
+
+    @Test
+    void setProfile_invalidRoutePattern_returns400AndKeepsProfile() throws Exception {
+        mockMvc.perform(put("/admin/faults")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"routes\": {\"/api/{id\": {\"distribution\": \"FIXED\", \"delay\": \"PT1S\"}}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", Matchers.containsString("/api/{id")));
+
+        assertSame(FaultProfile.NONE, faultInjector.getProfile());
+    }
+
+    @Test
+    void setProfile_shareOutOfRange_returns400() throws Exception {
+        mockMvc.perform(put("/admin/faults")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"errorRate\": 2}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,143 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+class FaultProfileTest {
+
+    private static final FaultProfile.Latency FIXED =
+            new FaultProfile.Latency(FaultProfile.Distribution.FIXED, null, Duration.ofMillis(10), null, null);
+
+    @Test
+    void new_nothingSet_injectsNoFaults() {
+        FaultProfile profile = new FaultProfile(null, null, null, 0, null, 0, null, 0);
+
+        assertEquals(FaultProfile.Latency.NONE, profile.latency());
+        assertEquals(Map.of(), profile.routes());
+        assertEquals(503, profile.errorStatus());
+        assertEquals(16_384, profile.slowBodyBytesPerSecond());
+    }
+
+    @Test
+    void new_validRoutes_keptInOrder() {
+        Map<String, FaultProfile.Latency> routes = new LinkedHashMap<>();
+        routes.put("GET /api/v1/employee/{id}", FIXED);
+        routes.put("/api/v1/employee/**", FIXED);
+
+        FaultProfile profile = new FaultProfile(null, null, routes, 0, null, 0, null, 0);
+
+        assertEquals(
+                List.of("GET /api/v1/employee/{id}", "/api/v1/employee/**"),
+                List.copyOf(profile.routes().keySet()));
+    }
+
+    @Test
+    void new_invalidRoutePattern_rejected() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile(null, null, Map.of("GET /api/**/employee", FIXED), 0, null, 0, null, 0));
+
+        assertTrue(ex.getMessage().contains("GET /api/**/employee"), ex.getMessage());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile(null, null, Map.of("/api/{id", FIXED), 0, null, 0, null, 0));
+    }
+
+    @Test
+    void new_routeWithoutLatency_rejected() {
+        Map<String, FaultProfile.Latency> routes = new LinkedHashMap<>();
+        routes.put("/api/**", null);
+
+        assertThrows(IllegalArgumentException.class, () -> new FaultProfile(null, null, routes, 0, null, 0, null, 0));
+    }
+
+    @Test
+    void new_sharesOutOfRange_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new FaultProfile(null, null, null, 1.5, null, 0, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FaultProfile(null, null, null, 0, null, -0.1, null, 0));
+        assertThrows(
+                IllegalArgumentException.class, () -> new FaultProfile(null, null, null, 0, null, 0, null, Double.NaN));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile.Latency(FaultProfile.Distribution.FIXED, 2.0, null, null, null));
+    }
+
+    @Test
+    void new_invalidStatusOrRate_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new FaultProfile(null, null, null, 0, 200, 0, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FaultProfile(null, null, null, 0, null, 0, 0, 0));
+    }
+
+    @Test
+    void newLatency_invalidBounds_rejected() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile.Latency(
+                        FaultProfile.Distribution.UNIFORM, null, Duration.ofMillis(10), null, null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile.Latency(
+                        FaultProfile.Distribution.UNIFORM, null, Duration.ofMillis(10), Duration.ofMillis(5), null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile.Latency(
+                        FaultProfile.Distribution.FIXED, null, Duration.ofMillis(-1), null, null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile.Latency(FaultProfile.Distribution.LOG_NORMAL, null, null, null, -1.0));
+    }
+
+    @Test
+    void bind_configuredProperties_boundAsInApplicationYml() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("mock.faults.seed", "");
+        properties.put("mock.faults.latency.distribution", "log-normal");
+        properties.put("mock.faults.latency.probability", "0.5");
+        properties.put("mock.faults.latency.delay", "20ms");
+        properties.put("mock.faults.latency.max", "");
+        properties.put("mock.faults.latency.sigma", "1");
+        properties.put("mock.faults.routes[GET /api/v1/employee/{id}].distribution", "fixed");
+        properties.put("mock.faults.routes[GET /api/v1/employee/{id}].delay", "200ms");
+        properties.put("mock.faults.error-rate", "0.1");
+        properties.put("mock.faults.error-status", "503");
+
+        FaultProfile profile = bind(properties);
+
+        assertNull(profile.seed());
+        assertEquals(
+                new FaultProfile.Latency(FaultProfile.Distribution.LOG_NORMAL, 0.5, Duration.ofMillis(20), null, 1.0),
+                profile.latency());
+        assertEquals(
+                Map.of(
+                        "GET /api/v1/employee/{id}",
+                        new FaultProfile.Latency(
+                                FaultProfile.Distribution.FIXED, null, Duration.ofMillis(200), null, null)),
+                profile.routes());
+        assertEquals(0.1, profile.errorRate());
+        assertEquals(0, profile.resetRate());
+    }
+
+    @Test
+    void bind_invalidRoute_fails() {
+        Map<String, String> properties = Map.of(
+                "mock.faults.routes[/api/{id].distribution", "fixed", "mock.faults.routes[/api/{id].delay", "1s");
+
+        assertThrows(BindException.class, () -> bind(properties));
+    }
+
+    private static FaultProfile bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("mock.faults", FaultProfile.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.reliaquest.server.config.ServerConfiguration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class MockEmployeeTest {
+
+    private static final TypeReference<Response<List<MockEmployee>>> ROSTER = new TypeReference<>() {};
+
+    private static final ObjectMapper JSON = new Jackson2ObjectMapperBuilder().build();
+    private static final ObjectMapper SMILE = new ServerConfiguration()
+            .smileHttpMessageConverter(new Jackson2ObjectMapperBuilder())
+            .getObjectMapper();
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private abstract static class BeanBinding {}
+
+    @Test
+    void serialize_json_sameBytesAsBeanSerializer() throws Exception {
+        Response<List<MockEmployee>> roster = roster();
+
+        assertArrayEquals(bean(JSON).writeValueAsBytes(roster), JSON.writeValueAsBytes(roster));
+    }
+
+    @Test
+    void serialize_smile_sameBytesAsBeanSerializer() throws Exception {
+        Response<List<MockEmployee>> roster = roster();
+
+        assertArrayEquals(bean(SMILE).writeValueAsBytes(roster), SMILE.writeValueAsBytes(roster));
+    }
+
+    @Test
+    void serialize_smile_writesIdAsString() throws Exception {
+        MockEmployee employee = MockEmployee.builder().id(UUID.randomUUID()).build();
+
+        assertEquals(
+                employee.getId().toString(),
+                SMILE.readTree(SMILE.writeValueAsBytes(employee)).get("id").textValue());
+    }
+
+    @Test
+    void deserialize_jsonAndSmile_sameAsBeanDeserializer() throws Exception {
+        Response<List<MockEmployee>> roster = roster();
+
+        for (ObjectMapper mapper : List.of(JSON, SMILE)) {
+            byte[] payload = mapper.writeValueAsBytes(roster);
+            assertEquals(bean(mapper).readValue(payload, ROSTER), mapper.readValue(payload, ROSTER));
+            assertEquals(roster, mapper.readValue(payload, ROSTER));
+        }
+    }
+
+    private static ObjectMapper bean(ObjectMapper mapper) {
+        return mapper.copy().addMixIn(MockEmployee.class, BeanBinding.class);
+    }
+
+    private static Response<List<MockEmployee>> roster() {
+        Faker faker = new Faker(Locale.getDefault());
+        List<MockEmployee> employees = new ArrayList<>(new ServerConfiguration().mockEmployees(faker, 50));
+        // nulls are written as the bean serializer writes them
+        employees.add(MockEmployee.builder().build());
+        employees.add(
+                MockEmployee.builder().id(UUID.randomUUID()).name("Jane Doe").build());
+        return Response.handledWith(employees);
+    }
+}
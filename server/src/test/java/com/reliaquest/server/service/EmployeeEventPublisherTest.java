@@ -0,0 +1,162 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.reliaquest.server.model.EmployeeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class EmployeeEventPublisherTest {
+
+    private static final int HISTORY_SIZE = 4;
+
+    private final EmployeeEventPublisher publisher = new EmployeeEventPublisher(HISTORY_SIZE, 60_000);
+    private final long base = publisher.getLastEventId();
+
+    @AfterEach
+    void tearDown() {
+        publisher.destroy();
+    }
+
+    @Test
+    void subscribe_noLastEventId_receivesOnlyNewEvents() throws InterruptedException {
+        publish(2);
+        RecordingEmitter emitter = subscribe(null);
+
+        publish(1);
+
+        assertEquals(new Sent(base + 3, "created"), emitter.next());
+    }
+
+    @Test
+    void subscribe_lastEventIdWithinHistory_replaysMissedEventsThenFollows() throws InterruptedException {
+        publish(3);
+        RecordingEmitter emitter = subscribe(base + 1);
+
+        publish(1);
+
+        assertEquals(new Sent(base + 2, "created"), emitter.next());
+        assertEquals(new Sent(base + 3, "created"), emitter.next());
+        assertEquals(new Sent(base + 4, "created"), emitter.next());
+    }
+
+    @Test
+    void subscribe_lastEventIdJustBeforeOldestRetained_replaysWholeHistory() throws InterruptedException {
+        publish(HISTORY_SIZE + 2);
+
+        RecordingEmitter emitter = subscribe(base + 2);
+
+        for (int i = 3; i <= HISTORY_SIZE + 2; i++) {
+            assertEquals(new Sent(base + i, "created"), emitter.next());
+        }
+    }
+
+    @Test
+    void subscribe_lastEventIdUpToDate_replaysNothing() throws InterruptedException {
+        publish(2);
+        RecordingEmitter emitter = subscribe(base + 2);
+
+        publish(1);
+
+        assertEquals(new Sent(base + 3, "created"), emitter.next());
+    }
+
+    @Test
+    void subscribe_lastEventIdIssuedButNotDispatched_skipsItWithoutReset() throws InterruptedException {
+        publish(1);
+        RecordingEmitter[] emitter = new RecordingEmitter[1];
+        // as a client reading the roster version published just before the events and subscribing right away
+        publisher.publishAll(List.of(change(), change()), lastEventId -> emitter[0] = subscribe(lastEventId));
+
+        publish(1);
+
+        assertEquals(new Sent(base + 4, "created"), emitter[0].next());
+    }
+
+    @Test
+    void subscribe_fellBehindHistory_sentReset() throws InterruptedException {
+        publish(HISTORY_SIZE + 2);
+
+        RecordingEmitter emitter = subscribe(base + 1);
+
+        assertEquals(new Sent(null, EmployeeEventPublisher.RESET_EVENT), emitter.next());
+    }
+
+    @Test
+    void subscribe_lastEventIdNeverIssued_sentReset() throws InterruptedException {
+        publish(2);
+
+        RecordingEmitter emitter = subscribe(base + 100);
+
+        assertEquals(new Sent(null, EmployeeEventPublisher.RESET_EVENT), emitter.next());
+    }
+
+    @Test
+    void subscribe_lastEventIdFromEarlierInstance_sentReset() throws InterruptedException {
+        publish(2);
+
+        RecordingEmitter emitter = subscribe(base - 1000);
+
+        assertEquals(new Sent(null, EmployeeEventPublisher.RESET_EVENT), emitter.next());
+    }
+
+    private void publish(int events) {
+        for (int i = 0; i < events; i++) {
+            publisher.publishAll(List.of(change()), lastEventId -> {});
+        }
+    }
+
+    private static EmployeeEventPublisher.Change change() {
+        return new EmployeeEventPublisher.Change(
+                EmployeeEvent.Type.CREATED, MockEmployee.builder().build());
+    }
+
+    private RecordingEmitter subscribe(Long lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        publisher.subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    private record Sent(Long id, String name) {}
+
+    /**
+     * Keeps the id and name of every event sent, instead of writing them to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+        private static final Pattern NAME = Pattern.compile("^event:(\\w+)$", Pattern.MULTILINE);
+
+        private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String string) {
+                    text.append(string);
+                }
+            }
+            Matcher id = ID.matcher(text);
+            Matcher name = NAME.matcher(text);
+            sent.add(new Sent(id.find() ? Long.valueOf(id.group(1)) : null, name.find() ? name.group(1) : null));
+        }
+
+        Sent next() throws InterruptedException {
+            Sent next = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "no event sent");
+            return next;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.FaultProfile;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FaultInjectorTest {
+
+    private static final int REQUESTS = 10_000;
+    private static final Duration DELAY = Duration.ofMillis(20);
+    private static final Duration MAX = Duration.ofMillis(100);
+
+    @Test
+    void next_sameSeed_sameFaults() {
+        FaultProfile profile = profile(
+                42L, new FaultProfile.Latency(FaultProfile.Distribution.LOG_NORMAL, 0.5, DELAY, MAX, 1.0), 0.2, 0.1);
+
+        assertEquals(faults(new FaultInjector(profile)), faults(new FaultInjector(profile)));
+    }
+
+    @Test
+    void next_profileReplaced_sequenceRestarts() {
+        FaultProfile profile = profile(
+                42L, new FaultProfile.Latency(FaultProfile.Distribution.UNIFORM, null, DELAY, MAX, null), 0.2, 0.1);
+        FaultInjector injector = new FaultInjector(profile);
+        List<FaultInjector.Fault> first = faults(injector);
+
+        injector.setProfile(profile);
+
+        assertEquals(first, faults(injector));
+    }
+
+    @Test
+    void next_differentSeeds_differentFaults() {
+        FaultProfile.Latency latency =
+                new FaultProfile.Latency(FaultProfile.Distribution.UNIFORM, null, DELAY, MAX, null);
+
+        assertNotEquals(
+                faults(new FaultInjector(profile(1L, latency, 0.2, 0.1))),
+                faults(new FaultInjector(profile(2L, latency, 0.2, 0.1))));
+    }
+
+    @Test
+    void next_noFaults_none() {
+        FaultInjector injector = new FaultInjector(FaultProfile.NONE);
+
+        assertSame(FaultInjector.Fault.NONE, injector.next("GET", "/api/v1/employee"));
+    }
+
+    @Test
+    void next_fixedLatency_exactDelay() {
+        FaultInjector injector = new FaultInjector(
+                profile(7L, new FaultProfile.Latency(FaultProfile.Distribution.FIXED, null, DELAY, null, null), 0, 0));
+
+        for (FaultInjector.Fault fault : faults(injector)) {
+            assertEquals(DELAY, fault.delay());
+        }
+    }
+
+    @Test
+    void next_uniformLatency_withinBoundsAndSpread() {
+        FaultInjector injector = new FaultInjector(
+                profile(7L, new FaultProfile.Latency(FaultProfile.Distribution.UNIFORM, null, DELAY, MAX, null), 0, 0));
+
+        long[] nanos = delays(faults(injector));
+
+        assertTrue(nanos[0] >= DELAY.toNanos(), "min " + nanos[0]);
+        assertTrue(nanos[nanos.length - 1] <= MAX.toNanos(), "max " + nanos[nanos.length - 1]);
+        // the median of a uniform delay is halfway between its bounds
+        assertEquals(60, Duration.ofNanos(nanos[nanos.length / 2]).toMillis(), 3);
+    }
+
+    @Test
+    void next_logNormalLatency_medianIsDelayAndCappedAtMax() {
+        FaultInjector injector = new FaultInjector(profile(
+                7L, new FaultProfile.Latency(FaultProfile.Distribution.LOG_NORMAL, null, DELAY, MAX, 1.0), 0, 0));
+
+        long[] nanos = delays(faults(injector));
+
+        assertEquals(DELAY.toMillis(), Duration.ofNanos(nanos[nanos.length / 2]).toMillis(), 2);
+        assertEquals(MAX.toNanos(), nanos[nanos.length - 1]);
+        // P(Z > ln 5) is about 5% of requests at the cap
+        long capped = Arrays.stream(nanos).filter(n -> n == MAX.toNanos()).count();
+        assertTrue(capped > REQUESTS * 0.03 && capped < REQUESTS * 0.08, "capped " + capped);
+    }
+
+    @Test
+    void next_probabilityAndRates_sharesOfRequests() {
+        FaultInjector injector = new FaultInjector(profile(
+                7L, new FaultProfile.Latency(FaultProfile.Distribution.FIXED, 0.3, DELAY, null, null), 0.2, 0.1));
+
+        List<FaultInjector.Fault> faults = faults(injector);
+
+        assertShare(
+                0.3, faults.stream().filter(fault -> !fault.delay().isZero()).count());
+        assertShare(
+                0.2, faults.stream().filter(fault -> fault.errorStatus() == 503).count());
+        assertShare(0.1, faults.stream().filter(FaultInjector.Fault::reset).count());
+        assertTrue(faults.stream().allMatch(fault -> fault.slowBodyBytesPerSecond() == 0));
+    }
+
+    @Test
+    void next_routes_firstMatchingRouteApplies() {
+        Map<String, FaultProfile.Latency> routes = new LinkedHashMap<>();
+        routes.put("GET /api/v1/employee/{id}", fixed(Duration.ofMillis(1)));
+        routes.put("/api/v1/employee/**", fixed(Duration.ofMillis(2)));
+        FaultInjector injector =
+                new FaultInjector(new FaultProfile(null, fixed(Duration.ofMillis(3)), routes, 0, null, 0, null, 0));
+
+        assertEquals(
+                Duration.ofMillis(1),
+                injector.next("GET", "/api/v1/employee/abc").delay());
+        assertEquals(
+                Duration.ofMillis(2),
+                injector.next("DELETE", "/api/v1/employee/abc").delay());
+        assertEquals(
+                Duration.ofMillis(2), injector.next("GET", "/api/v1/employee").delay());
+        assertEquals(
+                Duration.ofMillis(3), injector.next("GET", "/api/v2/employee").delay());
+    }
+
+    @Test
+    void reset_afterReplaced_configuredProfileAgain() {
+        FaultProfile configured = profile(7L, fixed(DELAY), 0, 0);
+        FaultInjector injector = new FaultInjector(configured);
+        injector.setProfile(FaultProfile.NONE);
+
+        assertSame(configured, injector.reset());
+        assertSame(configured, injector.getProfile());
+    }
+
+    private static FaultProfile profile(Long seed, FaultProfile.Latency latency, double errorRate, double resetRate) {
+        return new FaultProfile(seed, latency, null, errorRate, null, 0, null, resetRate);
+    }
+
+    private static FaultProfile.Latency fixed(Duration delay) {
+        return new FaultProfile.Latency(FaultProfile.Distribution.FIXED, null, delay, null, null);
+    }
+
+    private static List<FaultInjector.Fault> faults(FaultInjector injector) {
+        List<FaultInjector.Fault> faults = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            faults.add(injector.next("GET", "/api/v1/employee"));
+        }
+        return faults;
+    }
+
+    private static long[] delays(List<FaultInjector.Fault> faults) {
+        return faults.stream()
+                .mapToLong(fault -> fault.delay().toNanos())
+                .sorted()
+                .toArray();
+    }
+
+    private static void assertShare(double expected, long count) {
+        double share = (double) count / REQUESTS;
+        assertEquals(expected, share, 0.02, "share " + share);
+    }
+}
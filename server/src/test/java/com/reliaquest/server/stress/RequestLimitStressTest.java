@@ -0,0 +1,124 @@
+package com.reliaquest.server.stress;
+
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link RandomRequestLimitInterceptor} admits exactly its limit per window under concurrent requests.
+ * <p>
+ * Runs {@value #TEST_ROUNDS} rounds as part of the tests; run longer with
+ * {@code ./gradlew server:requestLimitStress [-Prounds=500]}, or with the roster stress test as
+ * {@code ./gradlew server:stressTest}. Each round releases {@code THREADS} threads at once, each asking for
+ * admission {@code REQUESTS_PER_THREAD} times against a clock that stands still, so exactly the limit must be
+ * admitted. The clock then moves on by less than the backoff, when nothing may be admitted, and past it, when the
+ * request starting the new window and the limit after it are. Any other count fails the run.
+ */
+public class RequestLimitStressTest {
+
+    private static final int LIMIT = 7;
+    private static final Duration BACKOFF = Duration.ofSeconds(30);
+    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int REQUESTS_PER_THREAD = 200;
+    private static final int TEST_ROUNDS = 50;
+
+    public static void main(String[] args) throws InterruptedException {
+        stress(args.length > 0 ? Integer.parseInt(args[0]) : 500);
+    }
+
+    @Test
+    void concurrentRequests_exactlyLimitAdmittedPerWindow() throws InterruptedException {
+        stress(TEST_ROUNDS);
+    }
+
+    private static void stress(int rounds) throws InterruptedException {
+        ManualClock clock = new ManualClock(Instant.parse("2024-01-01T00:00:00Z"));
+        for (int round = 0; round < rounds; round++) {
+            RandomRequestLimitInterceptor limiter = new RandomRequestLimitInterceptor(LIMIT, BACKOFF, clock);
+            expect(round, "first window", LIMIT, admitted(limiter));
+            clock.advance(BACKOFF.dividedBy(2));
+            expect(round, "within backoff", 0, admitted(limiter));
+            clock.advance(BACKOFF);
+            // the request that starts the new window is not counted against it
+            expect(round, "next window", LIMIT + 1, admitted(limiter));
+        }
+        System.out.printf(
+                "%d rounds of %d threads x %d requests: limit of %d held%n",
+                rounds, THREADS, REQUESTS_PER_THREAD, LIMIT);
+    }
+
+    private static void expect(int round, String phase, int expected, int admitted) {
+        if (admitted != expected) {
+            throw new IllegalStateException(
+                    "Round " + round + ", " + phase + ": admitted " + admitted + " requests, expected " + expected);
+        }
+    }
+
+    private static int admitted(RandomRequestLimitInterceptor limiter) throws InterruptedException {
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        if (limiter.tryAcquire()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Admission failed", failure.get());
+        }
+        return admitted.get();
+    }
+
+    private static final class ManualClock extends Clock {
+        private final AtomicReference<Instant> now;
+
+        ManualClock(Instant start) {
+            this.now = new AtomicReference<>(start);
+        }
+
+        void advance(Duration duration) {
+            now.updateAndGet(instant -> instant.plus(duration));
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            // the limiter only reads instants
+            return this;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.reliaquest.server.stress;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeEventPublisher;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterSnapshot;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hammers {@link MockEmployeeService} with concurrent creates, deletes, lookups and roster reads and checks that
+ * every outcome is one a sequential store could have produced.
+ * <p>
+ * Runs with {@value #TEST_OPERATIONS} operations per thread as part of the tests; run longer with
+ * {@code ./gradlew server:rosterStoreStress [-Poperations=2000]}, or with the request limit stress test as
+ * {@code ./gradlew server:stressTest}. Any violation fails the run:
+ * <ul>
+ *     <li>a write is not visible to the thread that made it once it returns: a created employee must be found by
+ *     id and in the roster, a deleted one must be gone;
+ *     <li>a roster is torn: its employee list and id index disagree;
+ *     <li>rosters go back in time for a thread, or two different rosters are published with the same version, or a
+ *     later version reflects an earlier event;
+ *     <li>a name deleted by many threads at once is deleted more or less than once;
+ *     <li>the final roster is not the initial one plus every create minus every successful delete.
+ * </ul>
+ */
+public class RosterStoreStressTest {
+
+    private static final int ROSTER_SIZE = 200;
+    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int CONTENDED_NAMES = 500;
+    private static final int TEST_OPERATIONS = 300;
+
+    public static void main(String[] args) throws InterruptedException {
+        stress(args.length > 0 ? Integer.parseInt(args[0]) : 2_000);
+    }
+
+    @Test
+    void concurrentOperations_onlySequentialOutcomes() throws InterruptedException {
+        stress(TEST_OPERATIONS);
+    }
+
+    private static void stress(int operations) throws InterruptedException {
+        Faker faker = new Faker(Locale.getDefault());
+        EmployeeEventPublisher publisher = new EmployeeEventPublisher(1024, 60_000);
+        try {
+            MockEmployeeService service = new MockEmployeeService(
+                    faker, new ServerConfiguration().mockEmployees(faker, ROSTER_SIZE), publisher);
+            mixed(service, operations);
+            contendedDeletes(service);
+        } finally {
+            publisher.destroy();
+        }
+    }
+
+    private static void mixed(MockEmployeeService service, int operations) throws InterruptedException {
+        Set<UUID> initial = Set.copyOf(service.getRoster().byId().keySet());
+        Set<UUID> created = ConcurrentHashMap.newKeySet();
+        Set<UUID> deleted = ConcurrentHashMap.newKeySet();
+        ConcurrentMap<Long, RosterSnapshot> published = new ConcurrentHashMap<>();
+        AtomicLong reads = new AtomicLong();
+        run(thread -> {
+            List<MockEmployee> own = new ArrayList<>();
+            RosterSnapshot last = service.getRoster();
+            for (int i = 0; i < operations; i++) {
+                int operation = ThreadLocalRandom.current().nextInt(100);
+                if (operation < 30) {
+                    MockEmployee employee = create(service, "Stress " + thread + " " + i);
+                    if (service.findById(employee.getId()).orElse(null) != employee
+                            || !service.getRoster().byId().containsKey(employee.getId())) {
+                        throw new IllegalStateException("Created employee is not visible: " + employee.getId());
+                    }
+                    own.add(employee);
+                    created.add(employee.getId());
+                } else if (operation < 45 && !own.isEmpty()) {
+                    MockEmployee employee =
+                            own.remove(ThreadLocalRandom.current().nextInt(own.size()));
+                    if (!delete(service, employee.getName())) {
+                        throw new IllegalStateException("Created employee could not be deleted: " + employee.getId());
+                    }
+                    if (service.findById(employee.getId()).isPresent()
+                            || service.getRoster().byId().containsKey(employee.getId())) {
+                        throw new IllegalStateException("Deleted employee is still visible: " + employee.getId());
+                    }
+                    deleted.add(employee.getId());
+                } else if (operation < 60) {
+                    List<UUID> ids = own.stream().map(MockEmployee::getId).toList();
+                    if (service.findAllById(ids).size() != ids.size()) {
+                        throw new IllegalStateException("Lookup by id missed employees created by this thread");
+                    }
+                } else {
+                    RosterSnapshot roster = service.getRoster();
+                    check(roster, last, published);
+                    List<MockEmployee> top = service.query(roster, null, true, 10);
+                    if (top.size() != Math.min(10, roster.employees().size())
+                            || top.stream().anyMatch(e -> roster.byId().get(e.getId()) != e)) {
+                        throw new IllegalStateException("Query result is not from roster version " + roster.version());
+                    }
+                    last = roster;
+                    reads.incrementAndGet();
+                }
+            }
+        });
+
+        RosterSnapshot roster = service.getRoster();
+        check(roster, roster, published);
+        int expected = initial.size() + created.size() - deleted.size();
+        int actual = roster.employees().size();
+        if (actual != expected) {
+            throw new IllegalStateException("Final roster has " + actual + " employees, expected " + expected);
+        }
+        for (UUID id : initial) {
+            if (!roster.byId().containsKey(id)) {
+                throw new IllegalStateException("Initial employee was lost: " + id);
+            }
+        }
+        for (UUID id : created) {
+            if (roster.byId().containsKey(id) == deleted.contains(id)) {
+                throw new IllegalStateException("Final roster disagrees with the writes for " + id);
+            }
+        }
+        System.out.printf(
+                "%d threads x %,d operations: %,d creates, %,d deletes, %,d roster reads, %,d versions%n",
+                THREADS, operations, created.size(), deleted.size(), reads.get(), published.size());
+    }
+
+    private static void contendedDeletes(MockEmployeeService service) throws InterruptedException {
+        List<String> names = new ArrayList<>(CONTENDED_NAMES);
+        for (int i = 0; i < CONTENDED_NAMES; i++) {
+            names.add(create(service, "Contended " + i).getName());
+        }
+        AtomicIntegerArray deletions = new AtomicIntegerArray(CONTENDED_NAMES);
+        run(thread -> {
+            List<Integer> order = new ArrayList<>(CONTENDED_NAMES);
+            for (int i = 0; i < CONTENDED_NAMES; i++) {
+                order.add(i);
+            }
+            Collections.shuffle(order, new Random(thread));
+            for (int i : order) {
+                if (delete(service, names.get(i))) {
+                    deletions.incrementAndGet(i);
+                }
+            }
+        });
+        for (int i = 0; i < CONTENDED_NAMES; i++) {
+            if (deletions.get(i) != 1) {
+                throw new IllegalStateException(names.get(i) + " was deleted " + deletions.get(i) + " times");
+            }
+        }
+        if (service.getRoster().employees().stream().anyMatch(e -> e.getName().startsWith("Contended "))) {
+            throw new IllegalStateException("Deleted employees are still in the roster");
+        }
+        System.out.printf(
+                "%d threads deleting %d names at once: each deleted exactly once%n", THREADS, CONTENDED_NAMES);
+    }
+
+    private static void check(
+            RosterSnapshot roster, RosterSnapshot last, ConcurrentMap<Long, RosterSnapshot> published) {
+        if (roster.employees().size() != roster.byId().size()
+                || roster.employees().stream().anyMatch(e -> roster.byId().get(e.getId()) != e)) {
+            throw new IllegalStateException("Torn roster at version " + roster.version());
+        }
+        if (roster.version() < last.version() || roster.lastEventId() < last.lastEventId()) {
+            throw new IllegalStateException(
+                    "Roster went back from version " + last.version() + " to " + roster.version());
+        }
+        RosterSnapshot previous = published.putIfAbsent(roster.version(), roster);
+        if (previous != null && previous != roster) {
+            throw new IllegalStateException("Two rosters published as version " + roster.version());
+        }
+    }
+
+    private static MockEmployee create(MockEmployeeService service, String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(ThreadLocalRandom.current().nextInt(30_000, 500_000));
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return service.create(input);
+    }
+
+    private static boolean delete(MockEmployeeService service, String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return service.delete(input);
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * Runs {@code worker} on {@code THREADS} threads released at once, and rethrows the first failure.
+     */
+    private static void run(Worker worker) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    worker.run(id);
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Stress test failed", failure.get());
+        }
+    }
+}